@@ -3,45 +3,33 @@ package com.cooperativismo.votacao.client;
 import com.cooperativismo.votacao.dto.ValidacaoCpfDTO;
 import com.cooperativismo.votacao.exception.InvalidCpfException;
 import com.cooperativismo.votacao.exception.UnableToVoteException;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Component;
 
-import java.util.Random;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 
-@Slf4j
-@Component
-public class CpfValidatorClient 
+public interface CpfValidatorClient
 {
-    private final Random random = new Random();
+    ValidacaoCpfDTO validarCpf( String cpf );
 
-    public ValidacaoCpfDTO validarCpf( String cpf ) 
+    // CPFs recusados no lote com o motivo; os ausentes do mapa podem votar
+    default Map<String, String> validarCpfs( Collection<String> cpfs )
     {
-        if ( cpf == null || cpf.length() != 11 || ! cpf.matches( "\\d+" ) )
-        {
-            log.info( "CPF com formato inválido: {}", cpf );
-            
-            throw new InvalidCpfException("CPF deve conter 11 dígitos numéricos" );
-        }
-        
-        if ( random.nextInt( 10 ) < 3 ) 
-        {
-            log.info( "CPF simulado como inválido: {}", cpf );
+        Map<String, String> recusados = new HashMap<>();
 
-            throw new InvalidCpfException( "CPF inválido" );
-        }
-        
-        boolean podeVotar = random.nextBoolean();
-        String status = podeVotar ? "ABLE_TO_VOTE" : "UNABLE_TO_VOTE";
-        
-        log.info( "Validação de CPF: {} - Status: {}", cpf, status );
-        
-        ValidacaoCpfDTO validacaoDTO = new ValidacaoCpfDTO( status );
-        
-        if ( ! podeVotar ) 
+        for ( String cpf : new HashSet<>( cpfs ) )
         {
-            throw new UnableToVoteException( "Associado não está habilitado para votar" );
+            try
+            {
+                validarCpf( cpf );
+            }
+            catch ( InvalidCpfException | UnableToVoteException e )
+            {
+                recusados.put( cpf, e.getMessage() );
+            }
         }
-        
-        return validacaoDTO;
+
+        return recusados;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,231 @@
+package com.cooperativismo.votacao.client;
+
+import com.cooperativismo.votacao.config.CpfValidatorConfig;
+import com.cooperativismo.votacao.dto.ValidacaoCpfDTO;
+import com.cooperativismo.votacao.exception.InvalidCpfException;
+import com.cooperativismo.votacao.exception.UnableToVoteException;
+import com.cooperativismo.votacao.exception.ValidacaoCpfIndisponivelException;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Cache assíncrono: consultas simultâneas ao mesmo CPF dividem o future; falhas não ficam no cache
+@Slf4j
+@Component
+@ConditionalOnProperty( name = "votacao.cpf.validador", havingValue = "http" )
+public class CpfValidatorHttp implements CpfValidatorClient
+{
+    static final String PODE_VOTAR = "ABLE_TO_VOTE";
+    static final String NAO_PODE_VOTAR = "UNABLE_TO_VOTE";
+
+    private static final String CPF_INEXISTENTE = "CPF_INEXISTENTE";
+
+    private final CpfValidatorConfig config;
+    private final CloseableHttpClient httpClient;
+    private final RestTemplate restTemplate;
+    private final ThreadPoolExecutor executor;
+    private final AsyncCache<String, String> elegibilidade;
+
+    public CpfValidatorHttp( CpfValidatorConfig config, MeterRegistry meterRegistry )
+    {
+        this.config = config;
+
+        PoolingHttpClientConnectionManager conexoes = new PoolingHttpClientConnectionManager();
+        conexoes.setMaxTotal( config.getMaxConexoes() );
+        conexoes.setDefaultMaxPerRoute( config.getMaxConexoes() );
+
+        // sem novas tentativas automáticas: cada uma gastaria de novo o timeout de leitura
+        this.httpClient = HttpClients.custom()
+                                     .setConnectionManager( conexoes )
+                                     .setDefaultRequestConfig( RequestConfig.custom()
+                                                                            .setConnectTimeout( config.getTimeoutConexaoMs() )
+                                                                            .setSocketTimeout( config.getTimeoutLeituraMs() )
+                                                                            .setConnectionRequestTimeout( config.getTimeoutPoolMs() )
+                                                                            .build() )
+                                     .disableAutomaticRetries()
+                                     .evictIdleConnections( 30, TimeUnit.SECONDS )
+                                     .build();
+        this.restTemplate = new RestTemplate( new HttpComponentsClientHttpRequestFactory( httpClient ) );
+
+        // uma thread por conexão do pool; além disso a consulta espera na fila e, com ela cheia, é recusada
+        this.executor = new ThreadPoolExecutor( config.getMaxConexoes(), config.getMaxConexoes(),
+                                                60L, TimeUnit.SECONDS,
+                                                new LinkedBlockingQueue<>( config.getCapacidadeFila() ),
+                                                new CustomizableThreadFactory( "validacao-cpf-" ) );
+        this.executor.allowCoreThreadTimeOut( true );
+
+        this.elegibilidade = Caffeine.newBuilder()
+                                     .maximumSize( config.getCacheTamanhoMaximo() )
+                                     .expireAfterWrite( Duration.ofMillis( config.getCacheTtlMs() ) )
+                                     .recordStats()
+                                     .buildAsync();
+
+        CaffeineCacheMetrics.monitor( meterRegistry, elegibilidade, "votacao.cpf" );
+    }
+
+    @Override
+    public ValidacaoCpfDTO validarCpf( String cpf )
+    {
+        FormatoCpf.validar( cpf );
+
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( config.timeoutTotalMs() );
+
+        return interpretar( aguardar( consultar( cpf ), prazo ) );
+    }
+
+    @Override
+    public Map<String, String> validarCpfs( Collection<String> cpfs )
+    {
+        Map<String, String> recusados = new HashMap<>();
+        Map<String, CompletableFuture<String>> consultas = new HashMap<>();
+
+        for ( String cpf : new HashSet<>( cpfs ) )
+        {
+            try
+            {
+                FormatoCpf.validar( cpf );
+                consultas.put( cpf, consultar( cpf ) );
+            }
+            catch ( InvalidCpfException e )
+            {
+                recusados.put( cpf, e.getMessage() );
+            }
+        }
+
+        // as consultas do lote disputam as mesmas conexões, então o prazo cresce com o número de rodadas
+        long rodadas = Math.max( 1, ( consultas.size() + config.getMaxConexoes() - 1 ) / config.getMaxConexoes() );
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( config.timeoutTotalMs() * rodadas );
+
+        // indisponibilidade sobe para o disjuntor e o fallback
+        for ( Map.Entry<String, CompletableFuture<String>> consulta : consultas.entrySet() )
+        {
+            try
+            {
+                interpretar( aguardar( consulta.getValue(), prazo ) );
+            }
+            catch ( InvalidCpfException | UnableToVoteException e )
+            {
+                recusados.put( consulta.getKey(), e.getMessage() );
+            }
+        }
+
+        return recusados;
+    }
+
+    @PreDestroy
+    public void encerrar() throws IOException
+    {
+        executor.shutdownNow();
+        httpClient.close();
+    }
+
+    private CompletableFuture<String> consultar( String cpf )
+    {
+        try
+        {
+            return elegibilidade.get( cpf, ( chave, ignorado ) -> CompletableFuture.supplyAsync( () -> consultarRemoto( chave ), executor ) );
+        }
+        catch ( RejectedExecutionException e )
+        {
+            return CompletableFuture.failedFuture(
+                    new ValidacaoCpfIndisponivelException( "Validação de CPF sobrecarregada, tente novamente em instantes", e ) );
+        }
+    }
+
+    private String consultarRemoto( String cpf )
+    {
+        ValidacaoCpfDTO resposta;
+
+        try
+        {
+            resposta = restTemplate.getForObject( config.getUrl(), ValidacaoCpfDTO.class, cpf );
+        }
+        catch ( HttpClientErrorException.NotFound e )
+        {
+            return CPF_INEXISTENTE;
+        }
+        catch ( RestClientException e )
+        {
+            log.warn( "Falha ao consultar o serviço de validação de CPF: {}", e.getMessage() );
+
+            throw new ValidacaoCpfIndisponivelException( "Serviço de validação de CPF indisponível", e );
+        }
+
+        String status = resposta != null ? resposta.getStatus() : null;
+
+        if ( ! PODE_VOTAR.equals( status ) && ! NAO_PODE_VOTAR.equals( status ) )
+        {
+            throw new ValidacaoCpfIndisponivelException( "Resposta inesperada do serviço de validação de CPF: " + status );
+        }
+
+        log.debug( "Validação de CPF: {} - Status: {}", cpf, status );
+
+        return status;
+    }
+
+    private String aguardar( CompletableFuture<String> consulta, long prazo )
+    {
+        try
+        {
+            return consulta.get( Math.max( 0, prazo - System.nanoTime() ), TimeUnit.NANOSECONDS );
+        }
+        catch ( TimeoutException e )
+        {
+            throw new ValidacaoCpfIndisponivelException( "Serviço de validação de CPF não respondeu a tempo", e );
+        }
+        catch ( ExecutionException e )
+        {
+            // o future pode ser compartilhado por várias requisições; cada uma recebe a sua exceção
+            throw new ValidacaoCpfIndisponivelException( e.getCause().getMessage(), e.getCause() );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+
+            throw new ValidacaoCpfIndisponivelException( "Validação de CPF interrompida", e );
+        }
+    }
+
+    private ValidacaoCpfDTO interpretar( String status )
+    {
+        if ( CPF_INEXISTENTE.equals( status ) )
+        {
+            throw new InvalidCpfException( "CPF inválido" );
+        }
+
+        if ( NAO_PODE_VOTAR.equals( status ) )
+        {
+            throw new UnableToVoteException( "Associado não está habilitado para votar" );
+        }
+
+        return new ValidacaoCpfDTO( status );
+    }
+}
@@ -0,0 +1,50 @@
+package com.cooperativismo.votacao.client;
+
+import com.cooperativismo.votacao.dto.ValidacaoCpfDTO;
+import com.cooperativismo.votacao.exception.InvalidCpfException;
+import com.cooperativismo.votacao.exception.UnableToVoteException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Component
+@ConditionalOnProperty( name = "votacao.cpf.validador", havingValue = "simulado", matchIfMissing = true )
+public class CpfValidatorSimulado implements CpfValidatorClient
+{
+    @Override
+    public ValidacaoCpfDTO validarCpf( String cpf )
+    {
+        try
+        {
+            FormatoCpf.validar( cpf );
+        }
+        catch ( InvalidCpfException e )
+        {
+            log.debug( "CPF com formato inválido: {}", cpf );
+
+            throw e;
+        }
+
+        if ( ThreadLocalRandom.current().nextInt( 10 ) < 3 )
+        {
+            log.debug( "CPF simulado como inválido: {}", cpf );
+
+            throw new InvalidCpfException( "CPF inválido" );
+        }
+
+        boolean podeVotar = ThreadLocalRandom.current().nextBoolean();
+        String status = podeVotar ? "ABLE_TO_VOTE" : "UNABLE_TO_VOTE";
+
+        log.debug( "Validação de CPF: {} - Status: {}", cpf, status );
+
+        if ( ! podeVotar )
+        {
+            throw new UnableToVoteException( "Associado não está habilitado para votar" );
+        }
+
+        return new ValidacaoCpfDTO( status );
+    }
+}
@@ -0,0 +1,75 @@
+package com.cooperativismo.votacao.client;
+
+import com.cooperativismo.votacao.exception.InvalidCpfException;
+
+final class FormatoCpf
+{
+    static final int TAMANHO = 11;
+
+    private FormatoCpf()
+    {
+    }
+
+    // sem regex: roda antes de qualquer consulta remota
+    static void validar( String cpf )
+    {
+        if ( ! somenteDigitos( cpf ) )
+        {
+            throw new InvalidCpfException( "CPF deve conter 11 dígitos numéricos" );
+        }
+
+        if ( digitosIguais( cpf ) || digitoVerificador( cpf, 9 ) != cpf.charAt( 9 ) - '0'
+                                  || digitoVerificador( cpf, 10 ) != cpf.charAt( 10 ) - '0' )
+        {
+            throw new InvalidCpfException( "CPF inválido" );
+        }
+    }
+
+    private static boolean somenteDigitos( String cpf )
+    {
+        if ( cpf == null || cpf.length() != TAMANHO )
+        {
+            return false;
+        }
+
+        for ( int i = 0; i < TAMANHO; i++ )
+        {
+            char c = cpf.charAt( i );
+
+            if ( c < '0' || c > '9' )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // 000.000.000-00, 111.111.111-11 etc. passam no cálculo dos dígitos mas não são CPFs emitidos
+    private static boolean digitosIguais( String cpf )
+    {
+        for ( int i = 1; i < TAMANHO; i++ )
+        {
+            if ( cpf.charAt( i ) != cpf.charAt( 0 ) )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int digitoVerificador( String cpf, int posicao )
+    {
+        int soma = 0;
+
+        for ( int i = 0; i < posicao; i++ )
+        {
+            soma += ( cpf.charAt( i ) - '0' ) * ( posicao + 1 - i );
+        }
+
+        int resto = soma % 11;
+
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
@@ -0,0 +1,22 @@
+package com.cooperativismo.votacao.config;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConstructorBinding
+@ConfigurationProperties( prefix = "votacao.logs.amostragem" )
+public class AmostragemLogConfig
+{
+    private final int aCada;
+    private final int maxPorSegundo;
+
+    public AmostragemLogConfig( @DefaultValue( "100" ) int aCada,
+                                @DefaultValue( "50" ) int maxPorSegundo )
+    {
+        this.aCada = aCada;
+        this.maxPorSegundo = maxPorSegundo;
+    }
+}
@@ -1,12 +1,24 @@
 package com.cooperativismo.votacao.config;
 
+import com.cooperativismo.votacao.exception.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
-@EnableConfigurationProperties( CallbackConfig.class )
+@EnableConfigurationProperties( { AmostragemLogConfig.class, CallbackConfig.class, CpfValidatorConfig.class, ErrosConsumoConfig.class, ExecutorConfig.class, LoteVotosConfig.class, ProdutorKafkaConfig.class, ProtecaoCpfConfig.class } )
 public class AppConfig {
     
     @Bean
@@ -14,4 +26,52 @@ public class AppConfig {
     {
         return new RestTemplate();
     }
-} 
\ No newline at end of file
+
+    @Bean( destroyMethod = "shutdown" )
+    public ExecutorService requisicaoExecutor( ExecutorConfig executorConfig,
+                                               MeterRegistry meterRegistry,
+                                               @Value( "${votacao.threads-virtuais.enabled:false}" ) boolean threadsVirtuais )
+    {
+        Counter rejeitadas = Counter.builder( "executor.rejected" )
+                                    .description( "Tarefas recusadas pelo executor de requisições" )
+                                    .tag( "name", "requisicao" )
+                                    .register( meterRegistry );
+
+        if ( threadsVirtuais )
+        {
+            ExecutorVirtualLimitado executor = new ExecutorVirtualLimitado( executorConfig.getTamanhoPool(),
+                                                                            executorConfig.getCapacidadeFila(),
+                                                                            Thread.ofVirtual().name( "requisicao-virtual-", 0 ).factory(),
+                                                                            ( tarefa, virtual ) -> rejeitar( tarefa, virtual.isShutdown(), executorConfig, rejeitadas ) );
+
+            // o ExecutorServiceMetrics só publica os medidores de ocupação para ThreadPoolExecutor
+            Gauge.builder( "executor.active", executor, ExecutorVirtualLimitado::emExecucao ).tag( "name", "requisicao" ).register( meterRegistry );
+            Gauge.builder( "executor.queued", executor, ExecutorVirtualLimitado::aguardando ).tag( "name", "requisicao" ).register( meterRegistry );
+
+            return ExecutorServiceMetrics.monitor( meterRegistry, executor, "requisicao" );
+        }
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor( executorConfig.getTamanhoPool(),
+                                                              executorConfig.getTamanhoPool(),
+                                                              60L, TimeUnit.SECONDS,
+                                                              new LinkedBlockingQueue<>( executorConfig.getCapacidadeFila() ),
+                                                              new CustomizableThreadFactory( "requisicao-" ),
+                                                              ( tarefa, pool ) -> rejeitar( tarefa, pool.isShutdown(), executorConfig, rejeitadas ) );
+
+        return ExecutorServiceMetrics.monitor( meterRegistry, executor, "requisicao" );
+    }
+
+    private static void rejeitar( Runnable tarefa, boolean encerrado, ExecutorConfig executorConfig, Counter rejeitadas )
+    {
+        rejeitadas.increment();
+
+        if ( executorConfig.getPoliticaRejeicao() == ExecutorConfig.PoliticaRejeicao.EXECUTAR_NA_CHAMADORA && ! encerrado )
+        {
+            tarefa.run();
+
+            return;
+        }
+
+        throw new ServicoSobrecarregadoException( "Serviço sobrecarregado, tente novamente em instantes" );
+    }
+} 
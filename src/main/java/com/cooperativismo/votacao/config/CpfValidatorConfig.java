@@ -0,0 +1,46 @@
+package com.cooperativismo.votacao.config;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConstructorBinding
+@ConfigurationProperties( prefix = "votacao.cpf.http" )
+public class CpfValidatorConfig
+{
+    private final String url;
+    private final int maxConexoes;
+    private final int capacidadeFila;
+    private final int timeoutConexaoMs;
+    private final int timeoutLeituraMs;
+    private final int timeoutPoolMs;
+    private final long cacheTtlMs;
+    private final long cacheTamanhoMaximo;
+
+    public CpfValidatorConfig( @DefaultValue( "http://localhost:8081/users/{cpf}" ) String url,
+                               @DefaultValue( "50" ) int maxConexoes,
+                               @DefaultValue( "1000" ) int capacidadeFila,
+                               @DefaultValue( "300" ) int timeoutConexaoMs,
+                               @DefaultValue( "800" ) int timeoutLeituraMs,
+                               @DefaultValue( "200" ) int timeoutPoolMs,
+                               @DefaultValue( "30000" ) long cacheTtlMs,
+                               @DefaultValue( "100000" ) long cacheTamanhoMaximo )
+    {
+        this.url = url;
+        this.maxConexoes = maxConexoes;
+        this.capacidadeFila = capacidadeFila;
+        this.timeoutConexaoMs = timeoutConexaoMs;
+        this.timeoutLeituraMs = timeoutLeituraMs;
+        this.timeoutPoolMs = timeoutPoolMs;
+        this.cacheTtlMs = cacheTtlMs;
+        this.cacheTamanhoMaximo = cacheTamanhoMaximo;
+    }
+
+    // quem espera uma consulta (inclusive uma compartilhada) desiste depois do pior caso de uma única chamada
+    public long timeoutTotalMs()
+    {
+        return (long) timeoutPoolMs + timeoutConexaoMs + timeoutLeituraMs;
+    }
+}
@@ -0,0 +1,28 @@
+package com.cooperativismo.votacao.config;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConstructorBinding
+@ConfigurationProperties( prefix = "votacao.kafka.erros" )
+public class ErrosConsumoConfig
+{
+    private final int tentativas;
+    private final long intervaloMs;
+    private final long esperaInicialMs;
+    private final long esperaMaximaMs;
+
+    public ErrosConsumoConfig( @DefaultValue( "2" ) int tentativas,
+                               @DefaultValue( "1000" ) long intervaloMs,
+                               @DefaultValue( "1000" ) long esperaInicialMs,
+                               @DefaultValue( "60000" ) long esperaMaximaMs )
+    {
+        this.tentativas = tentativas;
+        this.intervaloMs = intervaloMs;
+        this.esperaInicialMs = esperaInicialMs;
+        this.esperaMaximaMs = esperaMaximaMs;
+    }
+}
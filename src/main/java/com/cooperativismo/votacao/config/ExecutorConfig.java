@@ -0,0 +1,30 @@
+package com.cooperativismo.votacao.config;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConstructorBinding
+@ConfigurationProperties( prefix = "votacao.executor" )
+public class ExecutorConfig
+{
+    public enum PoliticaRejeicao
+    {
+        REJEITAR, EXECUTAR_NA_CHAMADORA
+    }
+
+    private final int tamanhoPool;
+    private final int capacidadeFila;
+    private final PoliticaRejeicao politicaRejeicao;
+
+    public ExecutorConfig( @DefaultValue( "32" ) int tamanhoPool,
+                           @DefaultValue( "500" ) int capacidadeFila,
+                           @DefaultValue( "REJEITAR" ) PoliticaRejeicao politicaRejeicao )
+    {
+        this.tamanhoPool = tamanhoPool;
+        this.capacidadeFila = capacidadeFila;
+        this.politicaRejeicao = politicaRejeicao;
+    }
+}
@@ -0,0 +1,118 @@
+package com.cooperativismo.votacao.config;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+// Uma thread virtual por tarefa, com os limites de concorrência e de fila do pool de plataforma
+final class ExecutorVirtualLimitado extends AbstractExecutorService
+{
+    private final ExecutorService threads;
+    private final Semaphore vagas;
+    private final Semaphore execucao;
+    private final int concorrencia;
+    private final int capacidadeTotal;
+    private final BiConsumer<Runnable, ExecutorService> rejeicao;
+
+    ExecutorVirtualLimitado( int concorrencia, int capacidadeFila, ThreadFactory fabrica, BiConsumer<Runnable, ExecutorService> rejeicao )
+    {
+        this.threads = Executors.newThreadPerTaskExecutor( fabrica );
+        this.concorrencia = concorrencia;
+        this.capacidadeTotal = concorrencia + capacidadeFila;
+        this.vagas = new Semaphore( capacidadeTotal );
+        this.execucao = new Semaphore( concorrencia );
+        this.rejeicao = rejeicao;
+    }
+
+    @Override
+    public void execute( Runnable tarefa )
+    {
+        if ( isShutdown() || ! vagas.tryAcquire() )
+        {
+            rejeicao.accept( tarefa, this );
+
+            return;
+        }
+
+        try
+        {
+            threads.execute( () -> executar( tarefa ) );
+        }
+        catch ( RejectedExecutionException e )
+        {
+            vagas.release();
+            rejeicao.accept( tarefa, this );
+        }
+    }
+
+    private void executar( Runnable tarefa )
+    {
+        try
+        {
+            execucao.acquire();
+
+            try
+            {
+                tarefa.run();
+            }
+            finally
+            {
+                execucao.release();
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            vagas.release();
+        }
+    }
+
+    int emExecucao()
+    {
+        return concorrencia - execucao.availablePermits();
+    }
+
+    int aguardando()
+    {
+        return Math.max( 0, capacidadeTotal - vagas.availablePermits() - emExecucao() );
+    }
+
+    @Override
+    public void shutdown()
+    {
+        threads.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow()
+    {
+        return threads.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown()
+    {
+        return threads.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated()
+    {
+        return threads.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination( long timeout, TimeUnit unit ) throws InterruptedException
+    {
+        return threads.awaitTermination( timeout, unit );
+    }
+}
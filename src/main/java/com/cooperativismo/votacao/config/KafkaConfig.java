@@ -1,31 +1,70 @@
 package com.cooperativismo.votacao.config;
 
+import com.cooperativismo.votacao.exception.ResourceNotFoundException;
+import com.cooperativismo.votacao.exception.ValidacaoCpfIndisponivelException;
+import com.cooperativismo.votacao.serializacao.CodecBinario;
+import com.cooperativismo.votacao.serializacao.DesserializadorBinario;
+import com.cooperativismo.votacao.serializacao.SerializadorBinario;
+import com.cooperativismo.votacao.serializacao.SessaoMessageCodec;
+import com.cooperativismo.votacao.serializacao.VotacaoMessageCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.admin.NewTopic;
-import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DelegatingByTopicDeserializer;
+import org.springframework.kafka.support.serializer.DelegatingByTopicSerializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.ExponentialBackOff;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Configuration
 public class KafkaConfig
 {
-    @Value( "${spring.kafka.bootstrap-servers}" )
-    private String bootstrapServers;
+    private static final Map<String, CodecBinario<?>> CODECS_BINARIOS = Map.of( "votacao-topic", new VotacaoMessageCodec(),
+                                                                                 "sessao-topic", new SessaoMessageCodec() );
+
+    private static final String[] TOPICOS_CONSUMIDOS = { "votacao-topic", "pauta-topic", "sessao-topic", "resultado-topic", "notificacao-topic" };
+
+    @Value( "${votacao.kafka.particoes:3}" )
+    private int particoes;
+
+    @Value( "${votacao.kafka.topicos-binarios:}" )
+    private Set<String> topicosBinarios;
 
     @Bean
     public NewTopic votacaoTopic()
     {
         return TopicBuilder.name( "votacao-topic" )
-                           .partitions( 3 )
+                           .partitions( particoes )
                            .replicas( 1 )
                            .build();
     }
@@ -34,8 +73,8 @@ public class KafkaConfig
     public NewTopic pautaTopic()
     {
         return TopicBuilder.name( "pauta-topic" )
-                           .partitions(3 )
-                           .replicas(1 )
+                           .partitions( particoes )
+                           .replicas( 1 )
                            .build();
     }
 
@@ -43,8 +82,8 @@ public class KafkaConfig
     public NewTopic sessaoTopic()
     {
         return TopicBuilder.name( "sessao-topic" )
-                           .partitions(3 )
-                           .replicas(1 )
+                           .partitions( particoes )
+                           .replicas( 1 )
                            .build();
     }
 
@@ -52,7 +91,7 @@ public class KafkaConfig
     public NewTopic resultadoTopic()
     {
         return TopicBuilder.name( "resultado-topic" )
-                           .partitions( 3 )
+                           .partitions( particoes )
                            .replicas( 1 )
                            .build();
     }
@@ -61,26 +100,156 @@ public class KafkaConfig
     public NewTopic notificacaoTopic()
     {
         return TopicBuilder.name( "notificacao-topic" )
-                           .partitions( 3 )
+                           .partitions( particoes )
                            .replicas( 1 )
                            .build();
     }
 
     @Bean
-    public ProducerFactory<String, Object> producerFactory()
+    public KafkaAdmin.NewTopics topicosDlt()
+    {
+        return new KafkaAdmin.NewTopics( Stream.of( TOPICOS_CONSUMIDOS )
+                                               .map( topico -> TopicBuilder.name( topico + ".DLT" )
+                                                                           .partitions( particoes )
+                                                                           .replicas( 1 )
+                                                                           .build() )
+                                               .toArray( NewTopic[]::new ) );
+    }
+
+    @Bean
+    public ProducerFactory<String, Object> producerFactory( KafkaProperties kafkaProperties, ProdutorKafkaConfig produtorKafkaConfig )
     {
-        Map<String, Object> configProps = new HashMap<>();
+        Map<String, Object> configProps = new HashMap<>( kafkaProperties.buildProducerProperties() );
     
-        configProps.put( ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers );
-        configProps.put( ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class );
-        configProps.put( ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class );
+        configProps.putAll( produtorKafkaConfig.propriedades() );
+
+        Map<Pattern, Serializer<?>> serializadores = new LinkedHashMap<>();
+
+        codecsBinarios().forEach( ( topico, codec ) -> serializadores.put( Pattern.compile( Pattern.quote( topico ) ), new SerializadorBinario<>( codec ) ) );
     
-        return new DefaultKafkaProducerFactory<>( configProps );
+        return new DefaultKafkaProducerFactory<>( configProps,
+                                                  new StringSerializer(),
+                                                  new DelegatingByTopicSerializer( serializadores, new JsonSerializer<>() ) );
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> kafkaTemplate( ProducerFactory<String, Object> producerFactory )
+    {
+        return new KafkaTemplate<>( producerFactory );
+    }
+
+    @Bean
+    public ConsumerFactory<Object, Object> consumerFactory( KafkaProperties kafkaProperties )
+    {
+        Map<Pattern, Deserializer<?>> desserializadores = new LinkedHashMap<>();
+
+        codecsBinarios().forEach( ( topico, codec ) -> desserializadores.put( Pattern.compile( Pattern.quote( topico ) ), new DesserializadorBinario<>( codec, new JsonDeserializer<>() ) ) );
+
+        return new DefaultKafkaConsumerFactory<>( kafkaProperties.buildConsumerProperties(),
+                                                  null,
+                                                  new DelegatingByTopicDeserializer( desserializadores, new JsonDeserializer<>() ) );
+    }
+
+    private Map<String, CodecBinario<?>> codecsBinarios()
+    {
+        Map<String, CodecBinario<?>> codecs = new LinkedHashMap<>();
+
+        for ( String topico : topicosBinarios )
+        {
+            CodecBinario<?> codec = CODECS_BINARIOS.get( topico );
+
+            if ( codec == null )
+            {
+                throw new IllegalStateException( "Não há formato binário para o tópico " + topico + ", disponíveis: " + CODECS_BINARIOS.keySet() );
+            }
+
+            codecs.put( topico, codec );
+        }
+
+        return codecs;
     }
 
+    // falhas comuns vão para <tópico>.DLT após algumas tentativas; CPF indisponível espera sem limite
     @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate()
+    public DefaultErrorHandler tratadorErrosConsumo( KafkaTemplate<String, Object> kafkaTemplate, ErrosConsumoConfig config, MeterRegistry meterRegistry )
     {
-        return new KafkaTemplate<>( producerFactory() );
+        DeadLetterPublishingRecoverer dlt = new DeadLetterPublishingRecoverer( kafkaTemplate );
+
+        DefaultErrorHandler tratador = new DefaultErrorHandler( ( registro, excecao ) ->
+        {
+            Counter.builder( "votacao.kafka.dlt" )
+                   .description( "Mensagens consumidas que foram para o tópico de mensagens mortas" )
+                   .tag( "topico", registro.topic() )
+                   .register( meterRegistry )
+                   .increment();
+
+            dlt.accept( registro, excecao );
+        }, new FixedBackOff( config.getIntervaloMs(), config.getTentativas() ) );
+
+        tratador.addNotRetryableExceptions( ResourceNotFoundException.class, IllegalArgumentException.class, NullPointerException.class );
+        tratador.setBackOffFunction( ( registro, excecao ) -> validacaoCpfIndisponivel( excecao ) ? esperaValidacaoCpf( config ) : null );
+
+        return tratador;
+    }
+
+    private static boolean validacaoCpfIndisponivel( Throwable excecao )
+    {
+        for ( Throwable causa = excecao; causa != null; causa = causa.getCause() )
+        {
+            if ( causa instanceof ValidacaoCpfIndisponivelException )
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static ExponentialBackOff esperaValidacaoCpf( ErrosConsumoConfig config )
+    {
+        ExponentialBackOff espera = new ExponentialBackOff( config.getEsperaInicialMs(), 2 );
+
+        espera.setMaxInterval( config.getEsperaMaximaMs() );
+
+        return espera;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> kafkaListenerContainerFactory( ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+                                                                                                  ObjectProvider<ConsumerFactory<Object, Object>> consumerFactory,
+                                                                                                  KafkaProperties kafkaProperties,
+                                                                                                  @Qualifier( "kafkaConsumerTaskExecutor" ) ObjectProvider<AsyncListenableTaskExecutor> consumerTaskExecutor,
+                                                                                                  CommonErrorHandler tratadorErrosConsumo )
+    {
+        return criarListenerContainerFactory( configurer, consumerFactory, kafkaProperties, consumerTaskExecutor, tratadorErrosConsumo );
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> votacaoLoteListenerContainerFactory( ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+                                                                                                        ObjectProvider<ConsumerFactory<Object, Object>> consumerFactory,
+                                                                                                        KafkaProperties kafkaProperties,
+                                                                                                        @Qualifier( "kafkaConsumerTaskExecutor" ) ObjectProvider<AsyncListenableTaskExecutor> consumerTaskExecutor,
+                                                                                                        CommonErrorHandler tratadorErrosConsumo )
+    {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = criarListenerContainerFactory( configurer, consumerFactory, kafkaProperties, consumerTaskExecutor, tratadorErrosConsumo );
+
+        factory.setBatchListener( true );
+
+        return factory;
+    }
+
+    private ConcurrentKafkaListenerContainerFactory<Object, Object> criarListenerContainerFactory( ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+                                                                                                   ObjectProvider<ConsumerFactory<Object, Object>> consumerFactory,
+                                                                                                   KafkaProperties kafkaProperties,
+                                                                                                   ObjectProvider<AsyncListenableTaskExecutor> consumerTaskExecutor,
+                                                                                                   CommonErrorHandler tratadorErrosConsumo )
+    {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+
+        configurer.configure( factory, consumerFactory.getIfAvailable( () -> new DefaultKafkaConsumerFactory<>( kafkaProperties.buildConsumerProperties() ) ) );
+        consumerTaskExecutor.ifAvailable( executor -> factory.getContainerProperties().setConsumerTaskExecutor( executor ) );
+        factory.setCommonErrorHandler( tratadorErrosConsumo );
+
+        return factory;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,25 @@
+package com.cooperativismo.votacao.config;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConstructorBinding
+@ConfigurationProperties( prefix = "votacao.votos.lote" )
+public class LoteVotosConfig
+{
+    private final int tamanho;
+    private final int lotesEmVoo;
+    private final int maxErros;
+
+    public LoteVotosConfig( @DefaultValue( "500" ) int tamanho,
+                            @DefaultValue( "4" ) int lotesEmVoo,
+                            @DefaultValue( "1000" ) int maxErros )
+    {
+        this.tamanho = tamanho;
+        this.lotesEmVoo = lotesEmVoo;
+        this.maxErros = maxErros;
+    }
+}
@@ -0,0 +1,63 @@
+package com.cooperativismo.votacao.config;
+
+import lombok.Getter;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@ConstructorBinding
+@ConfigurationProperties( prefix = "votacao.kafka.produtor" )
+public class ProdutorKafkaConfig
+{
+    private final String acks;
+    private final boolean idempotente;
+    private final int lingerMs;
+    private final int tamanhoLote;
+    private final String compressao;
+    private final int maxRequisicoesEmVoo;
+    private final int timeoutEntregaMs;
+
+    public ProdutorKafkaConfig( @DefaultValue( "all" ) String acks,
+                                @DefaultValue( "true" ) boolean idempotente,
+                                @DefaultValue( "5" ) int lingerMs,
+                                @DefaultValue( "65536" ) int tamanhoLote,
+                                @DefaultValue( "lz4" ) String compressao,
+                                @DefaultValue( "5" ) int maxRequisicoesEmVoo,
+                                @DefaultValue( "120000" ) int timeoutEntregaMs )
+    {
+        this.acks = acks;
+        this.idempotente = idempotente;
+        this.lingerMs = lingerMs;
+        this.tamanhoLote = tamanhoLote;
+        this.compressao = compressao;
+        this.maxRequisicoesEmVoo = maxRequisicoesEmVoo;
+        this.timeoutEntregaMs = timeoutEntregaMs;
+    }
+
+    public Map<String, Object> propriedades()
+    {
+        if ( idempotente && ( ! "all".equals( acks ) && ! "-1".equals( acks ) || maxRequisicoesEmVoo > 5 ) )
+        {
+            throw new IllegalStateException( "Produtor idempotente exige acks=all e no máximo 5 requisições em voo" );
+        }
+
+        Map<String, Object> propriedades = new HashMap<>();
+
+        propriedades.put( ProducerConfig.ACKS_CONFIG, acks );
+        propriedades.put( ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotente );
+        propriedades.put( ProducerConfig.LINGER_MS_CONFIG, lingerMs );
+        propriedades.put( ProducerConfig.BATCH_SIZE_CONFIG, tamanhoLote );
+        propriedades.put( ProducerConfig.COMPRESSION_TYPE_CONFIG, compressao );
+        propriedades.put( ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, maxRequisicoesEmVoo );
+        // o produtor reenvia erros temporários até delivery.timeout.ms, sem limite de tentativas
+        propriedades.put( ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE );
+        propriedades.put( ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, timeoutEntregaMs );
+
+        return propriedades;
+    }
+}
@@ -0,0 +1,48 @@
+package com.cooperativismo.votacao.config;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConstructorBinding
+@ConfigurationProperties( prefix = "votacao.cpf.protecao" )
+public class ProtecaoCpfConfig
+{
+    public enum Fallback
+    {
+        REJEITAR, ACEITAR_PROVISORIO
+    }
+
+    private final int maxConcorrentes;
+    private final long esperaMs;
+    private final int janela;
+    private final int minimoChamadas;
+    private final int limiarFalhasPercentual;
+    private final long chamadaLentaMs;
+    private final long aberturaMs;
+    private final int chamadasTeste;
+    private final Fallback fallback;
+
+    public ProtecaoCpfConfig( @DefaultValue( "20" ) int maxConcorrentes,
+                              @DefaultValue( "50" ) long esperaMs,
+                              @DefaultValue( "20" ) int janela,
+                              @DefaultValue( "10" ) int minimoChamadas,
+                              @DefaultValue( "50" ) int limiarFalhasPercentual,
+                              @DefaultValue( "1000" ) long chamadaLentaMs,
+                              @DefaultValue( "10000" ) long aberturaMs,
+                              @DefaultValue( "3" ) int chamadasTeste,
+                              @DefaultValue( "REJEITAR" ) Fallback fallback )
+    {
+        this.maxConcorrentes = maxConcorrentes;
+        this.esperaMs = esperaMs;
+        this.janela = janela;
+        this.minimoChamadas = minimoChamadas;
+        this.limiarFalhasPercentual = limiarFalhasPercentual;
+        this.chamadaLentaMs = chamadaLentaMs;
+        this.aberturaMs = aberturaMs;
+        this.chamadasTeste = chamadasTeste;
+        this.fallback = fallback;
+    }
+}
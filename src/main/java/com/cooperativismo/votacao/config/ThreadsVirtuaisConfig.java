@@ -0,0 +1,34 @@
+package com.cooperativismo.votacao.config;
+
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty( name = "votacao.threads-virtuais.enabled", havingValue = "true" )
+public class ThreadsVirtuaisConfig
+{
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> tomcatThreadsVirtuais()
+    {
+        return protocolHandler ->
+        {
+            if ( protocolHandler instanceof AbstractProtocol<?> protocolo )
+            {
+                protocolo.setExecutor( Executors.newThreadPerTaskExecutor( Thread.ofVirtual().name( "tomcat-virtual-", 0 ).factory() ) );
+            }
+        };
+    }
+
+    @Bean
+    public AsyncListenableTaskExecutor kafkaConsumerTaskExecutor()
+    {
+        return new SimpleAsyncTaskExecutor( Thread.ofVirtual().name( "kafka-virtual-", 0 ).factory() );
+    }
+}
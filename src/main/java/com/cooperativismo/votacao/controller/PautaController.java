@@ -2,6 +2,7 @@ package com.cooperativismo.votacao.controller;
 
 import com.cooperativismo.votacao.dto.PautaDTO;
 import com.cooperativismo.votacao.service.PautaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -9,12 +10,20 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 
 @Slf4j
@@ -24,18 +33,74 @@ import java.util.concurrent.CompletableFuture;
 @Tag( name = "Pautas", description = "APIs para gerenciamento de pautas" )
 public class PautaController
 {
+    static final String CABECALHO_PROXIMO_CURSOR = "X-Proximo-Cursor";
+    private static final String NDJSON = "application/x-ndjson";
+
     private final PautaService pautaService;
+    private final ExecutorService requisicaoExecutor;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    @Operation( summary = "Listar todas as pautas", description = "Retorna todas as pautas cadastradas no sistema" )
+    @Operation( summary = "Listar pautas", 
+                description = "Retorna uma página de pautas ordenadas pelo ID, a partir do cursor informado em 'apos'; " +
+                              "o cursor da próxima página vem no cabeçalho " + CABECALHO_PROXIMO_CURSOR )
     @ApiResponses( value = {
-        @ApiResponse( responseCode = "200", description = "Pautas listadas com sucesso" )
+        @ApiResponse( responseCode = "200", description = "Pautas listadas com sucesso" ),
+        @ApiResponse( responseCode = "400", description = "Limite de página inválido" )
     } )
-    public CompletableFuture<ResponseEntity<List<PautaDTO>>> listarPautas()
+    public CompletableFuture<ResponseEntity<List<PautaDTO>>> listarPautas( @RequestParam( required = false ) Long apos,
+                                                                         @RequestParam( defaultValue = "50" ) int limite,
+                                                                         @RequestParam( required = false )
+                                                                         @DateTimeFormat( iso = DateTimeFormat.ISO.DATE_TIME ) LocalDateTime desde )
     {
-        log.info( "Recebida requisição para listar pautas" );
+        log.info( "Recebida requisição para listar pautas após o ID {}", apos );
     
-        return CompletableFuture.supplyAsync( () -> ResponseEntity.ok( pautaService.listarPautas() ) );
+        return CompletableFuture.supplyAsync( () -> 
+        {
+            List<PautaDTO> pautas = pautaService.listarPautas( apos, limite, desde );
+
+            if ( pautas.size() < limite )
+            {
+                return ResponseEntity.ok( pautas );
+            }
+
+            return ResponseEntity.ok()
+                                 .header( CABECALHO_PROXIMO_CURSOR, String.valueOf( pautas.get( pautas.size() - 1 ).getId() ) )
+                                 .body( pautas );
+        }, requisicaoExecutor );
+    }
+
+    @GetMapping( value = "/stream", produces = NDJSON )
+    @Operation( summary = "Exportar pautas em NDJSON",
+                description = "Transmite todas as pautas (opcionalmente criadas desde 'desde'), uma por linha, sem carregá-las em memória" )
+    @ApiResponses( value = {
+        @ApiResponse( responseCode = "200", description = "Pautas transmitidas com sucesso" )
+    } )
+    public void exportarPautas( @RequestParam( required = false )
+                                @DateTimeFormat( iso = DateTimeFormat.ISO.DATE_TIME ) LocalDateTime desde,
+                                HttpServletResponse resposta ) throws IOException
+    {
+        log.info( "Recebida requisição para exportar pautas desde {}", desde );
+
+        resposta.setContentType( NDJSON );
+        resposta.setCharacterEncoding( StandardCharsets.UTF_8.name() );
+
+        OutputStream saida = resposta.getOutputStream();
+
+        pautaService.exportarPautas( desde, pauta -> 
+        {
+            try
+            {
+                saida.write( objectMapper.writeValueAsBytes( pauta ) );
+                saida.write( '\n' );
+            }
+            catch ( IOException e )
+            {
+                throw new UncheckedIOException( e );
+            }
+        } );
+
+        saida.flush();
     }
 
     @GetMapping( "/{id}" )
@@ -54,7 +119,7 @@ public class PautaController
             PautaDTO pauta = pautaService.buscarPauta( id );
           
             return ResponseEntity.ok( pauta );
-        } );
+        }, requisicaoExecutor );
     }
 
     @PostMapping
@@ -66,7 +131,7 @@ public class PautaController
     } )
     public ResponseEntity<Void> criarPauta( @RequestBody PautaDTO pautaDTO )
     {
-        CompletableFuture.runAsync( () -> pautaService.criarPauta( pautaDTO ) );
+        CompletableFuture.runAsync( () -> pautaService.criarPauta( pautaDTO ), requisicaoExecutor );
 
         return ResponseEntity.status( HttpStatus.CREATED ).build();
     }
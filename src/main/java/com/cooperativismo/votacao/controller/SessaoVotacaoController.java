@@ -13,8 +13,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 @Slf4j
 @RestController
@@ -24,6 +26,7 @@ import java.util.concurrent.CompletableFuture;
 public class SessaoVotacaoController
 {
     private final SessaoVotacaoService sessaoVotacaoService;
+    private final ExecutorService requisicaoExecutor;
 
     @PostMapping
     @Operation( summary = "Abrir sessão de votação",
@@ -44,7 +47,7 @@ public class SessaoVotacaoController
             sessaoVotacaoService.abrirSessao( pautaId, duracaoMinutos );
             
             return ResponseEntity.status( HttpStatus.CREATED ).build();
-        } );
+        }, requisicaoExecutor );
     }
 
     @GetMapping( "/{pautaId}/resultado" )
@@ -64,6 +67,21 @@ public class SessaoVotacaoController
             ResultadoVotacaoDTO resultado = sessaoVotacaoService.obterResultado( pautaId );
         
             return ResponseEntity.ok( resultado );
-        } );
+        }, requisicaoExecutor );
     }
-} 
\ No newline at end of file
+
+    @GetMapping( "/resultados" )
+    @Operation(summary = "Obter resultado da votação de várias pautas",
+               description = "Retorna o resultado da votação de todas as pautas informadas, contabilizado em uma única consulta")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resultados obtidos com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Alguma pauta não possui sessão de votação"),
+        @ApiResponse(responseCode = "404", description = "Alguma pauta não foi encontrada")
+    } )
+    public CompletableFuture<ResponseEntity<List<ResultadoVotacaoDTO>>> obterResultados( @RequestParam List<Long> pautaIds )
+    {
+        log.info( "Recebida requisição para obter resultado da votação de {} pautas", pautaIds.size() );
+    
+        return CompletableFuture.supplyAsync( () -> ResponseEntity.ok( sessaoVotacaoService.obterResultados( pautaIds ) ), requisicaoExecutor );
+    }
+}
@@ -1,7 +1,10 @@
 package com.cooperativismo.votacao.controller;
 
+import com.cooperativismo.votacao.dto.ResultadoLoteVotosDTO;
 import com.cooperativismo.votacao.dto.VotoDTO;
 import com.cooperativismo.votacao.service.VotoService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -9,14 +12,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 @Slf4j
 @RestController
@@ -25,26 +32,48 @@ import java.util.concurrent.CompletableFuture;
 @Tag( name = "Votos", description = "APIs para gerenciamento de votos" )
 public class VotoController
 {
+    private static final String NDJSON = "application/x-ndjson";
+
     private final VotoService votoService;
+    private final ExecutorService requisicaoExecutor;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation( summary = "Registrar voto",
                description = "Solicita o registro assíncrono do voto de um associado em uma pauta específica" )
     @ApiResponses( value = {
-        @ApiResponse( responseCode = "201", description = "Voto registrado com sucesso" ),
+        @ApiResponse( responseCode = "202", description = "Voto aceito para processamento" ),
         @ApiResponse( responseCode = "400", description = "Requisição inválida ou CPF inválido" ),
         @ApiResponse( responseCode = "404", description = "Pauta não encontrada" )
     } )
     public CompletableFuture<ResponseEntity<VotoDTO>> registrarVoto( @Valid @RequestBody VotoDTO votoDTO )
     {
-        log.info( "Recebida requisição para registrar voto do associado {} na pauta {}", votoDTO.getCpfAssociado(), votoDTO.getPautaId() );
+        log.debug( "Recebida requisição para registrar voto do associado {} na pauta {}", votoDTO.getCpfAssociado(), votoDTO.getPautaId() );
         
         return CompletableFuture.supplyAsync( () ->
         {
             votoService.verificarPautaExiste( votoDTO.getPautaId() );
             votoService.registrarVoto( votoDTO );
             
-            return ResponseEntity.status( HttpStatus.CREATED ).build();
-        } );
+            return ResponseEntity.status( HttpStatus.ACCEPTED ).build();
+        }, requisicaoExecutor );
+    }
+
+    @PostMapping( value = "/lote", consumes = { MediaType.APPLICATION_JSON_VALUE, NDJSON } )
+    @Operation( summary = "Registrar votos em lote",
+               description = "Recebe um array JSON ou um NDJSON de votos, valida os CPFs em blocos e publica os aceitos; " +
+                             "a resposta traz as contagens e os erros por linha" )
+    @ApiResponses( value = {
+        @ApiResponse( responseCode = "202", description = "Lote processado; votos aceitos enviados para processamento" )
+    } )
+    public ResponseEntity<ResultadoLoteVotosDTO> registrarVotosEmLote( HttpServletRequest requisicao ) throws IOException
+    {
+        log.info( "Recebida requisição para registrar votos em lote" );
+
+        // publicado em blocos na thread da requisição: o corpo pode ter milhões de linhas
+        try ( MappingIterator<VotoDTO> votos = objectMapper.readerFor( VotoDTO.class ).readValues( requisicao.getInputStream() ) )
+        {
+            return ResponseEntity.status( HttpStatus.ACCEPTED ).body( votoService.registrarVotosEmLote( votos ) );
+        }
     }
-} 
\ No newline at end of file
+}
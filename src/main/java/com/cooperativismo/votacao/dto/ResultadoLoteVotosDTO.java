@@ -0,0 +1,35 @@
+package com.cooperativismo.votacao.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteVotosDTO
+{
+    private long linhas;
+
+    private long aceitos;
+
+    private long rejeitados;
+
+    private List<ErroLinha> erros;
+
+    private long errosOmitidos;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErroLinha
+    {
+        private long linha;
+
+        private String mensagem;
+    }
+}
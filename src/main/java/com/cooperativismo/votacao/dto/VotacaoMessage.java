@@ -14,4 +14,11 @@ public class VotacaoMessage
     private String cpfAssociado;
     private String voto;
     private Long timestamp;
+    // aceito sem confirmação do serviço de CPF; o consumidor confere antes de gravar
+    private boolean provisorio;
+
+    public VotacaoMessage( Long sessaoId, Long pautaId, String cpfAssociado, String voto, Long timestamp )
+    {
+        this( sessaoId, pautaId, cpfAssociado, voto, timestamp, false );
+    }
 } 
\ No newline at end of file
@@ -6,6 +6,7 @@ import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -81,6 +82,40 @@ public class ApiExceptionHandler
                              .body( errorResponse );
     }
 
+    @ExceptionHandler( ServicoSobrecarregadoException.class )
+    public ResponseEntity<ErrorResponse> handleServicoSobrecarregadoException( ServicoSobrecarregadoException ex, HttpServletRequest request )
+    {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                                      .timestamp( LocalDateTime.now() )
+                                      .status( HttpStatus.SERVICE_UNAVAILABLE.value() )
+                                      .error( "Serviço indisponível" )
+                                      .message( ex.getMessage() )
+                                      .path( request.getRequestURI() )
+                                      .build();
+        
+        return ResponseEntity.status( HttpStatus.SERVICE_UNAVAILABLE )
+                             .header( HttpHeaders.RETRY_AFTER, "1" )
+                             .contentType( MediaType.APPLICATION_JSON )
+                             .body( errorResponse );
+    }
+
+    @ExceptionHandler( ValidacaoCpfIndisponivelException.class )
+    public ResponseEntity<ErrorResponse> handleValidacaoCpfIndisponivelException( ValidacaoCpfIndisponivelException ex, HttpServletRequest request )
+    {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                                      .timestamp( LocalDateTime.now() )
+                                      .status( HttpStatus.SERVICE_UNAVAILABLE.value() )
+                                      .error( "Serviço indisponível" )
+                                      .message( ex.getMessage() )
+                                      .path( request.getRequestURI() )
+                                      .build();
+        
+        return ResponseEntity.status( HttpStatus.SERVICE_UNAVAILABLE )
+                             .header( HttpHeaders.RETRY_AFTER, "1" )
+                             .contentType( MediaType.APPLICATION_JSON )
+                             .body( errorResponse );
+    }
+
     @ExceptionHandler( MethodArgumentNotValidException.class )
     public ResponseEntity<Map<String, String>> handleValidationExceptions( MethodArgumentNotValidException ex )
     {
@@ -0,0 +1,9 @@
+package com.cooperativismo.votacao.exception;
+
+public class ServicoSobrecarregadoException extends RuntimeException
+{
+    public ServicoSobrecarregadoException( String message )
+    {
+        super( message );
+    }
+}
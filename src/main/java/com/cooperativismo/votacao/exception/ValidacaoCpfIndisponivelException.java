@@ -0,0 +1,14 @@
+package com.cooperativismo.votacao.exception;
+
+public class ValidacaoCpfIndisponivelException extends RuntimeException
+{
+    public ValidacaoCpfIndisponivelException( String message )
+    {
+        super( message );
+    }
+
+    public ValidacaoCpfIndisponivelException( String message, Throwable cause )
+    {
+        super( message, cause );
+    }
+}
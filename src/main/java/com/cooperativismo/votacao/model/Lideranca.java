@@ -0,0 +1,48 @@
+package com.cooperativismo.votacao.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Lideranca
+{
+    @Id
+    @Column( name = "recurso", length = 100 )
+    private String recurso;
+
+    @Column( name = "instancia", length = 200 )
+    private String instancia;
+
+    @Column( name = "expira_em" )
+    private LocalDateTime expiraEm;
+
+    public boolean pertenceA( String instancia, LocalDateTime agora )
+    {
+        return instancia.equals( this.instancia ) && agora.isBefore( expiraEm );
+    }
+
+    public boolean estaLivre( LocalDateTime agora )
+    {
+        return expiraEm == null || ! agora.isBefore( expiraEm );
+    }
+
+    public void conceder( String instancia, LocalDateTime expiraEm )
+    {
+        this.instancia = instancia;
+        this.expiraEm = expiraEm;
+    }
+
+    public void liberar( LocalDateTime agora )
+    {
+        expiraEm = agora;
+    }
+}
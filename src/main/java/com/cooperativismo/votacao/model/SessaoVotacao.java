@@ -13,10 +13,12 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+// o índice da varredura de sessões expiradas depende do banco e fica nas migrações
 public class SessaoVotacao
 {
     @Id
-    @GeneratedValue( strategy = GenerationType.IDENTITY )
+    @GeneratedValue( strategy = GenerationType.SEQUENCE, generator = "sessao_votacao_seq" )
+    @SequenceGenerator( name = "sessao_votacao_seq", sequenceName = "sessao_votacao_seq", allocationSize = 50 )
     private Long id;
 
     @OneToOne( fetch = FetchType.LAZY )
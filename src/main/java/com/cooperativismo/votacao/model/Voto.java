@@ -13,14 +13,20 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+// idx_voto_pauta_opcao cobre as contagens por pauta e opção, que saem só do índice
 @Table(uniqueConstraints = 
 {
     @UniqueConstraint( columnNames = { "pauta_id", "cpf_associado" }, name = "uk_associado_pauta" )
+}, indexes =
+{
+    @Index( name = "idx_voto_pauta_opcao", columnList = "pauta_id, voto" )
 } )
 public class Voto
 {
+    // ids reservados de 50 em 50 pelo otimizador pooled, para o insert ir no lote do flush
     @Id
-    @GeneratedValue( strategy = GenerationType.IDENTITY )
+    @GeneratedValue( strategy = GenerationType.SEQUENCE, generator = "voto_seq" )
+    @SequenceGenerator( name = "voto_seq", sequenceName = "voto_seq", allocationSize = 50 )
     private Long id;
 
     @ManyToOne( fetch = FetchType.LAZY )
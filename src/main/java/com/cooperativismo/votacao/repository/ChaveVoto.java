@@ -0,0 +1,8 @@
+package com.cooperativismo.votacao.repository;
+
+public interface ChaveVoto
+{
+    Long getPautaId();
+
+    String getCpfAssociado();
+}
@@ -0,0 +1,18 @@
+package com.cooperativismo.votacao.repository;
+
+import com.cooperativismo.votacao.model.Lideranca;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+@Repository
+public interface LiderancaRepository extends JpaRepository<Lideranca, String>
+{
+    @Lock( LockModeType.PESSIMISTIC_WRITE )
+    @Query( "SELECT l FROM Lideranca l WHERE l.recurso = :recurso" )
+    Optional<Lideranca> bloquear( String recurso );
+}
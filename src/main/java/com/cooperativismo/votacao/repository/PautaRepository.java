@@ -1,8 +1,43 @@
 package com.cooperativismo.votacao.repository;
 
+import com.cooperativismo.votacao.dto.PautaDTO;
 import com.cooperativismo.votacao.model.Pauta;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 @Repository
-public interface PautaRepository extends JpaRepository<Pauta, Long> {}
\ No newline at end of file
+public interface PautaRepository extends JpaRepository<Pauta, Long>
+{
+    @Query( "SELECT p.id FROM Pauta p WHERE p.id IN :pautaIds" )
+    List<Long> findIdsExistentes( Collection<Long> pautaIds );
+
+    @Query( "SELECT new com.cooperativismo.votacao.dto.PautaDTO( p.id, p.titulo, p.descricao ) FROM Pauta p WHERE p.id = :id" )
+    Optional<PautaDTO> findDtoById( Long id );
+
+    @Query( "SELECT new com.cooperativismo.votacao.repository.ResumoPauta( p.id, p.titulo ) FROM Pauta p WHERE p.id = :id" )
+    Optional<ResumoPauta> findResumoById( Long id );
+
+    @Query( "SELECT new com.cooperativismo.votacao.repository.ResumoPauta( p.id, p.titulo ) FROM Pauta p WHERE p.id IN :ids" )
+    List<ResumoPauta> findResumosByIdIn( Collection<Long> ids );
+
+    @Query( "SELECT new com.cooperativismo.votacao.dto.PautaDTO( p.id, p.titulo, p.descricao ) FROM Pauta p " +
+            "WHERE p.id > :apos AND p.dataCriacao >= :desde ORDER BY p.id" )
+    List<PautaDTO> findPagina( Long apos, LocalDateTime desde, Pageable pagina );
+
+    @QueryHints( @QueryHint( name = HINT_FETCH_SIZE, value = "500" ) )
+    @Query( "SELECT new com.cooperativismo.votacao.dto.PautaDTO( p.id, p.titulo, p.descricao ) FROM Pauta p " +
+            "WHERE p.dataCriacao >= :desde ORDER BY p.id" )
+    Stream<PautaDTO> streamDesde( LocalDateTime desde );
+}
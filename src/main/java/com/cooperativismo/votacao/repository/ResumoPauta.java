@@ -0,0 +1,3 @@
+package com.cooperativismo.votacao.repository;
+
+public record ResumoPauta( Long id, String titulo ) {}
@@ -0,0 +1,11 @@
+package com.cooperativismo.votacao.repository;
+
+import java.time.LocalDateTime;
+
+public record ResumoSessao( Long sessaoId, Long pautaId, LocalDateTime dataAbertura, LocalDateTime dataFechamento, boolean ativa )
+{
+    public boolean estaAberta()
+    {
+        return ativa && LocalDateTime.now().isBefore( dataFechamento );
+    }
+}
@@ -2,18 +2,42 @@ package com.cooperativismo.votacao.repository;
 
 import com.cooperativismo.votacao.model.SessaoVotacao;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
 public interface SessaoVotacaoRepository extends JpaRepository<SessaoVotacao, Long>
 {
     Optional<SessaoVotacao> findByPautaId( Long pautaId );
+
+    List<SessaoVotacao> findByPautaIdIn( Collection<Long> pautaIds );
+
+    @QueryHints( @QueryHint( name = HINT_READONLY, value = "true" ) )
+    List<SessaoVotacao> findByAtivaTrue();
     
+    @QueryHints( @QueryHint( name = HINT_READONLY, value = "true" ) )
     @Query( "SELECT s FROM SessaoVotacao s WHERE s.ativa = true AND s.dataFechamento <= :agora" )
     List<SessaoVotacao> findSessoesAtivasExpiradas( LocalDateTime agora );
-} 
\ No newline at end of file
+
+    @Query( "SELECT new com.cooperativismo.votacao.repository.ResumoSessao( s.id, s.pauta.id, s.dataAbertura, s.dataFechamento, s.ativa ) " +
+            "FROM SessaoVotacao s WHERE s.pauta.id = :pautaId" )
+    Optional<ResumoSessao> findResumoByPautaId( Long pautaId );
+
+    @Query( "SELECT new com.cooperativismo.votacao.repository.ResumoSessao( s.id, s.pauta.id, s.dataAbertura, s.dataFechamento, s.ativa ) " +
+            "FROM SessaoVotacao s WHERE s.pauta.id IN :pautaIds" )
+    List<ResumoSessao> findResumosByPautaIdIn( Collection<Long> pautaIds );
+
+    @Modifying
+    @Query( "UPDATE SessaoVotacao s SET s.ativa = false WHERE s.id = :sessaoId AND s.ativa = true" )
+    int fecharSeAtiva( Long sessaoId );
+}
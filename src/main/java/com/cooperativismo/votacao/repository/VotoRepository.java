@@ -3,16 +3,45 @@ package com.cooperativismo.votacao.repository;
 import com.cooperativismo.votacao.model.Voto;
 import com.cooperativismo.votacao.model.Voto.OpcaoVoto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface VotoRepository extends JpaRepository<Voto, Long>
+public interface VotoRepository extends JpaRepository<Voto, Long>, VotoRepositoryCustom
 {
     Optional<Voto> findByPautaIdAndCpfAssociado( Long pautaId, String cpfAssociado );
     
     long countByPautaId( Long pautaId );
     
+    // sem junção com pauta, para a contagem sair só de idx_voto_pauta_opcao
+    @Query( "SELECT COUNT(*) FROM Voto v WHERE v.pauta.id = :pautaId AND v.opcaoVoto = :opcaoVoto" )
     long countByPautaIdAndOpcaoVoto( Long pautaId, OpcaoVoto opcaoVoto );
-} 
\ No newline at end of file
+
+    @Query( "SELECT v.pauta.id AS pautaId, v.cpfAssociado AS cpfAssociado FROM Voto v " +
+            "WHERE v.pauta.id IN :pautaIds AND v.cpfAssociado IN :cpfs" )
+    List<ChaveVoto> findVotosExistentes( Collection<Long> pautaIds, Collection<String> cpfs );
+
+    @Query( "SELECT v.pauta.id AS pautaId, v.opcaoVoto AS opcaoVoto, COUNT(*) AS total FROM Voto v " +
+            "WHERE v.pauta.id = :pautaId GROUP BY v.pauta.id, v.opcaoVoto" )
+    List<VotosPorOpcao> contarVotosPorOpcao( Long pautaId );
+
+    @Query( "SELECT v.pauta.id AS pautaId, v.opcaoVoto AS opcaoVoto, COUNT(*) AS total FROM Voto v " +
+            "WHERE v.pauta.id IN :pautaIds GROUP BY v.pauta.id, v.opcaoVoto" )
+    List<VotosPorOpcao> contarVotosPorOpcaoDasPautas( Collection<Long> pautaIds );
+
+    @Query( "SELECT v.pauta.id AS pautaId, v.opcaoVoto AS opcaoVoto, COUNT(*) AS total FROM Voto v " +
+            "WHERE v.pauta.id IN ( SELECT s.pauta.id FROM SessaoVotacao s WHERE s.ativa = true ) " +
+            "GROUP BY v.pauta.id, v.opcaoVoto" )
+    List<VotosPorOpcao> contarVotosPorOpcaoDeSessoesAtivas();
+
+    @Query( "SELECT v.cpfAssociado FROM Voto v WHERE v.pauta.id = :pautaId" )
+    List<String> findCpfsByPautaId( Long pautaId );
+
+    @Query( "SELECT v.pauta.id AS pautaId, v.cpfAssociado AS cpfAssociado FROM Voto v " +
+            "WHERE v.pauta.id IN ( SELECT s.pauta.id FROM SessaoVotacao s WHERE s.ativa = true )" )
+    List<ChaveVoto> findVotosDeSessoesAtivas();
+}
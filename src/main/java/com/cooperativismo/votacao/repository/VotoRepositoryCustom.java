@@ -0,0 +1,10 @@
+package com.cooperativismo.votacao.repository;
+
+import com.cooperativismo.votacao.model.Voto;
+
+import java.util.List;
+
+public interface VotoRepositoryCustom
+{
+    void inserirEmLote( List<Voto> votos );
+}
@@ -0,0 +1,77 @@
+package com.cooperativismo.votacao.repository;
+
+import com.cooperativismo.votacao.model.Voto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class VotoRepositoryImpl implements VotoRepositoryCustom
+{
+    // igual ao allocationSize de Voto e ao INCREMENT BY de voto_seq
+    private static final int BLOCO_IDS = 50;
+
+    private static final String INSERT_VOTO = "INSERT INTO voto ( id, pauta_id, cpf_associado, voto, data_voto ) VALUES ( ?, ?, ?, ?, ? )";
+    private static final String PROXIMO_BLOCO = "SELECT nextval( 'voto_seq' )";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private long proximoId;
+    private long ultimoId = -1;
+
+    @Override
+    public void inserirEmLote( List<Voto> votos )
+    {
+        if ( votos.isEmpty() )
+        {
+            return;
+        }
+
+        long[] ids = reservarIds( votos.size() );
+
+        jdbcTemplate.batchUpdate( INSERT_VOTO, new BatchPreparedStatementSetter()
+        {
+            @Override
+            public void setValues( PreparedStatement ps, int indice ) throws SQLException
+            {
+                Voto voto = votos.get( indice );
+
+                ps.setLong( 1, ids[ indice ] );
+                ps.setLong( 2, voto.getPauta().getId() );
+                ps.setString( 3, voto.getCpfAssociado() );
+                ps.setString( 4, voto.getOpcaoVoto().name() );
+                ps.setTimestamp( 5, Timestamp.valueOf( voto.getDataVoto() ) );
+            }
+
+            @Override
+            public int getBatchSize()
+            {
+                return votos.size();
+            }
+        } );
+    }
+
+    // como no otimizador pooled: cada valor da sequência reserva os 50 ids que terminam nele
+    private synchronized long[] reservarIds( int quantidade )
+    {
+        long[] ids = new long[ quantidade ];
+
+        for ( int i = 0; i < quantidade; i++ )
+        {
+            if ( proximoId > ultimoId )
+            {
+                ultimoId = jdbcTemplate.queryForObject( PROXIMO_BLOCO, Long.class );
+                proximoId = Math.max( 1, ultimoId - BLOCO_IDS + 1 );
+            }
+
+            ids[ i ] = proximoId++;
+        }
+
+        return ids;
+    }
+}
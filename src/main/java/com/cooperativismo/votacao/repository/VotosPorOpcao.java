@@ -0,0 +1,12 @@
+package com.cooperativismo.votacao.repository;
+
+import com.cooperativismo.votacao.model.Voto.OpcaoVoto;
+
+public interface VotosPorOpcao
+{
+    Long getPautaId();
+
+    OpcaoVoto getOpcaoVoto();
+
+    Long getTotal();
+}
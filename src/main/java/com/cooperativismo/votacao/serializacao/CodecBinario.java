@@ -0,0 +1,8 @@
+package com.cooperativismo.votacao.serializacao;
+
+public interface CodecBinario<T>
+{
+    byte[] codificar( T mensagem );
+
+    T decodificar( byte[] dados );
+}
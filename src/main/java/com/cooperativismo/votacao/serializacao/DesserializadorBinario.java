@@ -0,0 +1,68 @@
+package com.cooperativismo.votacao.serializacao;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.util.Map;
+
+/*
+ * Mensagens sem o byte mágico (publicadas antes da troca de formato, em JSON)
+ * seguem para o desserializador alternativo, se houver.
+ */
+public class DesserializadorBinario<T> implements Deserializer<Object>
+{
+    private final CodecBinario<T> codec;
+    private final Deserializer<?> alternativo;
+
+    public DesserializadorBinario( CodecBinario<T> codec, Deserializer<?> alternativo )
+    {
+        this.codec = codec;
+        this.alternativo = alternativo;
+    }
+
+    @Override
+    public void configure( Map<String, ?> configs, boolean isKey )
+    {
+        if ( alternativo != null )
+        {
+            alternativo.configure( configs, isKey );
+        }
+    }
+
+    @Override
+    public Object deserialize( String topic, byte[] data )
+    {
+        return deserialize( topic, null, data );
+    }
+
+    @Override
+    public Object deserialize( String topic, Headers headers, byte[] data )
+    {
+        if ( data == null )
+        {
+            return null;
+        }
+
+        if ( data.length > 0 && data[ 0 ] == FormatoBinario.MAGICO )
+        {
+            return codec.decodificar( data );
+        }
+
+        if ( alternativo == null )
+        {
+            throw new SerializationException( "Mensagem do tópico " + topic + " não está no formato binário" );
+        }
+
+        return headers == null ? alternativo.deserialize( topic, data ) : alternativo.deserialize( topic, headers, data );
+    }
+
+    @Override
+    public void close()
+    {
+        if ( alternativo != null )
+        {
+            alternativo.close();
+        }
+    }
+}
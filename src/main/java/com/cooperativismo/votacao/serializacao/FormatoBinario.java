@@ -0,0 +1,130 @@
+package com.cooperativismo.votacao.serializacao;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+final class FormatoBinario
+{
+    static final byte MAGICO = (byte) 0xB7;
+
+    static final int TAMANHO_DATA_HORA = Long.BYTES + Integer.BYTES;
+
+    private static final int TAMANHO_CPF = 11;
+    private static final int TAMANHO_MAXIMO_TEXTO = 0xFFFF;
+
+    private FormatoBinario()
+    {
+    }
+
+    static ByteBuffer iniciar( int tamanho, byte versao, int flags )
+    {
+        return ByteBuffer.allocate( 3 + tamanho ).put( MAGICO ).put( versao ).put( (byte) flags );
+    }
+
+    static ByteBuffer abrir( byte[] dados, byte versaoEsperada )
+    {
+        ByteBuffer buffer = ByteBuffer.wrap( dados );
+
+        if ( buffer.get() != MAGICO )
+        {
+            throw new SerializationException( "Mensagem não está no formato binário" );
+        }
+
+        byte versao = buffer.get();
+
+        if ( versao != versaoEsperada )
+        {
+            throw new SerializationException( "Versão do formato binário não suportada: " + versao );
+        }
+
+        return buffer;
+    }
+
+    static byte[] utf8( String texto )
+    {
+        if ( texto == null )
+        {
+            return null;
+        }
+
+        byte[] bytes = texto.getBytes( StandardCharsets.UTF_8 );
+
+        if ( bytes.length > TAMANHO_MAXIMO_TEXTO )
+        {
+            throw new SerializationException( "Texto excede " + TAMANHO_MAXIMO_TEXTO + " bytes" );
+        }
+
+        return bytes;
+    }
+
+    static int tamanhoTexto( byte[] bytes )
+    {
+        return bytes == null ? 0 : Short.BYTES + bytes.length;
+    }
+
+    static void escreverTexto( ByteBuffer buffer, byte[] bytes )
+    {
+        buffer.putShort( (short) bytes.length ).put( bytes );
+    }
+
+    static String lerTexto( ByteBuffer buffer )
+    {
+        int tamanho = Short.toUnsignedInt( buffer.getShort() );
+        String texto = new String( buffer.array(), buffer.position(), tamanho, StandardCharsets.UTF_8 );
+
+        buffer.position( buffer.position() + tamanho );
+
+        return texto;
+    }
+
+    static void escreverDataHora( ByteBuffer buffer, LocalDateTime dataHora )
+    {
+        buffer.putLong( dataHora.toEpochSecond( ZoneOffset.UTC ) ).putInt( dataHora.getNano() );
+    }
+
+    static LocalDateTime lerDataHora( ByteBuffer buffer )
+    {
+        return LocalDateTime.ofEpochSecond( buffer.getLong(), buffer.getInt(), ZoneOffset.UTC );
+    }
+
+    static long cpfParaLong( String cpf )
+    {
+        if ( cpf == null || cpf.length() != TAMANHO_CPF )
+        {
+            return -1;
+        }
+
+        long valor = 0;
+
+        for ( int i = 0; i < TAMANHO_CPF; i++ )
+        {
+            char c = cpf.charAt( i );
+
+            if ( c < '0' || c > '9' )
+            {
+                return -1;
+            }
+
+            valor = valor * 10 + ( c - '0' );
+        }
+
+        return valor;
+    }
+
+    static String longParaCpf( long valor )
+    {
+        char[] digitos = new char[ TAMANHO_CPF ];
+
+        for ( int i = TAMANHO_CPF - 1; i >= 0; i-- )
+        {
+            digitos[ i ] = (char) ( '0' + valor % 10 );
+            valor /= 10;
+        }
+
+        return new String( digitos );
+    }
+}
@@ -0,0 +1,19 @@
+package com.cooperativismo.votacao.serializacao;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+public class SerializadorBinario<T> implements Serializer<T>
+{
+    private final CodecBinario<T> codec;
+
+    public SerializadorBinario( CodecBinario<T> codec )
+    {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize( String topic, T data )
+    {
+        return data == null ? null : codec.codificar( data );
+    }
+}
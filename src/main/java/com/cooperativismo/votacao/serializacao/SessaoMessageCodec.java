@@ -0,0 +1,153 @@
+package com.cooperativismo.votacao.serializacao;
+
+import com.cooperativismo.votacao.dto.SessaoMessage;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+/*
+ * Layout (big-endian): mágico, versão, flags, [sessaoId:8], [pautaId:8],
+ * [dataAbertura:12], [dataFechamento:12], operação:1 [operação texto], [timestamp:8].
+ * Datas vão como segundos + nanos do LocalDateTime de origem, sem fuso.
+ */
+public class SessaoMessageCodec implements CodecBinario<SessaoMessage>
+{
+    static final byte VERSAO = 1;
+
+    private static final int SESSAO = 1;
+    private static final int PAUTA = 1 << 1;
+    private static final int ABERTURA = 1 << 2;
+    private static final int FECHAMENTO = 1 << 3;
+    private static final int TIMESTAMP = 1 << 4;
+
+    private static final byte OPERACAO_AUSENTE = 0;
+    private static final byte OPERACAO_ABRIR = 1;
+    private static final byte OPERACAO_FECHAR = 2;
+    private static final byte OPERACAO_TEXTO = 3;
+
+    @Override
+    public byte[] codificar( SessaoMessage mensagem )
+    {
+        byte operacao = codigoOperacao( mensagem.getTipoOperacao() );
+        byte[] operacaoTexto = operacao == OPERACAO_TEXTO ? FormatoBinario.utf8( mensagem.getTipoOperacao() ) : null;
+
+        int flags = 0;
+        int tamanho = 1 + FormatoBinario.tamanhoTexto( operacaoTexto );
+
+        if ( mensagem.getSessaoId() != null )
+        {
+            flags |= SESSAO;
+            tamanho += Long.BYTES;
+        }
+
+        if ( mensagem.getPautaId() != null )
+        {
+            flags |= PAUTA;
+            tamanho += Long.BYTES;
+        }
+
+        if ( mensagem.getDataAbertura() != null )
+        {
+            flags |= ABERTURA;
+            tamanho += FormatoBinario.TAMANHO_DATA_HORA;
+        }
+
+        if ( mensagem.getDataFechamento() != null )
+        {
+            flags |= FECHAMENTO;
+            tamanho += FormatoBinario.TAMANHO_DATA_HORA;
+        }
+
+        if ( mensagem.getTimestamp() != null )
+        {
+            flags |= TIMESTAMP;
+            tamanho += Long.BYTES;
+        }
+
+        ByteBuffer buffer = FormatoBinario.iniciar( tamanho, VERSAO, flags );
+
+        if ( ( flags & SESSAO ) != 0 )
+        {
+            buffer.putLong( mensagem.getSessaoId() );
+        }
+
+        if ( ( flags & PAUTA ) != 0 )
+        {
+            buffer.putLong( mensagem.getPautaId() );
+        }
+
+        if ( ( flags & ABERTURA ) != 0 )
+        {
+            FormatoBinario.escreverDataHora( buffer, mensagem.getDataAbertura() );
+        }
+
+        if ( ( flags & FECHAMENTO ) != 0 )
+        {
+            FormatoBinario.escreverDataHora( buffer, mensagem.getDataFechamento() );
+        }
+
+        buffer.put( operacao );
+
+        if ( operacao == OPERACAO_TEXTO )
+        {
+            FormatoBinario.escreverTexto( buffer, operacaoTexto );
+        }
+
+        if ( ( flags & TIMESTAMP ) != 0 )
+        {
+            buffer.putLong( mensagem.getTimestamp() );
+        }
+
+        return buffer.array();
+    }
+
+    @Override
+    public SessaoMessage decodificar( byte[] dados )
+    {
+        ByteBuffer buffer = FormatoBinario.abrir( dados, VERSAO );
+        int flags = buffer.get();
+
+        Long sessaoId = ( flags & SESSAO ) != 0 ? buffer.getLong() : null;
+        Long pautaId = ( flags & PAUTA ) != 0 ? buffer.getLong() : null;
+        LocalDateTime dataAbertura = ( flags & ABERTURA ) != 0 ? FormatoBinario.lerDataHora( buffer ) : null;
+        LocalDateTime dataFechamento = ( flags & FECHAMENTO ) != 0 ? FormatoBinario.lerDataHora( buffer ) : null;
+        String operacao;
+
+        switch ( buffer.get() )
+        {
+            case OPERACAO_ABRIR:
+                operacao = "ABRIR";
+                break;
+            case OPERACAO_FECHAR:
+                operacao = "FECHAR";
+                break;
+            case OPERACAO_TEXTO:
+                operacao = FormatoBinario.lerTexto( buffer );
+                break;
+            default:
+                operacao = null;
+        }
+
+        Long timestamp = ( flags & TIMESTAMP ) != 0 ? buffer.getLong() : null;
+
+        return new SessaoMessage( sessaoId, pautaId, dataAbertura, dataFechamento, operacao, timestamp );
+    }
+
+    private static byte codigoOperacao( String operacao )
+    {
+        if ( operacao == null )
+        {
+            return OPERACAO_AUSENTE;
+        }
+
+        switch ( operacao )
+        {
+            case "ABRIR":
+                return OPERACAO_ABRIR;
+            case "FECHAR":
+                return OPERACAO_FECHAR;
+            default:
+                return OPERACAO_TEXTO;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.cooperativismo.votacao.serializacao;
+
+import com.cooperativismo.votacao.dto.VotacaoMessage;
+
+import java.nio.ByteBuffer;
+
+/*
+ * Layout (big-endian): mágico, versão, flags (inclusive voto provisório), [sessaoId:8], [pautaId:8],
+ * [cpf:8 | cpf texto], voto:1 [voto texto], [timestamp:8].
+ * Um CPF de 11 dígitos vai como long e o voto SIM/NAO como um byte; valores fora
+ * desse formato seguem como texto para que o consumidor possa rejeitá-los.
+ */
+public class VotacaoMessageCodec implements CodecBinario<VotacaoMessage>
+{
+    static final byte VERSAO = 1;
+
+    private static final int SESSAO = 1;
+    private static final int PAUTA = 1 << 1;
+    private static final int CPF_NUMERICO = 1 << 2;
+    private static final int CPF_TEXTO = 1 << 3;
+    private static final int TIMESTAMP = 1 << 4;
+    private static final int PROVISORIO = 1 << 5;
+
+    private static final byte VOTO_AUSENTE = 0;
+    private static final byte VOTO_SIM = 1;
+    private static final byte VOTO_NAO = 2;
+    private static final byte VOTO_TEXTO = 3;
+
+    @Override
+    public byte[] codificar( VotacaoMessage mensagem )
+    {
+        long cpf = FormatoBinario.cpfParaLong( mensagem.getCpfAssociado() );
+        byte[] cpfTexto = cpf < 0 ? FormatoBinario.utf8( mensagem.getCpfAssociado() ) : null;
+        byte voto = codigoVoto( mensagem.getVoto() );
+        byte[] votoTexto = voto == VOTO_TEXTO ? FormatoBinario.utf8( mensagem.getVoto() ) : null;
+
+        int flags = 0;
+        int tamanho = 1 + FormatoBinario.tamanhoTexto( cpfTexto ) + FormatoBinario.tamanhoTexto( votoTexto );
+
+        if ( mensagem.getSessaoId() != null )
+        {
+            flags |= SESSAO;
+            tamanho += Long.BYTES;
+        }
+
+        if ( mensagem.getPautaId() != null )
+        {
+            flags |= PAUTA;
+            tamanho += Long.BYTES;
+        }
+
+        if ( cpf >= 0 )
+        {
+            flags |= CPF_NUMERICO;
+            tamanho += Long.BYTES;
+        }
+        else if ( cpfTexto != null )
+        {
+            flags |= CPF_TEXTO;
+        }
+
+        if ( mensagem.getTimestamp() != null )
+        {
+            flags |= TIMESTAMP;
+            tamanho += Long.BYTES;
+        }
+
+        if ( mensagem.isProvisorio() )
+        {
+            flags |= PROVISORIO;
+        }
+
+        ByteBuffer buffer = FormatoBinario.iniciar( tamanho, VERSAO, flags );
+
+        if ( ( flags & SESSAO ) != 0 )
+        {
+            buffer.putLong( mensagem.getSessaoId() );
+        }
+
+        if ( ( flags & PAUTA ) != 0 )
+        {
+            buffer.putLong( mensagem.getPautaId() );
+        }
+
+        if ( ( flags & CPF_NUMERICO ) != 0 )
+        {
+            buffer.putLong( cpf );
+        }
+        else if ( ( flags & CPF_TEXTO ) != 0 )
+        {
+            FormatoBinario.escreverTexto( buffer, cpfTexto );
+        }
+
+        buffer.put( voto );
+
+        if ( voto == VOTO_TEXTO )
+        {
+            FormatoBinario.escreverTexto( buffer, votoTexto );
+        }
+
+        if ( ( flags & TIMESTAMP ) != 0 )
+        {
+            buffer.putLong( mensagem.getTimestamp() );
+        }
+
+        return buffer.array();
+    }
+
+    @Override
+    public VotacaoMessage decodificar( byte[] dados )
+    {
+        ByteBuffer buffer = FormatoBinario.abrir( dados, VERSAO );
+        int flags = buffer.get();
+
+        Long sessaoId = ( flags & SESSAO ) != 0 ? buffer.getLong() : null;
+        Long pautaId = ( flags & PAUTA ) != 0 ? buffer.getLong() : null;
+        String cpf = null;
+
+        if ( ( flags & CPF_NUMERICO ) != 0 )
+        {
+            cpf = FormatoBinario.longParaCpf( buffer.getLong() );
+        }
+        else if ( ( flags & CPF_TEXTO ) != 0 )
+        {
+            cpf = FormatoBinario.lerTexto( buffer );
+        }
+
+        String voto;
+
+        switch ( buffer.get() )
+        {
+            case VOTO_SIM:
+                voto = "SIM";
+                break;
+            case VOTO_NAO:
+                voto = "NAO";
+                break;
+            case VOTO_TEXTO:
+                voto = FormatoBinario.lerTexto( buffer );
+                break;
+            default:
+                voto = null;
+        }
+
+        Long timestamp = ( flags & TIMESTAMP ) != 0 ? buffer.getLong() : null;
+
+        return new VotacaoMessage( sessaoId, pautaId, cpf, voto, timestamp, ( flags & PROVISORIO ) != 0 );
+    }
+
+    private static byte codigoVoto( String voto )
+    {
+        if ( voto == null )
+        {
+            return VOTO_AUSENTE;
+        }
+
+        switch ( voto )
+        {
+            case "SIM":
+                return VOTO_SIM;
+            case "NAO":
+                return VOTO_NAO;
+            default:
+                return VOTO_TEXTO;
+        }
+    }
+}
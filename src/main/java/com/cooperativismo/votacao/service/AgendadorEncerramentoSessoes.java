@@ -0,0 +1,193 @@
+package com.cooperativismo.votacao.service;
+
+import com.cooperativismo.votacao.dto.SessaoMessage;
+import com.cooperativismo.votacao.model.SessaoVotacao;
+import com.cooperativismo.votacao.repository.SessaoVotacaoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class AgendadorEncerramentoSessoes
+{
+    static final String LIDERANCA = "encerramento-sessoes";
+
+    private final SessaoVotacaoRepository sessaoVotacaoRepository;
+    private final KafkaService kafkaService;
+    private final EleicaoLider eleicaoLider;
+    private final ScheduledThreadPoolExecutor executor;
+    private final Map<Long, ScheduledFuture<?>> agendados = new ConcurrentHashMap<>();
+
+    public AgendadorEncerramentoSessoes(SessaoVotacaoRepository sessaoVotacaoRepository, KafkaService kafkaService,
+                                        EleicaoLider eleicaoLider)
+    {
+        this.sessaoVotacaoRepository = sessaoVotacaoRepository;
+        this.kafkaService = kafkaService;
+        this.eleicaoLider = eleicaoLider;
+        this.executor = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("encerramento-sessoes-"));
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    // só a líder agenda, para o FECHAR não sair de várias instâncias
+    @EventListener(ApplicationReadyEvent.class)
+    public void candidatar()
+    {
+        if (!eleicaoLider.candidatar(LIDERANCA))
+        {
+            log.info("Agenda de encerramento não reconstruída: outra instância detém a liderança");
+        }
+    }
+
+    // também ao assumir a liderança de uma instância que caiu
+    @EventListener
+    @Transactional(readOnly = true)
+    public void reconstruir(EleicaoLider.LiderancaAssumida lideranca)
+    {
+        if (!LIDERANCA.equals(lideranca.recurso()))
+        {
+            return;
+        }
+
+        int sessoes = 0;
+
+        for (SessaoVotacao sessao : sessaoVotacaoRepository.findByAtivaTrue())
+        {
+            programar(sessao.getId(), sessao.getPauta().getId(), sessao.getDataAbertura(), sessao.getDataFechamento());
+            sessoes++;
+        }
+
+        log.info("Agenda de encerramento reconstruída com {} sessões ativas", sessoes);
+    }
+
+    // sessões abertas em outra instância; as vencidas ficam para a verificação periódica
+    @EventListener
+    @Transactional(readOnly = true)
+    public void completar(EleicaoLider.LiderancaRenovada lideranca)
+    {
+        if (!LIDERANCA.equals(lideranca.recurso()))
+        {
+            return;
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+
+        for (SessaoVotacao sessao : sessaoVotacaoRepository.findByAtivaTrue())
+        {
+            if (!agendados.containsKey(sessao.getId()) && sessao.getDataFechamento().isAfter(agora))
+            {
+                programar(sessao.getId(), sessao.getPauta().getId(), sessao.getDataAbertura(), sessao.getDataFechamento());
+            }
+        }
+    }
+
+    @EventListener
+    public void esvaziar(EleicaoLider.LiderancaPerdida lideranca)
+    {
+        if (!LIDERANCA.equals(lideranca.recurso()))
+        {
+            return;
+        }
+
+        agendados.keySet().forEach(this::cancelar);
+        log.info("Agenda de encerramento esvaziada: a liderança passou para outra instância");
+    }
+
+    public void agendar(Long sessaoId, Long pautaId, LocalDateTime dataAbertura, LocalDateTime dataFechamento)
+    {
+        if (!eleicaoLider.isLider(LIDERANCA))
+        {
+            log.debug("Encerramento da sessão {} fica com a instância líder", sessaoId);
+            return;
+        }
+
+        programar(sessaoId, pautaId, dataAbertura, dataFechamento);
+    }
+
+    public void cancelar(Long sessaoId)
+    {
+        ScheduledFuture<?> agendado = agendados.remove(sessaoId);
+
+        if (agendado != null)
+        {
+            agendado.cancel(false);
+        }
+    }
+
+    public void encerrar(SessaoVotacao sessao)
+    {
+        cancelar(sessao.getId());
+        enviarFechamento(sessao.getId(), sessao.getPauta().getId(), sessao.getDataAbertura(), sessao.getDataFechamento());
+    }
+
+    public int getSessoesAgendadas()
+    {
+        return agendados.size();
+    }
+
+    @PreDestroy
+    public void encerrarAgenda()
+    {
+        executor.shutdownNow();
+    }
+
+    private void programar(Long sessaoId, Long pautaId, LocalDateTime dataAbertura, LocalDateTime dataFechamento)
+    {
+        long atrasoMs = Math.max(0, Duration.between(LocalDateTime.now(), dataFechamento).toMillis());
+
+        // dentro do compute, para um disparo imediato não remover a sessão antes de ela entrar
+        agendados.compute(sessaoId, (id, anterior) ->
+        {
+            if (anterior != null)
+            {
+                anterior.cancel(false);
+            }
+
+            return executor.schedule(() -> disparar(sessaoId, pautaId, dataAbertura, dataFechamento), atrasoMs, TimeUnit.MILLISECONDS);
+        });
+
+        log.debug("Encerramento da sessão {} agendado para {} ({} ms)", sessaoId, dataFechamento, atrasoMs);
+    }
+
+    private void disparar(Long sessaoId, Long pautaId, LocalDateTime dataAbertura, LocalDateTime dataFechamento)
+    {
+        agendados.remove(sessaoId);
+
+        try
+        {
+            enviarFechamento(sessaoId, pautaId, dataAbertura, dataFechamento);
+        }
+        catch (Exception e)
+        {
+            log.error("Erro ao solicitar fechamento da sessão {}; a verificação periódica tentará novamente", sessaoId, e);
+        }
+    }
+
+    private void enviarFechamento(Long sessaoId, Long pautaId, LocalDateTime dataAbertura, LocalDateTime dataFechamento)
+    {
+        log.info("Enviando solicitação para fechar sessão de votação expirada para pauta ID: {}", pautaId);
+
+        SessaoMessage sessaoMessage = new SessaoMessage(
+            sessaoId,
+            pautaId,
+            dataAbertura,
+            dataFechamento,
+            "FECHAR",
+            System.currentTimeMillis()
+        );
+
+        kafkaService.sendMessage("sessao-topic", String.valueOf(pautaId), sessaoMessage);
+    }
+}
@@ -0,0 +1,55 @@
+package com.cooperativismo.votacao.service;
+
+import com.cooperativismo.votacao.config.AmostragemLogConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Sorteia os eventos do caminho do voto que viram log em INFO; as contagens exatas ficam nas métricas
+@Component
+public class AmostragemLog
+{
+    private static final long NANOS_POR_SEGUNDO = TimeUnit.SECONDS.toNanos( 1 );
+
+    private final int aCada;
+    private final int maxPorSegundo;
+    private final AtomicLong segundoAtual = new AtomicLong();
+    private final AtomicInteger registradosNoSegundo = new AtomicInteger();
+
+    public AmostragemLog( AmostragemLogConfig config )
+    {
+        this.aCada = config.getACada();
+        this.maxPorSegundo = config.getMaxPorSegundo();
+    }
+
+    public boolean amostrar()
+    {
+        if ( aCada <= 0 )
+        {
+            return false;
+        }
+
+        if ( aCada > 1 && ThreadLocalRandom.current().nextInt( aCada ) != 0 )
+        {
+            return false;
+        }
+
+        return maxPorSegundo <= 0 || dentroDoLimite();
+    }
+
+    private boolean dentroDoLimite()
+    {
+        long segundo = System.nanoTime() / NANOS_POR_SEGUNDO;
+        long anterior = segundoAtual.get();
+
+        if ( segundo != anterior && segundoAtual.compareAndSet( anterior, segundo ) )
+        {
+            registradosNoSegundo.set( 0 );
+        }
+
+        return registradosNoSegundo.incrementAndGet() <= maxPorSegundo;
+    }
+}
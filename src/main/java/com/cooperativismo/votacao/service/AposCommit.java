@@ -0,0 +1,28 @@
+package com.cooperativismo.votacao.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class AposCommit
+{
+    private AposCommit() {}
+
+    static void executar( Runnable acao )
+    {
+        if ( ! TransactionSynchronizationManager.isSynchronizationActive() )
+        {
+            acao.run();
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronization()
+        {
+            @Override
+            public void afterCommit()
+            {
+                acao.run();
+            }
+        } );
+    }
+}
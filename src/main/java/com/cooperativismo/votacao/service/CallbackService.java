@@ -38,7 +38,7 @@ public class CallbackService
                 Instant.now().toEpochMilli()
             );
             
-            kafkaService.sendMessage("notificacao-topic", mensagem);
+            kafkaService.sendMessage("notificacao-topic", String.valueOf(mensagem.getPautaId()), mensagem);
             
             log.info( "Notificação de sessão encerrada enviada com sucesso" );
         } 
@@ -70,7 +70,7 @@ public class CallbackService
                 Instant.now().toEpochMilli()
             );
             
-            kafkaService.sendMessage("notificacao-topic", mensagem);
+            kafkaService.sendMessage("notificacao-topic", String.valueOf(mensagem.getPautaId()), mensagem);
             
             log.info("Notificação de resultado de votação enviada com sucesso");
         }
@@ -0,0 +1,119 @@
+package com.cooperativismo.votacao.service;
+
+final class ConjuntoLongs
+{
+    private static final long VAZIO = 0L;
+    private static final double FATOR_CARGA = 0.75;
+
+    private long[] chaves;
+    private int tamanho;
+    private boolean contemVazio;
+
+    ConjuntoLongs( int capacidadeInicial )
+    {
+        this.chaves = new long[ potenciaDeDois( (int) Math.ceil( Math.max( 16, capacidadeInicial ) / FATOR_CARGA ) ) ];
+    }
+
+    boolean adicionar( long valor )
+    {
+        if ( valor == VAZIO )
+        {
+            boolean adicionado = ! contemVazio;
+
+            contemVazio = true;
+
+            return adicionado;
+        }
+
+        if ( tamanho + 1 > chaves.length * FATOR_CARGA )
+        {
+            redimensionar();
+        }
+
+        if ( ! inserir( chaves, valor ) )
+        {
+            return false;
+        }
+
+        tamanho++;
+
+        return true;
+    }
+
+    boolean contem( long valor )
+    {
+        if ( valor == VAZIO )
+        {
+            return contemVazio;
+        }
+
+        int mascara = chaves.length - 1;
+
+        for ( int i = posicaoInicial( valor, mascara ); ; i = ( i + 1 ) & mascara )
+        {
+            long atual = chaves[ i ];
+
+            if ( atual == VAZIO )
+            {
+                return false;
+            }
+
+            if ( atual == valor )
+            {
+                return true;
+            }
+        }
+    }
+
+    int tamanho()
+    {
+        return tamanho + ( contemVazio ? 1 : 0 );
+    }
+
+    private void redimensionar()
+    {
+        long[] novasChaves = new long[ chaves.length << 1 ];
+
+        for ( long chave : chaves )
+        {
+            if ( chave != VAZIO )
+            {
+                inserir( novasChaves, chave );
+            }
+        }
+
+        chaves = novasChaves;
+    }
+
+    private static boolean inserir( long[] tabela, long valor )
+    {
+        int mascara = tabela.length - 1;
+
+        for ( int i = posicaoInicial( valor, mascara ); ; i = ( i + 1 ) & mascara )
+        {
+            long atual = tabela[ i ];
+
+            if ( atual == VAZIO )
+            {
+                tabela[ i ] = valor;
+
+                return true;
+            }
+
+            if ( atual == valor )
+            {
+                return false;
+            }
+        }
+    }
+
+    private static int posicaoInicial( long valor, int mascara )
+    {
+        return (int) FiltroBloom.misturar( valor ) & mascara;
+    }
+
+    private static int potenciaDeDois( int valor )
+    {
+        return Integer.highestOneBit( Math.max( 2, valor - 1 ) ) << 1;
+    }
+}
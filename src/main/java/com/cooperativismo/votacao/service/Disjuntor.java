@@ -0,0 +1,133 @@
+package com.cooperativismo.votacao.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+// Janela deslizante das últimas chamadas; resultados de uma geração anterior do estado são ignorados
+final class Disjuntor
+{
+    enum Estado
+    {
+        FECHADO, ABERTO, MEIO_ABERTO
+    }
+
+    static final long RECUSADO = -1;
+
+    private final boolean[] falhas;
+    private final int minimoChamadas;
+    private final int limiarFalhasPercentual;
+    private final long aberturaNanos;
+    private final int chamadasTeste;
+    private final BiConsumer<Estado, Estado> aoTransitar;
+
+    private Estado estado = Estado.FECHADO;
+    private long geracao;
+    private int posicao;
+    private int registradas;
+    private int falhasNaJanela;
+    private long reabreEm;
+    private int testesConcedidos;
+    private int testesComSucesso;
+
+    Disjuntor( int janela, int minimoChamadas, int limiarFalhasPercentual, long aberturaMs, int chamadasTeste,
+               BiConsumer<Estado, Estado> aoTransitar )
+    {
+        this.falhas = new boolean[ janela ];
+        this.minimoChamadas = Math.min( minimoChamadas, janela );
+        this.limiarFalhasPercentual = limiarFalhasPercentual;
+        this.aberturaNanos = TimeUnit.MILLISECONDS.toNanos( aberturaMs );
+        this.chamadasTeste = chamadasTeste;
+        this.aoTransitar = aoTransitar;
+    }
+
+    synchronized long permitir()
+    {
+        if ( estado == Estado.ABERTO )
+        {
+            if ( System.nanoTime() - reabreEm < 0 )
+            {
+                return RECUSADO;
+            }
+
+            transitar( Estado.MEIO_ABERTO );
+        }
+
+        if ( estado == Estado.MEIO_ABERTO )
+        {
+            if ( testesConcedidos >= chamadasTeste )
+            {
+                return RECUSADO;
+            }
+
+            testesConcedidos++;
+        }
+
+        return geracao;
+    }
+
+    synchronized void registrar( long geracaoPermitida, boolean falhou )
+    {
+        if ( geracaoPermitida != geracao )
+        {
+            return;
+        }
+
+        if ( estado == Estado.MEIO_ABERTO )
+        {
+            if ( falhou )
+            {
+                abrir();
+            }
+            else if ( ++testesComSucesso >= chamadasTeste )
+            {
+                transitar( Estado.FECHADO );
+            }
+
+            return;
+        }
+
+        if ( registradas == falhas.length )
+        {
+            falhasNaJanela -= falhas[ posicao ] ? 1 : 0;
+        }
+        else
+        {
+            registradas++;
+        }
+
+        falhas[ posicao ] = falhou;
+        falhasNaJanela += falhou ? 1 : 0;
+        posicao = ( posicao + 1 ) % falhas.length;
+
+        if ( registradas >= minimoChamadas && falhasNaJanela * 100L >= (long) limiarFalhasPercentual * registradas )
+        {
+            abrir();
+        }
+    }
+
+    synchronized Estado getEstado()
+    {
+        return estado;
+    }
+
+    private void abrir()
+    {
+        reabreEm = System.nanoTime() + aberturaNanos;
+        transitar( Estado.ABERTO );
+    }
+
+    private void transitar( Estado novo )
+    {
+        Estado anterior = estado;
+
+        estado = novo;
+        geracao++;
+        posicao = 0;
+        registradas = 0;
+        falhasNaJanela = 0;
+        testesConcedidos = 0;
+        testesComSucesso = 0;
+
+        aoTransitar.accept( anterior, novo );
+    }
+}
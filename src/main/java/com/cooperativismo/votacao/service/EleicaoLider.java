@@ -0,0 +1,191 @@
+package com.cooperativismo.votacao.service;
+
+import com.cooperativismo.votacao.model.Lideranca;
+import com.cooperativismo.votacao.repository.LiderancaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class EleicaoLider
+{
+    // publicado quando a instância passa a liderar o recurso (na primeira concessão ou ao assumir a de outra)
+    public record LiderancaAssumida(String recurso) {}
+
+    // publicado a cada renovação bem-sucedida de uma liderança que a instância já detinha
+    public record LiderancaRenovada(String recurso) {}
+
+    public record LiderancaPerdida(String recurso) {}
+
+    private final LiderancaRepository liderancaRepository;
+    private final TransactionTemplate transacao;
+    private final ApplicationEventPublisher eventos;
+    private final String instancia;
+    private final Duration duracao;
+    private final Set<String> recursosDisputados = ConcurrentHashMap.newKeySet();
+    private final Set<String> recursosLiderados = ConcurrentHashMap.newKeySet();
+
+    public EleicaoLider(LiderancaRepository liderancaRepository,
+                        PlatformTransactionManager transactionManager,
+                        ApplicationEventPublisher eventos,
+                        @Value("${votacao.lideranca.instancia:}") String instancia,
+                        @Value("${votacao.lideranca.duracao-ms:30000}") long duracaoMs,
+                        @Value("${votacao.lideranca.renovacao-ms:10000}") long renovacaoMs)
+    {
+        if (renovacaoMs >= duracaoMs)
+        {
+            throw new IllegalStateException("votacao.lideranca.renovacao-ms deve ser menor que votacao.lideranca.duracao-ms");
+        }
+
+        this.liderancaRepository = liderancaRepository;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventos = eventos;
+        this.instancia = instancia.isBlank() ? nomeDoHost() : instancia;
+        this.duracao = Duration.ofMillis(duracaoMs);
+    }
+
+    // passa a disputar o recurso a cada renovação; a primeira tentativa é feita na hora
+    public boolean candidatar(String recurso)
+    {
+        recursosDisputados.add(recurso);
+
+        return adquirir(recurso);
+    }
+
+    // a líder renova bem antes de vencer; se cair sem liberar, outra assume em até duracao-ms
+    @Scheduled(fixedDelayString = "${votacao.lideranca.renovacao-ms:10000}", initialDelayString = "${votacao.lideranca.renovacao-ms:10000}")
+    public void renovar()
+    {
+        for (String recurso : recursosDisputados)
+        {
+            try
+            {
+                adquirir(recurso);
+            }
+            catch (Exception e)
+            {
+                log.warn("Não foi possível renovar a liderança de {}", recurso, e);
+            }
+        }
+    }
+
+    public boolean adquirir(String recurso)
+    {
+        boolean lider;
+
+        try
+        {
+            lider = Boolean.TRUE.equals(transacao.execute(status -> renovarOuTomar(recurso)));
+        }
+        catch (DataIntegrityViolationException e)
+        {
+            // outra instância criou a linha do recurso ao mesmo tempo e ficou com a concessão
+            lider = false;
+        }
+
+        if (lider && recursosLiderados.add(recurso))
+        {
+            log.info("Instância {} assumiu a liderança de {}", instancia, recurso);
+            eventos.publishEvent(new LiderancaAssumida(recurso));
+        }
+        else if (lider)
+        {
+            eventos.publishEvent(new LiderancaRenovada(recurso));
+        }
+        else if (recursosLiderados.remove(recurso))
+        {
+            log.info("Instância {} perdeu a liderança de {}", instancia, recurso);
+            eventos.publishEvent(new LiderancaPerdida(recurso));
+        }
+
+        return lider;
+    }
+
+    public boolean isLider(String recurso)
+    {
+        return recursosLiderados.contains(recurso);
+    }
+
+    public String getInstancia()
+    {
+        return instancia;
+    }
+
+    @PreDestroy
+    public void liberar()
+    {
+        recursosDisputados.clear();
+
+        for (String recurso : recursosLiderados)
+        {
+            try
+            {
+                transacao.executeWithoutResult(status -> liderancaRepository.bloquear(recurso)
+                        .filter(lideranca -> lideranca.pertenceA(instancia, LocalDateTime.now()))
+                        .ifPresent(lideranca -> lideranca.liberar(LocalDateTime.now())));
+            }
+            catch (Exception e)
+            {
+                log.warn("Não foi possível liberar a liderança de {}; ela expira em até {}", recurso, duracao, e);
+            }
+        }
+
+        recursosLiderados.clear();
+    }
+
+    private boolean renovarOuTomar(String recurso)
+    {
+        LocalDateTime agora = LocalDateTime.now();
+        Optional<Lideranca> atual = liderancaRepository.bloquear(recurso);
+
+        if (atual.isEmpty())
+        {
+            liderancaRepository.saveAndFlush(Lideranca.builder()
+                                                      .recurso(recurso)
+                                                      .instancia(instancia)
+                                                      .expiraEm(agora.plus(duracao))
+                                                      .build());
+            return true;
+        }
+
+        Lideranca lideranca = atual.get();
+
+        if (!lideranca.pertenceA(instancia, agora) && !lideranca.estaLivre(agora))
+        {
+            return false;
+        }
+
+        lideranca.conceder(instancia, agora.plus(duracao));
+
+        return true;
+    }
+
+    // nome estável entre reinícios; no mesmo host, use votacao.lideranca.instancia distintos
+    private static String nomeDoHost()
+    {
+        try
+        {
+            return InetAddress.getLocalHost().getHostName();
+        }
+        catch (Exception e)
+        {
+            return "desconhecido";
+        }
+    }
+}
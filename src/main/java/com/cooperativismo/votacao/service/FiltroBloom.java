@@ -0,0 +1,67 @@
+package com.cooperativismo.votacao.service;
+
+final class FiltroBloom
+{
+    private final long[] bits;
+    private final int quantidadeBits;
+    private final int quantidadeHashes;
+
+    FiltroBloom( int capacidadeEsperada, double taxaFalsoPositivo )
+    {
+        int capacidade = Math.max( 1, capacidadeEsperada );
+        long bitsNecessarios = (long) Math.ceil( - capacidade * Math.log( taxaFalsoPositivo ) / ( Math.log( 2 ) * Math.log( 2 ) ) );
+
+        this.quantidadeBits = (int) Math.max( 64, Math.min( bitsNecessarios, Integer.MAX_VALUE - 63 ) );
+        this.quantidadeHashes = Math.max( 1, (int) Math.round( (double) quantidadeBits / capacidade * Math.log( 2 ) ) );
+        this.bits = new long[ ( quantidadeBits + 63 ) >>> 6 ];
+    }
+
+    void adicionar( long valor )
+    {
+        long hash = misturar( valor );
+        int h1 = (int) hash;
+        int h2 = (int) ( hash >>> 32 );
+
+        for ( int i = 0; i < quantidadeHashes; i++ )
+        {
+            int posicao = indice( h1 + i * h2 );
+
+            bits[ posicao >>> 6 ] |= 1L << posicao;
+        }
+    }
+
+    boolean talvezContenha( long valor )
+    {
+        long hash = misturar( valor );
+        int h1 = (int) hash;
+        int h2 = (int) ( hash >>> 32 );
+
+        for ( int i = 0; i < quantidadeHashes; i++ )
+        {
+            int posicao = indice( h1 + i * h2 );
+
+            if ( ( bits[ posicao >>> 6 ] & ( 1L << posicao ) ) == 0 )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int indice( int hash )
+    {
+        return ( hash & Integer.MAX_VALUE ) % quantidadeBits;
+    }
+
+    static long misturar( long valor )
+    {
+        valor ^= valor >>> 33;
+        valor *= 0xff51afd7ed558ccdL;
+        valor ^= valor >>> 33;
+        valor *= 0xc4ceb9fe1a85ec53L;
+        valor ^= valor >>> 33;
+
+        return valor;
+    }
+}
@@ -6,11 +6,17 @@ import com.cooperativismo.votacao.dto.ResultadoMessage;
 import com.cooperativismo.votacao.dto.ResultadoVotacaoDTO;
 import com.cooperativismo.votacao.dto.SessaoMessage;
 import com.cooperativismo.votacao.dto.VotacaoMessage;
+import com.cooperativismo.votacao.exception.ValidacaoCpfIndisponivelException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Set;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -20,16 +26,24 @@ public class KafkaConsumerService
     private final PautaService pautaService;
     private final SessaoVotacaoService sessaoVotacaoService;
     private final CallbackService callbackService;
+    private final AmostragemLog amostragemLog;
 
-    @KafkaListener(topics = "votacao-topic", groupId = "votacao-group")
+    @KafkaListener(id = "votacao", topics = "votacao-topic", groupId = "votacao-group",
+                   autoStartup = "#{!${votacao.kafka.votacao.lote.enabled:false}}")
     public void processarVotacao(VotacaoMessage message)
     {
         try
         {
-            log.info("Processando votação recebida: {}", message);
-            votoService.processarVoto(message);
-            log.info("Votação processada com sucesso");
+            log.debug("Processando votação recebida: {}", message);
+            votoService.processarVoto(message, votoService.conferirProvisorios(List.of(message)));
         } 
+        catch (DataIntegrityViolationException e)
+        {
+            if (amostragemLog.amostrar())
+            {
+                log.warn("O associado {} já votou na pauta {}", message.getCpfAssociado(), message.getPautaId());
+            }
+        }
         catch (Exception e)
         {
             log.error("Erro ao processar votação: {}", message, e);
@@ -37,7 +51,86 @@ public class KafkaConsumerService
         }
     }
 
-    @KafkaListener(topics = "pauta-topic", groupId = "votacao-group")
+    @KafkaListener(id = "votacao-lote", topics = "votacao-topic", groupId = "votacao-group",
+                   containerFactory = "votacaoLoteListenerContainerFactory",
+                   autoStartup = "${votacao.kafka.votacao.lote.enabled:false}")
+    public void processarVotacaoLote(List<VotacaoMessage> messages)
+    {
+        Set<String> provisoriosInaptos;
+        
+        try
+        {
+            provisoriosInaptos = votoService.conferirProvisorios(messages);
+        }
+        catch (ValidacaoCpfIndisponivelException e)
+        {
+            // grava o que vem antes do primeiro voto provisório; ele e os seguintes esperam a validação voltar
+            int primeiroProvisorio = primeiroProvisorio(messages);
+            
+            if (primeiroProvisorio > 0)
+            {
+                processarLote(messages.subList(0, primeiroProvisorio), Set.of());
+            }
+            
+            throw new BatchListenerFailedException("Validação de CPF indisponível", e, primeiroProvisorio);
+        }
+        
+        processarLote(messages, provisoriosInaptos);
+    }
+    
+    private void processarLote(List<VotacaoMessage> messages, Set<String> provisoriosInaptos)
+    {
+        try
+        {
+            log.debug("Processando lote de {} votações recebidas", messages.size());
+            votoService.processarVotosEmLote(messages, provisoriosInaptos);
+        }
+        catch (DataIntegrityViolationException e)
+        {
+            log.warn("Conflito ao gravar lote de votações, reprocessando {} mensagens individualmente", messages.size());
+            
+            for (int indice = 0; indice < messages.size(); indice++)
+            {
+                processarVotacaoIsolada(messages.get(indice), indice, provisoriosInaptos);
+            }
+        }
+    }
+    
+    private static int primeiroProvisorio(List<VotacaoMessage> messages)
+    {
+        for (int indice = 0; indice < messages.size(); indice++)
+        {
+            if (messages.get(indice).isProvisorio())
+            {
+                return indice;
+            }
+        }
+        
+        return 0;
+    }
+
+    // cada voto em sua transação: os anteriores à falha já estão gravados
+    private void processarVotacaoIsolada(VotacaoMessage message, int indice, Set<String> provisoriosInaptos)
+    {
+        try
+        {
+            votoService.processarVoto(message, provisoriosInaptos);
+        }
+        catch (DataIntegrityViolationException e)
+        {
+            if (amostragemLog.amostrar())
+            {
+                log.warn("O associado {} já votou na pauta {}", message.getCpfAssociado(), message.getPautaId());
+            }
+        }
+        catch (Exception e)
+        {
+            log.error("Erro ao processar votação: {}", message, e);
+            throw new BatchListenerFailedException("Erro ao processar votação", e, indice);
+        }
+    }
+
+    @KafkaListener(id = "pauta", topics = "pauta-topic", groupId = "votacao-group")
     public void processarPauta(PautaMessage message)
     {
         try 
@@ -53,7 +146,7 @@ public class KafkaConsumerService
         }
     }
 
-    @KafkaListener(topics = "sessao-topic", groupId = "votacao-group")
+    @KafkaListener(id = "sessao", topics = "sessao-topic", groupId = "votacao-group")
     public void processarSessao(SessaoMessage message)
     {
         try
@@ -69,7 +162,7 @@ public class KafkaConsumerService
         }
     }
 
-    @KafkaListener(topics = "resultado-topic", groupId = "votacao-group")
+    @KafkaListener(id = "resultado", topics = "resultado-topic", groupId = "votacao-group")
     public void processarResultado(ResultadoMessage message)
     {
         try
@@ -84,7 +177,7 @@ public class KafkaConsumerService
         }
     }
 
-    @KafkaListener(topics = "notificacao-topic", groupId = "notificacao-group")
+    @KafkaListener(id = "notificacao", topics = "notificacao-topic", groupId = "notificacao-group")
     public void processarNotificacao( NotificacaoMessage message )
     {
         try
@@ -1,31 +1,100 @@
 package com.cooperativismo.votacao.service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class KafkaService
 {
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public KafkaService( KafkaTemplate<String, Object> kafkaTemplate, MeterRegistry meterRegistry )
+    {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+    }
 
-    public void sendMessage( String topic, Object message )
+    public CompletableFuture<SendResult<String, Object>> sendMessage( String topic, Object message )
     {
+        return sendMessage( topic, null, message );
+    }
+
+    // sem reenvio aqui: o produtor idempotente já reenvia sem quebrar a ordem da partição
+    public CompletableFuture<SendResult<String, Object>> sendMessage( String topic, String key, Object message )
+    {
+        long inicio = System.nanoTime();
+        CompletableFuture<SendResult<String, Object>> envio;
+
         try
         {
-            kafkaTemplate.send( topic, message );
-
-            log.info( "Mensagem enviada com sucesso para o tópico: {}", topic );
+            envio = kafkaTemplate.send( topic, key, message ).completable();
         }
-
         catch ( Exception e )
         {
-            log.error("Erro ao enviar mensagem para o tópico: {}", topic, e );
-
-            throw new RuntimeException("Erro ao enviar mensagem para o Kafka", e );
+            envio = CompletableFuture.failedFuture( e );
         }
+
+        return envio.whenComplete( ( sendResult, erro ) ->
+        {
+            if ( erro == null )
+            {
+                registrarEnvio( topic, "sucesso", inicio );
+
+                log.debug( "Mensagem enviada com sucesso para o tópico: {} (partição {}, offset {})",
+                           topic, sendResult.getRecordMetadata().partition(), sendResult.getRecordMetadata().offset() );
+
+                return;
+            }
+
+            Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+
+            registrarEnvio( topic, "falha", inicio );
+
+            Counter.builder( "votacao.kafka.envio.falhas" )
+                   .description( "Mensagens que não puderam ser entregues ao Kafka" )
+                   .tag( "topico", topic )
+                   .tag( "excecao", causa.getClass().getSimpleName() )
+                   .register( meterRegistry )
+                   .increment();
+
+            log.error( "Erro ao enviar mensagem para o tópico: {}", topic, causa );
+        } );
+    }
+
+    public CompletableFuture<Void> sendAll( String topic, Collection<?> messages )
+    {
+        return sendAll( topic, messages, message -> null );
+    }
+
+    public <T> CompletableFuture<Void> sendAll( String topic, Collection<T> messages, Function<T, String> key )
+    {
+        CompletableFuture<?>[] envios = messages.stream()
+                                                .map( message -> sendMessage( topic, key.apply( message ), message ) )
+                                                .toArray( CompletableFuture[]::new );
+
+        return CompletableFuture.allOf( envios );
+    }
+
+    private void registrarEnvio( String topic, String situacao, long inicio )
+    {
+        Timer.builder( "votacao.kafka.envio" )
+             .description( "Latência do envio de mensagens ao Kafka até a confirmação do broker" )
+             .tag( "topico", topic )
+             .tag( "resultado", situacao )
+             .register( meterRegistry )
+             .record( System.nanoTime() - inicio, TimeUnit.NANOSECONDS );
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package com.cooperativismo.votacao.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Soma, por tópico, o records-lag das partições atribuídas aos consumidores em execução
+@Component
+@RequiredArgsConstructor
+public class LagConsumidoresKafka
+{
+    private static final String GRUPO_METRICAS = "consumer-fetch-manager-metrics";
+    private static final String LAG = "records-lag";
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @EventListener( ApplicationReadyEvent.class )
+    public void registrar()
+    {
+        Set<String> topicos = new TreeSet<>();
+
+        for ( MessageListenerContainer container : listenerRegistry.getListenerContainers() )
+        {
+            String[] topicosContainer = container.getContainerProperties().getTopics();
+
+            if ( topicosContainer != null )
+            {
+                topicos.addAll( Arrays.asList( topicosContainer ) );
+            }
+        }
+
+        for ( String topico : topicos )
+        {
+            Gauge.builder( "votacao.kafka.consumidor.lag", this, lag -> lag.somar( topico ) )
+                 .description( "Mensagens ainda não consumidas do tópico, somando as partições atribuídas a esta instância" )
+                 .baseUnit( "mensagens" )
+                 .tag( "topico", topico )
+                 .register( meterRegistry );
+        }
+    }
+
+    double somar( String topico )
+    {
+        double total = 0;
+
+        for ( MessageListenerContainer container : listenerRegistry.getListenerContainers() )
+        {
+            if ( ! container.isRunning() )
+            {
+                continue;
+            }
+
+            for ( Map<MetricName, ? extends Metric> metricas : container.metrics().values() )
+            {
+                for ( Map.Entry<MetricName, ? extends Metric> metrica : metricas.entrySet() )
+                {
+                    MetricName nome = metrica.getKey();
+
+                    if ( LAG.equals( nome.name() ) && GRUPO_METRICAS.equals( nome.group() ) && topico.equals( nome.tags().get( "topic" ) )
+                         && metrica.getValue().metricValue() instanceof Number valor && ! Double.isNaN( valor.doubleValue() ) )
+                    {
+                        total += valor.doubleValue();
+                    }
+                }
+            }
+        }
+
+        return total;
+    }
+}
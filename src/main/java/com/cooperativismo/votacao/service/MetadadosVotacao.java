@@ -0,0 +1,96 @@
+package com.cooperativismo.votacao.service;
+
+import com.cooperativismo.votacao.repository.PautaRepository;
+import com.cooperativismo.votacao.repository.ResumoSessao;
+import com.cooperativismo.votacao.repository.SessaoVotacaoRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Só resultados positivos ficam no cache: a pauta pode ter sido criada em outra instância
+@Component
+public class MetadadosVotacao
+{
+    private final PautaRepository pautaRepository;
+    private final SessaoVotacaoRepository sessaoVotacaoRepository;
+    private final Cache<Long, Boolean> pautas;
+    private final Cache<Long, ResumoSessao> sessoes;
+
+    public MetadadosVotacao( PautaRepository pautaRepository,
+                             SessaoVotacaoRepository sessaoVotacaoRepository,
+                             MeterRegistry meterRegistry,
+                             @Value( "${votacao.metadados.tamanho-maximo:10000}" ) long tamanhoMaximo,
+                             @Value( "${votacao.metadados.ttl-ms:60000}" ) long ttlMs )
+    {
+        this.pautaRepository = pautaRepository;
+        this.sessaoVotacaoRepository = sessaoVotacaoRepository;
+        this.pautas = criarCache( tamanhoMaximo, ttlMs );
+        this.sessoes = criarCache( tamanhoMaximo, ttlMs );
+
+        CaffeineCacheMetrics.monitor( meterRegistry, pautas, "votacao.pautas" );
+        CaffeineCacheMetrics.monitor( meterRegistry, sessoes, "votacao.sessoes" );
+    }
+
+    public boolean pautaExiste( Long pautaId )
+    {
+        return pautas.get( pautaId, id -> pautaRepository.existsById( id ) ? Boolean.TRUE : null ) != null;
+    }
+
+    public Collection<Long> pautasExistentes( Collection<Long> pautaIds )
+    {
+        return pautas.getAll( pautaIds, faltantes -> pautaRepository.findIdsExistentes( paraLista( faltantes ) ).stream()
+                                                                    .collect( Collectors.toMap( Function.identity(), id -> Boolean.TRUE ) ) )
+                     .keySet();
+    }
+
+    public Optional<ResumoSessao> obterSessao( Long pautaId )
+    {
+        return Optional.ofNullable( sessoes.get( pautaId, id -> sessaoVotacaoRepository.findResumoByPautaId( id ).orElse( null ) ) );
+    }
+
+    public Map<Long, ResumoSessao> obterSessoes( Collection<Long> pautaIds )
+    {
+        return sessoes.getAll( pautaIds, faltantes -> sessaoVotacaoRepository.findResumosByPautaIdIn( paraLista( faltantes ) ).stream()
+                                                                             .collect( Collectors.toMap( ResumoSessao::pautaId, Function.identity() ) ) );
+    }
+
+    public void registrarPauta( Long pautaId )
+    {
+        pautas.put( pautaId, Boolean.TRUE );
+    }
+
+    public void invalidarSessao( Long pautaId )
+    {
+        sessoes.invalidate( pautaId );
+    }
+
+    private static <V> Cache<Long, V> criarCache( long tamanhoMaximo, long ttlMs )
+    {
+        return Caffeine.newBuilder()
+                       .maximumSize( tamanhoMaximo )
+                       .expireAfterWrite( Duration.ofMillis( ttlMs ) )
+                       .recordStats()
+                       .build();
+    }
+
+    private static List<Long> paraLista( Iterable<? extends Long> ids )
+    {
+        List<Long> lista = new ArrayList<>();
+
+        ids.forEach( lista::add );
+
+        return lista;
+    }
+}
@@ -0,0 +1,106 @@
+package com.cooperativismo.votacao.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Medidores do caminho do voto e das sessões, registrados uma vez só
+@Component
+public class MetricasVotacao
+{
+    public enum Desfecho
+    {
+        ACEITO, DUPLICADO, SESSAO_ENCERRADA, SEM_SESSAO, PAUTA_INEXISTENTE, OPCAO_INVALIDA, PROVISORIO_DESCARTADO
+    }
+
+    private static final String OUTRA_OPERACAO = "OUTRA";
+
+    private final Map<Desfecho, Counter> desfechos = new EnumMap<>( Desfecho.class );
+    private final Map<String, Timer> processamentoSessao;
+    private final Timer registroVoto;
+    private final Timer processamentoVoto;
+    private final Timer processamentoLote;
+    private final Timer consultaResultado;
+
+    public MetricasVotacao( MeterRegistry meterRegistry )
+    {
+        for ( Desfecho desfecho : Desfecho.values() )
+        {
+            desfechos.put( desfecho, Counter.builder( "votacao.votos.processados" )
+                                            .description( "Votos consumidos do Kafka por desfecho" )
+                                            .tag( "resultado", desfecho.name().toLowerCase() )
+                                            .register( meterRegistry ) );
+        }
+
+        this.processamentoSessao = Map.of( "ABRIR", timerSessao( meterRegistry, "abrir" ),
+                                           "FECHAR", timerSessao( meterRegistry, "fechar" ),
+                                           OUTRA_OPERACAO, timerSessao( meterRegistry, "outra" ) );
+
+        this.registroVoto = Timer.builder( "votacao.votos.registro" )
+                                 .description( "Validação e publicação de um voto na requisição" )
+                                 .register( meterRegistry );
+
+        this.processamentoVoto = Timer.builder( "votacao.votos.processamento" )
+                                      .description( "Processamento de votos consumidos do Kafka" )
+                                      .tag( "modo", "individual" )
+                                      .register( meterRegistry );
+
+        this.processamentoLote = Timer.builder( "votacao.votos.processamento" )
+                                      .description( "Processamento de votos consumidos do Kafka" )
+                                      .tag( "modo", "lote" )
+                                      .register( meterRegistry );
+
+        this.consultaResultado = Timer.builder( "votacao.resultado.consulta" )
+                                      .description( "Montagem do resultado da votação de uma pauta" )
+                                      .register( meterRegistry );
+    }
+
+    public void contar( Desfecho desfecho )
+    {
+        desfechos.get( desfecho ).increment();
+    }
+
+    public void contar( Desfecho desfecho, int quantidade )
+    {
+        desfechos.get( desfecho ).increment( quantidade );
+    }
+
+    public Timer registroVoto()
+    {
+        return registroVoto;
+    }
+
+    public Timer processamentoVoto()
+    {
+        return processamentoVoto;
+    }
+
+    public Timer processamentoLote()
+    {
+        return processamentoLote;
+    }
+
+    public Timer consultaResultado()
+    {
+        return consultaResultado;
+    }
+
+    public Timer processamentoSessao( String tipoOperacao )
+    {
+        Timer timer = tipoOperacao != null ? processamentoSessao.get( tipoOperacao ) : null;
+
+        return timer != null ? timer : processamentoSessao.get( OUTRA_OPERACAO );
+    }
+
+    private static Timer timerSessao( MeterRegistry meterRegistry, String operacao )
+    {
+        return Timer.builder( "votacao.sessoes.processamento" )
+                    .description( "Processamento de mensagens de abertura e fechamento de sessão" )
+                    .tag( "operacao", operacao )
+                    .register( meterRegistry );
+    }
+}
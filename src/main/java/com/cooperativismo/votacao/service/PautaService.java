@@ -2,31 +2,61 @@ package com.cooperativismo.votacao.service;
 
 import com.cooperativismo.votacao.dto.PautaDTO;
 import com.cooperativismo.votacao.dto.PautaMessage;
+import com.cooperativismo.votacao.exception.BusinessException;
 import com.cooperativismo.votacao.exception.ResourceNotFoundException;
 import com.cooperativismo.votacao.model.Pauta;
 import com.cooperativismo.votacao.repository.PautaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PautaService
 {
+    public static final int LIMITE_MAXIMO_PAGINA = 500;
+
+    private static final LocalDateTime INICIO = LocalDateTime.of( 1970, 1, 1, 0, 0 );
+
     private final PautaRepository pautaRepository;
     private final KafkaService kafkaService;
+    private final MetadadosVotacao metadadosVotacao;
 
     @Transactional( readOnly = true )
-    public List<PautaDTO> listarPautas() 
+    public List<PautaDTO> listarPautas( Long apos, int limite, LocalDateTime desde )
     {
-        log.info("Listando todas as pautas");
+        log.info( "Listando pautas após o ID {} (limite {}, desde {})", apos, limite, desde );
+
+        if ( limite < 1 || limite > LIMITE_MAXIMO_PAGINA )
+        {
+            throw new BusinessException( "O limite da página deve estar entre 1 e " + LIMITE_MAXIMO_PAGINA );
+        }
 
-        return pautaRepository.findAll().stream().map( PautaDTO::convertToDto ).collect( Collectors.toList() );
+        return pautaRepository.findPagina( apos != null ? apos : 0L, desdeOuInicio( desde ), PageRequest.of( 0, limite ) );
+    }
+
+    @Transactional( readOnly = true )
+    public void exportarPautas( LocalDateTime desde, Consumer<PautaDTO> destino )
+    {
+        log.info( "Exportando pautas desde {}", desde );
+
+        try ( Stream<PautaDTO> pautas = pautaRepository.streamDesde( desdeOuInicio( desde ) ) )
+        {
+            pautas.forEach( destino );
+        }
+    }
+
+    private static LocalDateTime desdeOuInicio( LocalDateTime desde )
+    {
+        return desde != null ? desde : INICIO;
     }
 
     @Transactional(readOnly = true)
@@ -34,9 +64,7 @@ public class PautaService
     {
         log.info( "Buscando pauta com ID: {}", id );
 
-        Pauta pauta = pautaRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException( "Pauta", id ) );
-
-        return PautaDTO.convertToDto( pauta );
+        return pautaRepository.findDtoById( id ).orElseThrow( () -> new ResourceNotFoundException( "Pauta", id ) );
     }
 
     @Transactional
@@ -88,6 +116,9 @@ public class PautaService
             
             pauta = pautaRepository.save( pauta );
 
+            Long pautaId = pauta.getId();
+            AposCommit.executar( () -> metadadosVotacao.registrarPauta( pautaId ) );
+
             log.info( "Pauta criada com ID: {}", pauta.getId() );
         } 
     }
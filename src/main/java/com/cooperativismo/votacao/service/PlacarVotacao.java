@@ -0,0 +1,317 @@
+package com.cooperativismo.votacao.service;
+
+import com.cooperativismo.votacao.model.Voto;
+import com.cooperativismo.votacao.model.Voto.OpcaoVoto;
+import com.cooperativismo.votacao.repository.VotoRepository;
+import com.cooperativismo.votacao.repository.VotosPorOpcao;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class PlacarVotacao
+{
+    private static final Contagem VAZIA = new Contagem( 0, 0 );
+
+    private final VotoRepository votoRepository;
+    private final boolean habilitado;
+    private final long validadeNanos;
+    private final long ociosidadeNanos;
+
+    private final Map<Long, Contador> contadores = new ConcurrentHashMap<>();
+
+    public PlacarVotacao( VotoRepository votoRepository,
+                          @Value( "${votacao.placar.enabled:true}" ) boolean habilitado,
+                          @Value( "${votacao.placar.validade-ms:10000}" ) long validadeMs,
+                          @Value( "${votacao.placar.ociosidade-ms:60000}" ) long ociosidadeMs )
+    {
+        this.votoRepository = votoRepository;
+        this.habilitado = habilitado;
+        this.validadeNanos = TimeUnit.MILLISECONDS.toNanos( validadeMs );
+        this.ociosidadeNanos = TimeUnit.MILLISECONDS.toNanos( ociosidadeMs );
+    }
+
+    @EventListener( ApplicationReadyEvent.class )
+    public void reconstruir()
+    {
+        if ( ! habilitado )
+        {
+            log.info( "Placar em memória desabilitado, resultados serão contados no banco" );
+
+            return;
+        }
+
+        Map<Long, Contagem> carregados = agrupar( votoRepository.contarVotosPorOpcaoDeSessoesAtivas() );
+
+        // consumidores podem ter carregado e incrementado uma pauta antes deste evento; esse contador prevalece
+        carregados.forEach( ( id, contagem ) -> contadores.putIfAbsent( id, new Contador( contagem ) ) );
+
+        log.info( "Placar reconstruído para {} pautas com sessão ativa", carregados.size() );
+    }
+
+    // só remove as pautas ociosas; a recontagem é feita na leitura
+    @Scheduled( fixedDelayString = "${votacao.placar.ociosidade-ms:60000}", initialDelayString = "${votacao.placar.ociosidade-ms:60000}" )
+    public void atualizar()
+    {
+        if ( ! habilitado )
+        {
+            return;
+        }
+
+        long agora = System.nanoTime();
+
+        contadores.values().removeIf( contador -> contador.ocioso( agora, ociosidadeNanos ) );
+
+        log.debug( "Placar com {} pautas", contadores.size() );
+    }
+
+    public Contagem obterContagem( Long pautaId )
+    {
+        if ( ! habilitado )
+        {
+            return contar( pautaId );
+        }
+
+        Contador contador = contadores.get( pautaId );
+
+        if ( contador == null )
+        {
+            return armazenar( pautaId, new Contador( contar( pautaId ) ) ).contagem();
+        }
+
+        if ( contador.iniciarConferencia( System.nanoTime(), validadeNanos ) )
+        {
+            conferir( contador, () -> contar( pautaId ) );
+        }
+
+        return contador.contagem();
+    }
+
+    public Map<Long, Contagem> obterContagens( Collection<Long> pautaIds )
+    {
+        if ( ! habilitado )
+        {
+            Map<Long, Contagem> carregados = agrupar( votoRepository.contarVotosPorOpcaoDasPautas( pautaIds ) );
+
+            return pautaIds.stream().distinct().collect( Collectors.toMap( id -> id, id -> carregados.getOrDefault( id, VAZIA ) ) );
+        }
+
+        Map<Long, Contador> presentes = new HashMap<>();
+        List<Long> consultar = new ArrayList<>();
+        long agora = System.nanoTime();
+
+        // a limpeza pode tirar uma pauta do mapa a qualquer momento, então cada contador é lido uma vez só
+        pautaIds.stream().distinct().forEach( id ->
+        {
+            Contador contador = contadores.get( id );
+
+            if ( contador != null )
+            {
+                presentes.put( id, contador );
+            }
+
+            if ( contador == null || contador.iniciarConferencia( agora, validadeNanos ) )
+            {
+                consultar.add( id );
+            }
+        } );
+
+        if ( ! consultar.isEmpty() )
+        {
+            Map<Long, Contagem> carregados = agrupar( votoRepository.contarVotosPorOpcaoDasPautas( consultar ) );
+
+            consultar.forEach( id ->
+            {
+                Contagem contagem = carregados.getOrDefault( id, VAZIA );
+                Contador contador = presentes.get( id );
+
+                if ( contador != null )
+                {
+                    conferir( contador, () -> contagem );
+                }
+                else
+                {
+                    presentes.put( id, armazenar( id, new Contador( contagem ) ) );
+                }
+            } );
+        }
+
+        Map<Long, Contagem> contagens = new HashMap<>();
+
+        presentes.forEach( ( id, contador ) -> contagens.put( id, contador.contagem() ) );
+
+        return contagens;
+    }
+
+    // no encerramento da sessão, para o resultado final sair do banco
+    public void recarregar( Long pautaId )
+    {
+        if ( ! habilitado )
+        {
+            return;
+        }
+
+        Contador contador = contadores.get( pautaId );
+
+        if ( contador == null )
+        {
+            armazenar( pautaId, new Contador( contar( pautaId ) ) );
+        }
+        else
+        {
+            contador.iniciarConferencia( System.nanoTime(), -1 );
+            conferir( contador, () -> contar( pautaId ) );
+        }
+    }
+
+    public void registrarVoto( Long pautaId, OpcaoVoto opcaoVoto )
+    {
+        AposCommit.executar( () -> incrementar( pautaId, opcaoVoto ) );
+    }
+
+    public void registrarVotos( List<Voto> votos )
+    {
+        AposCommit.executar( () -> votos.forEach( voto -> incrementar( voto.getPauta().getId(), voto.getOpcaoVoto() ) ) );
+    }
+
+    private void incrementar( Long pautaId, OpcaoVoto opcaoVoto )
+    {
+        Contador contador = contadores.get( pautaId );
+
+        if ( contador != null )
+        {
+            contador.somar( opcaoVoto, 1 );
+        }
+    }
+
+    // incrementos feitos durante a consulta continuam no contador, então nenhum se perde
+    private void conferir( Contador contador, Supplier<Contagem> consulta )
+    {
+        try
+        {
+            Contagem somados = contador.somados();
+
+            contador.rebasear( consulta.get(), somados );
+        }
+        finally
+        {
+            contador.encerrarConferencia();
+        }
+    }
+
+    // consulta fora do mapa para não travar o bin da pauta; prevalece quem carregou primeiro
+    private Contador armazenar( Long pautaId, Contador carregado )
+    {
+        Contador existente = contadores.putIfAbsent( pautaId, carregado );
+
+        return existente != null ? existente : carregado;
+    }
+
+    private Contagem contar( Long pautaId )
+    {
+        return agrupar( votoRepository.contarVotosPorOpcao( pautaId ) ).getOrDefault( pautaId, VAZIA );
+    }
+
+    private Map<Long, Contagem> agrupar( List<VotosPorOpcao> totais )
+    {
+        Map<Long, Contagem> agrupados = new HashMap<>();
+
+        totais.forEach( total -> agrupados.merge( total.getPautaId(),
+                                                  total.getOpcaoVoto() == OpcaoVoto.SIM ? new Contagem( total.getTotal(), 0 ) : new Contagem( 0, total.getTotal() ),
+                                                  Contagem::somar ) );
+
+        return agrupados;
+    }
+
+    private static class Contador
+    {
+        private final LongAdder sim = new LongAdder();
+        private final LongAdder nao = new LongAdder();
+        private final AtomicBoolean conferindo = new AtomicBoolean();
+
+        // contagem do banco menos os votos que o contador já tinha somado quando ela foi feita
+        private volatile Contagem base;
+        private volatile long conferidoEm = System.nanoTime();
+        private volatile long usadoEm = conferidoEm;
+
+        Contador( Contagem base )
+        {
+            this.base = base;
+        }
+
+        void somar( OpcaoVoto opcaoVoto, long quantidade )
+        {
+            ( opcaoVoto == OpcaoVoto.SIM ? sim : nao ).add( quantidade );
+            usadoEm = System.nanoTime();
+        }
+
+        Contagem contagem()
+        {
+            usadoEm = System.nanoTime();
+
+            return base.somar( somados() );
+        }
+
+        Contagem somados()
+        {
+            return new Contagem( sim.sum(), nao.sum() );
+        }
+
+        boolean iniciarConferencia( long agora, long validadeNanos )
+        {
+            return agora - conferidoEm > validadeNanos && conferindo.compareAndSet( false, true );
+        }
+
+        void rebasear( Contagem banco, Contagem somados )
+        {
+            base = new Contagem( banco.getVotosSim() - somados.getVotosSim(), banco.getVotosNao() - somados.getVotosNao() );
+            conferidoEm = System.nanoTime();
+        }
+
+        void encerrarConferencia()
+        {
+            conferindo.set( false );
+        }
+
+        boolean ocioso( long agora, long ociosidadeNanos )
+        {
+            return agora - usadoEm > ociosidadeNanos;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Contagem
+    {
+        private final long votosSim;
+        private final long votosNao;
+
+        public long getTotalVotos()
+        {
+            return votosSim + votosNao;
+        }
+
+        Contagem somar( Contagem outra )
+        {
+            return new Contagem( votosSim + outra.votosSim, votosNao + outra.votosNao );
+        }
+    }
+}
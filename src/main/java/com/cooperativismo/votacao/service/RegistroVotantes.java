@@ -0,0 +1,181 @@
+package com.cooperativismo.votacao.service;
+
+import com.cooperativismo.votacao.model.Voto;
+import com.cooperativismo.votacao.repository.ChaveVoto;
+import com.cooperativismo.votacao.repository.VotoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class RegistroVotantes
+{
+    public enum Situacao
+    {
+        NAO_VOTOU, JA_VOTOU, INDETERMINADA
+    }
+
+    private final VotoRepository votoRepository;
+    private final int capacidadeEsperada;
+    private final double taxaFalsoPositivo;
+
+    private final Map<Long, Votantes> votantesPorPauta = new ConcurrentHashMap<>();
+
+    public RegistroVotantes( VotoRepository votoRepository,
+                             @Value( "${votacao.votantes.capacidade-esperada:100000}" ) int capacidadeEsperada,
+                             @Value( "${votacao.votantes.taxa-falso-positivo:0.01}" ) double taxaFalsoPositivo )
+    {
+        this.votoRepository = votoRepository;
+        this.capacidadeEsperada = capacidadeEsperada;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+    }
+
+    @EventListener( ApplicationReadyEvent.class )
+    public void aquecerSessoesAtivas()
+    {
+        List<ChaveVoto> votos = votoRepository.findVotosDeSessoesAtivas();
+
+        Map<Long, List<Long>> carregados = new HashMap<>();
+
+        votos.forEach( voto -> carregados.computeIfAbsent( voto.getPautaId(), id -> new ArrayList<>() ).add( paraLong( voto.getCpfAssociado() ) ) );
+
+        // soma ao conjunto que um consumidor já tenha carregado, em vez de substituí-lo
+        carregados.forEach( ( pautaId, cpfs ) ->
+        {
+            Votantes votantes = armazenar( pautaId, new Votantes( capacidadeEsperada, taxaFalsoPositivo ) );
+
+            cpfs.forEach( votantes::adicionar );
+        } );
+
+        log.info( "Registro de votantes aquecido para {} pautas com {} votos", carregados.size(), votos.size() );
+    }
+
+    public void iniciar( Long pautaId )
+    {
+        votantesPorPauta.putIfAbsent( pautaId, new Votantes( capacidadeEsperada, taxaFalsoPositivo ) );
+    }
+
+    public void descartar( Long pautaId )
+    {
+        votantesPorPauta.remove( pautaId );
+    }
+
+    public Situacao consultar( Long pautaId, String cpfAssociado )
+    {
+        long cpf = paraLong( cpfAssociado );
+
+        if ( cpf < 0 )
+        {
+            return Situacao.INDETERMINADA;
+        }
+
+        Votantes votantes = votantesPorPauta.get( pautaId );
+
+        // consulta fora do mapa para não travar o bin da pauta; prevalece quem carregou primeiro
+        if ( votantes == null )
+        {
+            votantes = armazenar( pautaId, carregar( pautaId ) );
+        }
+
+        return votantes.contem( cpf ) ? Situacao.JA_VOTOU : Situacao.NAO_VOTOU;
+    }
+
+    public void registrar( Long pautaId, String cpfAssociado )
+    {
+        AposCommit.executar( () -> adicionar( pautaId, cpfAssociado ) );
+    }
+
+    public void registrar( List<Voto> votos )
+    {
+        AposCommit.executar( () -> votos.forEach( voto -> adicionar( voto.getPauta().getId(), voto.getCpfAssociado() ) ) );
+    }
+
+    private void adicionar( Long pautaId, String cpfAssociado )
+    {
+        Votantes votantes = votantesPorPauta.get( pautaId );
+        long cpf = paraLong( cpfAssociado );
+
+        if ( votantes != null && cpf >= 0 )
+        {
+            votantes.adicionar( cpf );
+        }
+    }
+
+    private Votantes armazenar( Long pautaId, Votantes carregados )
+    {
+        Votantes existentes = votantesPorPauta.putIfAbsent( pautaId, carregados );
+
+        return existentes != null ? existentes : carregados;
+    }
+
+    private Votantes carregar( Long pautaId )
+    {
+        List<String> cpfs = votoRepository.findCpfsByPautaId( pautaId );
+
+        Votantes votantes = new Votantes( Math.max( capacidadeEsperada, cpfs.size() ), taxaFalsoPositivo );
+
+        cpfs.forEach( cpf -> votantes.adicionar( paraLong( cpf ) ) );
+
+        log.debug( "Registro de votantes carregado para pauta {} com {} votos", pautaId, cpfs.size() );
+
+        return votantes;
+    }
+
+    static long paraLong( String cpf )
+    {
+        if ( cpf == null || cpf.length() != 11 )
+        {
+            return -1;
+        }
+
+        long valor = 0;
+
+        for ( int i = 0; i < cpf.length(); i++ )
+        {
+            char digito = cpf.charAt( i );
+
+            if ( digito < '0' || digito > '9' )
+            {
+                return -1;
+            }
+
+            valor = valor * 10 + ( digito - '0' );
+        }
+
+        return valor;
+    }
+
+    private static class Votantes
+    {
+        private final FiltroBloom filtro;
+        private final ConjuntoLongs cpfs;
+
+        Votantes( int capacidadeEsperada, double taxaFalsoPositivo )
+        {
+            this.filtro = new FiltroBloom( capacidadeEsperada, taxaFalsoPositivo );
+            this.cpfs = new ConjuntoLongs( 1024 );
+        }
+
+        synchronized void adicionar( long cpf )
+        {
+            if ( cpf >= 0 && cpfs.adicionar( cpf ) )
+            {
+                filtro.adicionar( cpf );
+            }
+        }
+
+        synchronized boolean contem( long cpf )
+        {
+            return filtro.talvezContenha( cpf ) && cpfs.contem( cpf );
+        }
+    }
+}
@@ -8,10 +8,10 @@ import com.cooperativismo.votacao.exception.BusinessException;
 import com.cooperativismo.votacao.exception.ResourceNotFoundException;
 import com.cooperativismo.votacao.model.Pauta;
 import com.cooperativismo.votacao.model.SessaoVotacao;
-import com.cooperativismo.votacao.model.Voto;
 import com.cooperativismo.votacao.repository.PautaRepository;
+import com.cooperativismo.votacao.repository.ResumoPauta;
+import com.cooperativismo.votacao.repository.ResumoSessao;
 import com.cooperativismo.votacao.repository.SessaoVotacaoRepository;
-import com.cooperativismo.votacao.repository.VotoRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -20,7 +20,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -29,9 +32,14 @@ public class SessaoVotacaoService
 {
     private final SessaoVotacaoRepository sessaoVotacaoRepository;
     private final PautaRepository pautaRepository;
-    private final VotoRepository votoRepository;
     private final CallbackService callbackService;
     private final KafkaService kafkaService;
+    private final PlacarVotacao placarVotacao;
+    private final RegistroVotantes registroVotantes;
+    private final AgendadorEncerramentoSessoes agendadorEncerramentoSessoes;
+    private final EleicaoLider eleicaoLider;
+    private final MetadadosVotacao metadadosVotacao;
+    private final MetricasVotacao metricasVotacao;
 
     public void abrirSessao(Long pautaId, Integer duracaoMinutos)
     {
@@ -51,56 +59,44 @@ public class SessaoVotacaoService
             System.currentTimeMillis()
         );
         
-        kafkaService.sendMessage("sessao-topic", message);
+        kafkaService.sendMessage("sessao-topic", String.valueOf(message.getPautaId()), message);
         log.info("Mensagem enviada para o Kafka: solicitação para abrir sessão para pauta ID {}", pautaId);
     }
     
     @Transactional(readOnly = true)
     public ResultadoVotacaoDTO obterResultado(Long pautaId)
+    {
+        return metricasVotacao.consultaResultado().record(() -> calcularResultado(pautaId));
+    }
+    
+    private ResultadoVotacaoDTO calcularResultado(Long pautaId)
     {
         log.info("Obtendo resultado da votação para pauta ID: {}", pautaId);
         
-        Pauta pauta = pautaRepository.findById(pautaId).orElseThrow(() -> new ResourceNotFoundException("Pauta", pautaId));
+        ResumoPauta pauta = pautaRepository.findResumoById(pautaId).orElseThrow(() -> new ResourceNotFoundException("Pauta", pautaId));
         
-        Optional<SessaoVotacao> sessaoOpt = sessaoVotacaoRepository.findByPautaId(pautaId);
+        Optional<ResumoSessao> sessaoOpt = sessaoVotacaoRepository.findResumoByPautaId(pautaId);
         
         if (sessaoOpt.isEmpty())
         {
             throw new BusinessException("Não existe sessão de votação para esta pauta");
         }
         
-        SessaoVotacao sessao = sessaoOpt.get();
-        boolean sessaoEncerrada = !sessao.estaAberta();
+        ResultadoVotacaoDTO resultadoDTO = montarResultado(pauta, sessaoOpt.get(), placarVotacao.obterContagem(pautaId));
         
-        long totalVotos = votoRepository.countByPautaId(pautaId);
-        long votosSim = votoRepository.countByPautaIdAndOpcaoVoto(pautaId, Voto.OpcaoVoto.SIM);
-        long votosNao = votoRepository.countByPautaIdAndOpcaoVoto(pautaId, Voto.OpcaoVoto.NAO);
-        
-        String resultado = getResultadoVotacao(votosSim, votosNao);
-        
-        ResultadoVotacaoDTO resultadoDTO = ResultadoVotacaoDTO.builder()
-                                  .pautaId(pautaId)
-                                  .tituloPauta(pauta.getTitulo())
-                                  .totalVotos(totalVotos)
-                                  .votosSim(votosSim)
-                                  .votosNao(votosNao)
-                                  .resultado(resultado)
-                                  .sessaoEncerrada(sessaoEncerrada)
-                                  .build();
-        
-        if (sessaoEncerrada) 
+        if (resultadoDTO.isSessaoEncerrada()) 
         {
             ResultadoMessage resultadoMessage = new ResultadoMessage(
                 pautaId,
-                pauta.getTitulo(),
-                totalVotos,
-                votosSim,
-                votosNao,
-                resultado,
+                pauta.titulo(),
+                resultadoDTO.getTotalVotos(),
+                resultadoDTO.getVotosSim(),
+                resultadoDTO.getVotosNao(),
+                resultadoDTO.getResultado(),
                 System.currentTimeMillis()
             );
             
-            kafkaService.sendMessage("resultado-topic", resultadoMessage);
+            kafkaService.sendMessage("resultado-topic", String.valueOf(resultadoMessage.getPautaId()), resultadoMessage);
             log.info("Mensagem enviada para o Kafka: resultado da votação para pauta ID {}", pautaId);
             
             callbackService.notificarResultadoVotacao(resultadoDTO);
@@ -109,34 +105,79 @@ public class SessaoVotacaoService
         return resultadoDTO;
     }
     
-    @Scheduled(fixedRate = 60000)
-    @Transactional
+    @Transactional(readOnly = true)
+    public List<ResultadoVotacaoDTO> obterResultados(List<Long> pautaIds)
+    {
+        log.info("Obtendo resultado da votação para {} pautas", pautaIds.size());
+        
+        Map<Long, ResumoPauta> pautas = pautaRepository.findResumosByIdIn(pautaIds).stream()
+                .collect(Collectors.toMap(ResumoPauta::id, Function.identity()));
+        
+        Map<Long, ResumoSessao> sessoes = sessaoVotacaoRepository.findResumosByPautaIdIn(pautaIds).stream()
+                .collect(Collectors.toMap(ResumoSessao::pautaId, Function.identity()));
+        
+        for (Long pautaId : pautaIds)
+        {
+            if (!pautas.containsKey(pautaId))
+            {
+                throw new ResourceNotFoundException("Pauta", pautaId);
+            }
+            
+            if (!sessoes.containsKey(pautaId))
+            {
+                throw new BusinessException("Não existe sessão de votação para a pauta " + pautaId);
+            }
+        }
+        
+        Map<Long, PlacarVotacao.Contagem> contagens = placarVotacao.obterContagens(pautaIds);
+        
+        return pautaIds.stream()
+                .distinct()
+                .map(pautaId -> montarResultado(pautas.get(pautaId), sessoes.get(pautaId), contagens.get(pautaId)))
+                .collect(Collectors.toList());
+    }
+    
+    private ResultadoVotacaoDTO montarResultado(ResumoPauta pauta, ResumoSessao sessao, PlacarVotacao.Contagem contagem)
+    {
+        return ResultadoVotacaoDTO.builder()
+                                  .pautaId(pauta.id())
+                                  .tituloPauta(pauta.titulo())
+                                  .totalVotos(contagem.getTotalVotos())
+                                  .votosSim(contagem.getVotosSim())
+                                  .votosNao(contagem.getVotosNao())
+                                  .resultado(getResultadoVotacao(contagem.getVotosSim(), contagem.getVotosNao()))
+                                  .sessaoEncerrada(!sessao.estaAberta())
+                                  .build();
+    }
+    
+    @Scheduled(fixedRateString = "${votacao.sessoes.verificacao-expiradas-ms:${votacao.lideranca.duracao-ms:30000}}",
+               initialDelayString = "${votacao.sessoes.verificacao-expiradas-ms:${votacao.lideranca.duracao-ms:30000}}")
+    @Transactional(readOnly = true)
     public void verificarSessoesExpiradas()
     {
+        if (!eleicaoLider.adquirir(AgendadorEncerramentoSessoes.LIDERANCA))
+        {
+            log.debug("Verificação de sessões expiradas ignorada: outra instância detém a liderança");
+            return;
+        }
+        
         log.info("Verificando sessões de votação expiradas");
         
         List<SessaoVotacao> sessoesExpiradas = sessaoVotacaoRepository.findSessoesAtivasExpiradas(LocalDateTime.now());
         
         for (SessaoVotacao sessao : sessoesExpiradas)
         {
-            log.info("Enviando solicitação para fechar sessão de votação expirada para pauta ID: {}", sessao.getPauta().getId());
-            
-            SessaoMessage sessaoMessage = new SessaoMessage(
-                sessao.getId(),
-                sessao.getPauta().getId(),
-                sessao.getDataAbertura(),
-                sessao.getDataFechamento(),
-                "FECHAR",
-                System.currentTimeMillis()
-            );
-            
-            kafkaService.sendMessage("sessao-topic", sessaoMessage);
-            log.info("Mensagem enviada para o Kafka: solicitação para fechar sessão para pauta ID {}", sessao.getPauta().getId());
+            log.warn("Sessão {} da pauta {} expirou sem ter sido encerrada pela agenda", sessao.getId(), sessao.getPauta().getId());
+            agendadorEncerramentoSessoes.encerrar(sessao);
         }
     }
     
     @Transactional
     public void processarSessao(SessaoMessage message) {
+        metricasVotacao.processamentoSessao(message.getTipoOperacao()).record(() -> aplicarOperacao(message));
+    }
+    
+    private void aplicarOperacao(SessaoMessage message) {
         log.info("Processando mensagem de sessão: {}", message);
         
         if ("ABRIR".equals(message.getTipoOperacao())) {
@@ -158,16 +199,32 @@ public class SessaoVotacaoService
                                                     .build();
             
             sessaoVotacao = sessaoVotacaoRepository.save(sessaoVotacao);
+            registroVotantes.iniciar(message.getPautaId());
+            
+            SessaoVotacao sessaoAberta = sessaoVotacao;
+            AposCommit.executar(() -> {
+                metadadosVotacao.invalidarSessao(message.getPautaId());
+                agendadorEncerramentoSessoes.agendar(sessaoAberta.getId(), message.getPautaId(),
+                        sessaoAberta.getDataAbertura(), sessaoAberta.getDataFechamento());
+            });
             log.info("Sessão aberta com ID: {} para pauta ID: {}", sessaoVotacao.getId(), message.getPautaId());
             
         } else if ("FECHAR".equals(message.getTipoOperacao())) {
             log.info("Fechando sessão para ID: {}", message.getSessaoId());
             
+            // o UPDATE condicional faz só o primeiro FECHAR notificar e publicar o resultado
+            if (sessaoVotacaoRepository.fecharSeAtiva(message.getSessaoId()) == 0) {
+                log.info("Sessão {} já estava fechada ou não existe; FECHAR ignorado", message.getSessaoId());
+                agendadorEncerramentoSessoes.cancelar(message.getSessaoId());
+                return;
+            }
+            
             sessaoVotacaoRepository.findById(message.getSessaoId())
                 .ifPresent(sessao -> {
                     try {
-                        sessao.fechar();
-                        sessaoVotacaoRepository.save(sessao);
+                        agendadorEncerramentoSessoes.cancelar(sessao.getId());
+                        AposCommit.executar(() -> metadadosVotacao.invalidarSessao(sessao.getPauta().getId()));
+                        registroVotantes.descartar(sessao.getPauta().getId());
                         log.info("Sessão fechada com ID: {}", message.getSessaoId());
                         
                         NotificacaoMessage notificacaoMessage = new NotificacaoMessage(
@@ -178,7 +235,7 @@ public class SessaoVotacaoService
                             System.currentTimeMillis()
                         );
                         
-                        kafkaService.sendMessage("notificacao-topic", notificacaoMessage);
+                        kafkaService.sendMessage("notificacao-topic", String.valueOf(notificacaoMessage.getPautaId()), notificacaoMessage);
                         
                         try {
                             callbackService.notificarSessaoEncerrada(sessao.getId(), sessao.getPauta().getId());
@@ -187,6 +244,7 @@ public class SessaoVotacaoService
                         }
                         
                         try {
+                            placarVotacao.recarregar(sessao.getPauta().getId());
                             ResultadoVotacaoDTO resultado = obterResultado(sessao.getPauta().getId());
                             callbackService.notificarResultadoVotacao(resultado);
                         } catch (Exception e) {
@@ -217,7 +275,10 @@ public class SessaoVotacaoService
     @Transactional(readOnly = true)
     public void verificarPautaExiste( Long pautaId )
     {
-        pautaRepository.findById( pautaId ).orElseThrow( () -> new ResourceNotFoundException( "Pauta", pautaId ) );
+        if ( ! metadadosVotacao.pautaExiste( pautaId ) )
+        {
+            throw new ResourceNotFoundException( "Pauta", pautaId );
+        }
     }
 
     @Transactional
@@ -240,7 +301,7 @@ public class SessaoVotacaoService
             System.currentTimeMillis()
         );
         
-        kafkaService.sendMessage("sessao-topic", message);
+        kafkaService.sendMessage("sessao-topic", String.valueOf(message.getPautaId()), message);
         log.info("Mensagem enviada para o Kafka: solicitação para abrir sessão para pauta ID {}", pautaId);
         
         return SessaoVotacao.builder()
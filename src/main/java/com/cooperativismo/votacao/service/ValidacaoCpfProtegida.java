@@ -0,0 +1,223 @@
+package com.cooperativismo.votacao.service;
+
+import com.cooperativismo.votacao.client.CpfValidatorClient;
+import com.cooperativismo.votacao.config.ProtecaoCpfConfig;
+import com.cooperativismo.votacao.exception.InvalidCpfException;
+import com.cooperativismo.votacao.exception.UnableToVoteException;
+import com.cooperativismo.votacao.exception.ValidacaoCpfIndisponivelException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Bulkhead e disjuntor na validação de CPF; chamadas recusadas seguem a política de fallback
+@Slf4j
+@Component
+public class ValidacaoCpfProtegida
+{
+    static final String MOTIVO_BULKHEAD = "bulkhead";
+    static final String MOTIVO_DISJUNTOR = "disjuntor";
+    static final String MOTIVO_FALHA = "falha";
+
+    private static final String MENSAGEM_INDISPONIVEL = "Validação de CPF indisponível, tente novamente em instantes";
+
+    private final CpfValidatorClient cpfValidatorClient;
+    private final ProtecaoCpfConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore bulkhead;
+    private final Disjuntor disjuntor;
+
+    public ValidacaoCpfProtegida( CpfValidatorClient cpfValidatorClient, ProtecaoCpfConfig config, MeterRegistry meterRegistry )
+    {
+        this.cpfValidatorClient = cpfValidatorClient;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.bulkhead = new Semaphore( config.getMaxConcorrentes() );
+        this.disjuntor = new Disjuntor( config.getJanela(), config.getMinimoChamadas(), config.getLimiarFalhasPercentual(),
+                                        config.getAberturaMs(), config.getChamadasTeste(), this::registrarTransicao );
+
+        for ( Disjuntor.Estado estado : Disjuntor.Estado.values() )
+        {
+            Gauge.builder( "votacao.cpf.disjuntor.estado", disjuntor, d -> d.getEstado() == estado ? 1 : 0 )
+                 .description( "1 para o estado atual do disjuntor da validação de CPF" )
+                 .tag( "estado", estado.name().toLowerCase() )
+                 .register( meterRegistry );
+        }
+
+        Gauge.builder( "votacao.cpf.bulkhead.disponiveis", bulkhead, Semaphore::availablePermits )
+             .description( "Vagas livres para chamadas simultâneas à validação de CPF" )
+             .register( meterRegistry );
+    }
+
+    // true quando a elegibilidade foi confirmada; false quando o voto foi aceito como provisório
+    public boolean validar( String cpf )
+    {
+        return proteger( () ->
+        {
+            cpfValidatorClient.validarCpf( cpf );
+
+            return true;
+        }, () ->
+        {
+            if ( config.getFallback() == ProtecaoCpfConfig.Fallback.REJEITAR )
+            {
+                throw new ValidacaoCpfIndisponivelException( MENSAGEM_INDISPONIVEL );
+            }
+
+            return false;
+        } );
+    }
+
+    // um lote ocupa uma vaga do bulkhead; se for recusado, todos os CPFs dele seguem o fallback
+    public ResultadoLote validarCpfs( Collection<String> cpfs )
+    {
+        return proteger( () -> new ResultadoLote( cpfValidatorClient.validarCpfs( cpfs ), false ), () ->
+        {
+            if ( config.getFallback() == ProtecaoCpfConfig.Fallback.ACEITAR_PROVISORIO )
+            {
+                return new ResultadoLote( Map.of(), true );
+            }
+
+            Map<String, String> recusados = new HashMap<>();
+
+            for ( String cpf : new HashSet<>( cpfs ) )
+            {
+                recusados.put( cpf, MENSAGEM_INDISPONIVEL );
+            }
+
+            return new ResultadoLote( recusados, false );
+        } );
+    }
+
+    // no consumidor: devolve os CPFs que não podem votar; recusada, a chamada volta como indisponibilidade
+    public Set<String> confirmarCpfs( Collection<String> cpfs )
+    {
+        Set<String> distintos = new HashSet<>( cpfs );
+        Set<String> inaptos = proteger( () -> cpfValidatorClient.validarCpfs( distintos ).keySet(), () ->
+        {
+            throw new ValidacaoCpfIndisponivelException( MENSAGEM_INDISPONIVEL );
+        } );
+
+        contarProvisorios( "confirmado", distintos.size() - inaptos.size() );
+        contarProvisorios( "descartado", inaptos.size() );
+
+        return inaptos;
+    }
+
+    Disjuntor.Estado getEstado()
+    {
+        return disjuntor.getEstado();
+    }
+
+    private <T> T proteger( Supplier<T> chamada, Supplier<T> fallback )
+    {
+        if ( ! ocuparBulkhead() )
+        {
+            return recusar( MOTIVO_BULKHEAD, fallback );
+        }
+
+        try
+        {
+            long geracao = disjuntor.permitir();
+
+            if ( geracao == Disjuntor.RECUSADO )
+            {
+                return recusar( MOTIVO_DISJUNTOR, fallback );
+            }
+
+            long inicio = System.nanoTime();
+            T resultado;
+
+            try
+            {
+                resultado = chamada.get();
+            }
+            catch ( InvalidCpfException | UnableToVoteException e )
+            {
+                // CPF recusado é uma resposta válida do serviço
+                disjuntor.registrar( geracao, lenta( inicio ) );
+
+                throw e;
+            }
+            catch ( RuntimeException e )
+            {
+                disjuntor.registrar( geracao, true );
+                log.warn( "Falha na validação de CPF: {}", e.getMessage() );
+
+                return recusar( MOTIVO_FALHA, fallback );
+            }
+
+            disjuntor.registrar( geracao, lenta( inicio ) );
+
+            return resultado;
+        }
+        finally
+        {
+            bulkhead.release();
+        }
+    }
+
+    private boolean ocuparBulkhead()
+    {
+        try
+        {
+            return bulkhead.tryAcquire( config.getEsperaMs(), TimeUnit.MILLISECONDS );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+
+            return false;
+        }
+    }
+
+    private boolean lenta( long inicio )
+    {
+        return System.nanoTime() - inicio > TimeUnit.MILLISECONDS.toNanos( config.getChamadaLentaMs() );
+    }
+
+    private <T> T recusar( String motivo, Supplier<T> fallback )
+    {
+        Counter.builder( "votacao.cpf.recusas" )
+               .description( "Validações de CPF não executadas pelo bulkhead ou pelo disjuntor, ou que falharam" )
+               .tag( "motivo", motivo )
+               .tag( "fallback", config.getFallback().name().toLowerCase() )
+               .register( meterRegistry )
+               .increment();
+
+        return fallback.get();
+    }
+
+    private void contarProvisorios( String resultado, int quantidade )
+    {
+        Counter.builder( "votacao.cpf.provisorios" )
+               .description( "CPFs de votos provisórios conferidos pelo consumidor" )
+               .tag( "resultado", resultado )
+               .register( meterRegistry )
+               .increment( quantidade );
+    }
+
+    private void registrarTransicao( Disjuntor.Estado anterior, Disjuntor.Estado novo )
+    {
+        log.warn( "Disjuntor da validação de CPF: {} -> {}", anterior, novo );
+
+        Counter.builder( "votacao.cpf.disjuntor.transicoes" )
+               .description( "Mudanças de estado do disjuntor da validação de CPF" )
+               .tag( "de", anterior.name().toLowerCase() )
+               .tag( "para", novo.name().toLowerCase() )
+               .register( meterRegistry )
+               .increment();
+    }
+
+    public record ResultadoLote( Map<String, String> recusados, boolean provisorio ) {}
+}
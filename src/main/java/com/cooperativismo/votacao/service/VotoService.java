@@ -1,21 +1,43 @@
 package com.cooperativismo.votacao.service;
 
-import com.cooperativismo.votacao.client.CpfValidatorClient;
+import com.cooperativismo.votacao.config.LoteVotosConfig;
+import com.cooperativismo.votacao.dto.ResultadoLoteVotosDTO;
 import com.cooperativismo.votacao.dto.VotacaoMessage;
 import com.cooperativismo.votacao.dto.VotoDTO;
 import com.cooperativismo.votacao.exception.ResourceNotFoundException;
 import com.cooperativismo.votacao.model.Pauta;
-import com.cooperativismo.votacao.model.SessaoVotacao;
 import com.cooperativismo.votacao.model.Voto;
 import com.cooperativismo.votacao.repository.PautaRepository;
-import com.cooperativismo.votacao.repository.SessaoVotacaoRepository;
+import com.cooperativismo.votacao.repository.ResumoSessao;
 import com.cooperativismo.votacao.repository.VotoRepository;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -24,87 +46,526 @@ public class VotoService
 {
     private final VotoRepository votoRepository;
     private final PautaRepository pautaRepository;
-    private final SessaoVotacaoRepository sessaoVotacaoRepository;
-    private final CpfValidatorClient cpfValidatorClient;
+    private final MetadadosVotacao metadadosVotacao;
+    private final ValidacaoCpfProtegida validacaoCpfProtegida;
+    private final MetricasVotacao metricasVotacao;
+    private final AmostragemLog amostragemLog;
     private final KafkaService kafkaService;
+    private final PlacarVotacao placarVotacao;
+    private final RegistroVotantes registroVotantes;
+    private final LoteVotosConfig loteVotosConfig;
+    private final Validator validator;
 
     public void registrarVoto(VotoDTO votoDTO)
     {
-        log.info("Enviando solicitação para registrar voto do associado {} na pauta {}", 
-                votoDTO.getCpfAssociado(), votoDTO.getPautaId() );
-        
-        cpfValidatorClient.validarCpf(votoDTO.getCpfAssociado());
+        metricasVotacao.registroVoto().record(() -> enviarVoto(votoDTO));
+    }
+    
+    private void enviarVoto(VotoDTO votoDTO)
+    {
+        boolean confirmado = validacaoCpfProtegida.validar(votoDTO.getCpfAssociado());
         
         VotacaoMessage mensagem = new VotacaoMessage(
                 null,
                 votoDTO.getPautaId(),
                 votoDTO.getCpfAssociado(),
                 votoDTO.getOpcaoVoto().toString(),
-                System.currentTimeMillis());
+                System.currentTimeMillis(),
+                !confirmado);
         
-        kafkaService.sendMessage("votacao-topic", mensagem);
+        kafkaService.sendMessage("votacao-topic", String.valueOf(mensagem.getPautaId()), mensagem);
 
-        log.info("Mensagem enviada para o Kafka: solicitação de registro de voto para processamento");
+        if (amostragemLog.amostrar())
+        {
+            log.info("Voto do associado {} na pauta {} enfileirado para envio ao Kafka", 
+                    votoDTO.getCpfAssociado(), votoDTO.getPautaId());
+        }
+    }
+    
+    public ResultadoLoteVotosDTO registrarVotosEmLote(MappingIterator<VotoDTO> votos)
+    {
+        AcumuladorLote acumulador = new AcumuladorLote(loteVotosConfig.getMaxErros());
+        Deque<CompletableFuture<Void>> lotesEmVoo = new ArrayDeque<>();
+        List<LinhaVoto> bloco = new ArrayList<>(loteVotosConfig.getTamanho());
+        long linha = 0;
+        
+        while (true)
+        {
+            VotoDTO votoDTO;
+            
+            try
+            {
+                linha++;
+                
+                if (!votos.hasNextValue())
+                {
+                    linha--;
+                    break;
+                }
+                
+                votoDTO = votos.nextValue();
+            }
+            catch (JsonMappingException e)
+            {
+                // a linha é JSON válido que não vira um VotoDTO; o leitor já está na próxima
+                acumulador.rejeitar(linha, "Voto ilegível: " + e.getOriginalMessage());
+                continue;
+            }
+            catch (JsonParseException e)
+            {
+                acumulador.rejeitar(linha, "JSON malformado, leitura interrompida: " + e.getOriginalMessage());
+                break;
+            }
+            catch (IOException e)
+            {
+                // falha do próprio corpo (conexão encerrada, tempo esgotado): tentar de novo repetiria o mesmo erro
+                acumulador.rejeitar(linha, "Falha ao ler o lote, leitura interrompida: " + e.getMessage());
+                break;
+            }
+            
+            String erro = validar(votoDTO);
+            
+            if (erro != null)
+            {
+                acumulador.rejeitar(linha, erro);
+                continue;
+            }
+            
+            bloco.add(new LinhaVoto(linha, votoDTO));
+            
+            if (bloco.size() == loteVotosConfig.getTamanho())
+            {
+                publicarBloco(bloco, acumulador, lotesEmVoo);
+                bloco = new ArrayList<>(loteVotosConfig.getTamanho());
+            }
+        }
+        
+        publicarBloco(bloco, acumulador, lotesEmVoo);
+        
+        while (!lotesEmVoo.isEmpty())
+        {
+            lotesEmVoo.removeFirst().join();
+        }
+        
+        ResultadoLoteVotosDTO resultado = acumulador.resultado(linha);
+        
+        log.info("Lote de votos recebido: {} linhas, {} aceitas, {} recusadas", 
+                resultado.getLinhas(), resultado.getAceitos(), resultado.getRejeitados());
+        
+        return resultado;
+    }
+    
+    private String validar(VotoDTO votoDTO)
+    {
+        if (votoDTO == null)
+        {
+            return "Linha sem voto";
+        }
+        
+        Set<ConstraintViolation<VotoDTO>> violacoes = validator.validate(votoDTO);
+        
+        if (violacoes.isEmpty())
+        {
+            return null;
+        }
+        
+        return violacoes.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+    
+    private void publicarBloco(List<LinhaVoto> bloco, AcumuladorLote acumulador, Deque<CompletableFuture<Void>> lotesEmVoo)
+    {
+        if (bloco.isEmpty())
+        {
+            return;
+        }
+        
+        ValidacaoCpfProtegida.ResultadoLote validacao = validacaoCpfProtegida.validarCpfs(
+                bloco.stream().map(linha -> linha.voto().getCpfAssociado()).collect(Collectors.toList()));
+        
+        Collection<Long> pautas = metadadosVotacao.pautasExistentes(
+                bloco.stream().map(linha -> linha.voto().getPautaId()).collect(Collectors.toSet()));
+        
+        long agora = System.currentTimeMillis();
+        List<CompletableFuture<?>> envios = new ArrayList<>(bloco.size());
+        
+        for (LinhaVoto linha : bloco)
+        {
+            VotoDTO votoDTO = linha.voto();
+            String recusa = validacao.recusados().get(votoDTO.getCpfAssociado());
+            
+            if (recusa != null)
+            {
+                acumulador.rejeitar(linha.numero(), recusa);
+                continue;
+            }
+            
+            if (!pautas.contains(votoDTO.getPautaId()))
+            {
+                acumulador.rejeitar(linha.numero(), "Pauta não encontrada com o ID: " + votoDTO.getPautaId());
+                continue;
+            }
+            
+            VotacaoMessage mensagem = new VotacaoMessage(
+                    null,
+                    votoDTO.getPautaId(),
+                    votoDTO.getCpfAssociado(),
+                    votoDTO.getOpcaoVoto().toString(),
+                    agora,
+                    validacao.provisorio());
+            
+            envios.add(kafkaService.sendMessage("votacao-topic", String.valueOf(mensagem.getPautaId()), mensagem)
+                    .whenComplete((enviado, falha) -> 
+                    {
+                        if (falha == null)
+                        {
+                            acumulador.aceitar();
+                        }
+                        else
+                        {
+                            acumulador.rejeitar(linha.numero(), "Falha ao publicar o voto: " + falha.getMessage());
+                        }
+                    }));
+        }
+        
+        // as falhas já foram contadas por voto; aqui só interessa saber quando o bloco inteiro terminou
+        lotesEmVoo.addLast(CompletableFuture.allOf(envios.toArray(CompletableFuture[]::new))
+                .handle((ignorado, falha) -> null));
+        
+        while (lotesEmVoo.size() > loteVotosConfig.getLotesEmVoo())
+        {
+            lotesEmVoo.removeFirst().join();
+        }
+    }
+    
+    // antes da transação: uma só consulta para todos os CPFs provisórios, sem segurar conexão do banco
+    public Set<String> conferirProvisorios(Collection<VotacaoMessage> messages)
+    {
+        Set<String> cpfs = messages.stream()
+                .filter(VotacaoMessage::isProvisorio)
+                .map(VotacaoMessage::getCpfAssociado)
+                .collect(Collectors.toSet());
+        
+        return cpfs.isEmpty() ? Set.of() : validacaoCpfProtegida.confirmarCpfs(cpfs);
     }
     
     @Transactional
-    public void processarVoto(VotacaoMessage message)
+    public void processarVoto(VotacaoMessage message, Set<String> provisoriosInaptos)
     {
-        log.info("Processando mensagem de voto: {}", message);
+        metricasVotacao.processamentoVoto().record(() -> metricasVotacao.contar(processar(message, provisoriosInaptos)));
+    }
+    
+    private MetricasVotacao.Desfecho processar(VotacaoMessage message, Set<String> provisoriosInaptos)
+    {
+        log.debug("Processando mensagem de voto: {}", message);
         
-        Pauta pauta = pautaRepository.findById(message.getPautaId())
-                .orElseThrow(() -> new ResourceNotFoundException("Pauta", message.getPautaId()));
+        if (!metadadosVotacao.pautaExiste(message.getPautaId()))
+        {
+            metricasVotacao.contar(MetricasVotacao.Desfecho.PAUTA_INEXISTENTE);
+            throw new ResourceNotFoundException("Pauta", message.getPautaId());
+        }
         
-        Optional<SessaoVotacao> sessaoOpt = sessaoVotacaoRepository.findByPautaId(message.getPautaId());
+        Optional<ResumoSessao> sessaoOpt = metadadosVotacao.obterSessao(message.getPautaId());
         
         if (sessaoOpt.isEmpty()) 
         {
             log.error("Não existe sessão de votação para a pauta {}", message.getPautaId());
-            return;
+            return MetricasVotacao.Desfecho.SEM_SESSAO;
         }
         
-        SessaoVotacao sessao = sessaoOpt.get();
+        ResumoSessao sessao = sessaoOpt.get();
 
         if (!sessao.estaAberta())
         {
             log.error("A sessão de votação para a pauta {} está encerrada", message.getPautaId());
-            return;
+            registroVotantes.descartar(message.getPautaId());
+            return MetricasVotacao.Desfecho.SESSAO_ENCERRADA;
         }
         
-        Optional<Voto> votoExistente = votoRepository.findByPautaIdAndCpfAssociado(
-                message.getPautaId(), message.getCpfAssociado());
+        if (jaVotou(message.getPautaId(), message.getCpfAssociado()))
+        {
+            if (amostragemLog.amostrar())
+            {
+                log.warn("O associado {} já votou na pauta {}", message.getCpfAssociado(), message.getPautaId());
+            }
+            
+            return MetricasVotacao.Desfecho.DUPLICADO;
+        }
         
-        if (votoExistente.isPresent())
+        if (message.isProvisorio() && provisoriosInaptos.contains(message.getCpfAssociado()))
         {
-            log.warn("O associado {} já votou na pauta {}", message.getCpfAssociado(), message.getPautaId());
-            return;
+            log.warn("Voto provisório descartado: associado {} não está apto a votar na pauta {}", message.getCpfAssociado(), message.getPautaId());
+            return MetricasVotacao.Desfecho.PROVISORIO_DESCARTADO;
         }
         
-        Voto.OpcaoVoto opcaoVoto = Voto.OpcaoVoto.valueOf(message.getVoto());
+        Voto.OpcaoVoto opcaoVoto;
+        
+        try
+        {
+            opcaoVoto = Voto.OpcaoVoto.valueOf(message.getVoto());
+        }
+        catch (IllegalArgumentException | NullPointerException e)
+        {
+            metricasVotacao.contar(MetricasVotacao.Desfecho.OPCAO_INVALIDA);
+            throw e;
+        }
         
         Voto voto = Voto.builder()
-                .pauta(pauta)
+                .pauta(pautaRepository.getReferenceById(message.getPautaId()))
                 .cpfAssociado(message.getCpfAssociado())
                 .opcaoVoto(opcaoVoto)
                 .build();
         
         voto = votoRepository.save(voto);
-        log.info("Voto registrado com ID: {} para associado: {} na pauta: {}", 
-                voto.getId(), message.getCpfAssociado(), message.getPautaId());
+        placarVotacao.registrarVoto(message.getPautaId(), opcaoVoto);
+        registroVotantes.registrar(message.getPautaId(), message.getCpfAssociado());
+        
+        if (amostragemLog.amostrar())
+        {
+            log.info("Voto registrado com ID: {} para associado: {} na pauta: {}", 
+                    voto.getId(), message.getCpfAssociado(), message.getPautaId());
+        }
+        
+        return MetricasVotacao.Desfecho.ACEITO;
+    }
+
+    // a primeira mensagem com erro interrompe o lote; os votos anteriores são gravados
+    @Transactional(noRollbackFor = BatchListenerFailedException.class)
+    public int processarVotosEmLote(List<VotacaoMessage> messages, Set<String> provisoriosInaptos)
+    {
+        return metricasVotacao.processamentoLote().record(() -> processarLote(messages, provisoriosInaptos));
+    }
+    
+    private int processarLote(List<VotacaoMessage> messages, Set<String> provisoriosInaptos)
+    {
+        log.info("Processando lote de {} mensagens de voto", messages.size());
+        
+        Set<Long> pautaIds = messages.stream()
+                .map(VotacaoMessage::getPautaId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        
+        Collection<Long> pautas = metadadosVotacao.pautasExistentes(pautaIds);
+        Map<Long, ResumoSessao> sessoes = metadadosVotacao.obterSessoes(pautaIds);
+        
+        List<VotoCandidato> candidatos = new ArrayList<>();
+        Map<MetricasVotacao.Desfecho, Integer> desfechos = new EnumMap<>(MetricasVotacao.Desfecho.class);
+        BatchListenerFailedException falha = null;
+        
+        for (int indice = 0; indice < messages.size() && falha == null; indice++)
+        {
+            VotacaoMessage message = messages.get(indice);
+            
+            try
+            {
+                triar(message, pautas, sessoes, provisoriosInaptos, desfechos).ifPresent(opcaoVoto -> candidatos.add(new VotoCandidato(message, opcaoVoto)));
+            }
+            catch (RuntimeException e)
+            {
+                log.error("Erro ao processar votação: {}", message, e);
+                falha = new BatchListenerFailedException("Erro ao processar votação", e, indice);
+            }
+        }
+        
+        int registrados = gravar(candidatos, pautas, desfechos);
+        
+        // só depois da gravação, porque um conflito reprocessa as mensagens uma a uma
+        desfechos.forEach(metricasVotacao::contar);
+        log.info("{} votos registrados de um lote de {} mensagens", registrados, messages.size());
+        
+        if (falha != null)
+        {
+            throw falha;
+        }
+        
+        return registrados;
+    }
+    
+    // vazio quando a mensagem é descartada; exceção quando vai para o tratador de erros
+    private Optional<Voto.OpcaoVoto> triar(VotacaoMessage message, Collection<Long> pautas, Map<Long, ResumoSessao> sessoes,
+                                           Set<String> provisoriosInaptos, Map<MetricasVotacao.Desfecho, Integer> desfechos)
+    {
+        if (!pautas.contains(message.getPautaId()))
+        {
+            throw new ResourceNotFoundException("Pauta", message.getPautaId());
+        }
+        
+        ResumoSessao sessao = sessoes.get(message.getPautaId());
+        
+        if (sessao == null)
+        {
+            log.error("Não existe sessão de votação para a pauta {}", message.getPautaId());
+            anotar(desfechos, MetricasVotacao.Desfecho.SEM_SESSAO);
+            return Optional.empty();
+        }
+        
+        if (!sessao.estaAberta())
+        {
+            log.error("A sessão de votação para a pauta {} está encerrada", message.getPautaId());
+            registroVotantes.descartar(message.getPautaId());
+            anotar(desfechos, MetricasVotacao.Desfecho.SESSAO_ENCERRADA);
+            return Optional.empty();
+        }
+        
+        if (registroVotantes.consultar(message.getPautaId(), message.getCpfAssociado()) == RegistroVotantes.Situacao.JA_VOTOU)
+        {
+            if (amostragemLog.amostrar())
+            {
+                log.warn("O associado {} já votou na pauta {}", message.getCpfAssociado(), message.getPautaId());
+            }
+            
+            anotar(desfechos, MetricasVotacao.Desfecho.DUPLICADO);
+            return Optional.empty();
+        }
+        
+        if (message.isProvisorio() && provisoriosInaptos.contains(message.getCpfAssociado()))
+        {
+            log.warn("Voto provisório descartado: associado {} não está apto a votar na pauta {}", message.getCpfAssociado(), message.getPautaId());
+            anotar(desfechos, MetricasVotacao.Desfecho.PROVISORIO_DESCARTADO);
+            return Optional.empty();
+        }
+        
+        return Optional.of(Voto.OpcaoVoto.valueOf(message.getVoto()));
+    }
+    
+    private int gravar(List<VotoCandidato> candidatos, Collection<Long> pautas, Map<MetricasVotacao.Desfecho, Integer> desfechos)
+    {
+        if (candidatos.isEmpty())
+        {
+            return 0;
+        }
+        
+        Set<String> cpfs = candidatos.stream().map(candidato -> candidato.message().getCpfAssociado()).collect(Collectors.toSet());
+        
+        Set<String> jaVotaram = votoRepository.findVotosExistentes(pautas, cpfs).stream()
+                .map(chave -> chaveVoto(chave.getPautaId(), chave.getCpfAssociado()))
+                .collect(Collectors.toCollection(HashSet::new));
+        
+        LocalDateTime agora = LocalDateTime.now();
+        List<Voto> votos = new ArrayList<>();
+        Map<Long, Pauta> referencias = new HashMap<>();
+        
+        for (VotoCandidato candidato : candidatos)
+        {
+            VotacaoMessage message = candidato.message();
+            
+            if (!jaVotaram.add(chaveVoto(message.getPautaId(), message.getCpfAssociado())))
+            {
+                if (amostragemLog.amostrar())
+                {
+                    log.warn("O associado {} já votou na pauta {}", message.getCpfAssociado(), message.getPautaId());
+                }
+                
+                anotar(desfechos, MetricasVotacao.Desfecho.DUPLICADO);
+                continue;
+            }
+            
+            votos.add(Voto.builder()
+                    .pauta(referencias.computeIfAbsent(message.getPautaId(), pautaRepository::getReferenceById))
+                    .cpfAssociado(message.getCpfAssociado())
+                    .opcaoVoto(candidato.opcaoVoto())
+                    .dataVoto(agora)
+                    .build());
+        }
+        
+        votoRepository.inserirEmLote(votos);
+        anotar(desfechos, MetricasVotacao.Desfecho.ACEITO, votos.size());
+        placarVotacao.registrarVotos(votos);
+        registroVotantes.registrar(votos);
+        
+        return votos.size();
+    }
+
+    private boolean jaVotou(Long pautaId, String cpfAssociado)
+    {
+        switch (registroVotantes.consultar(pautaId, cpfAssociado))
+        {
+            case JA_VOTOU:
+                return true;
+            case NAO_VOTOU:
+                return false;
+            default:
+                return votoRepository.findByPautaIdAndCpfAssociado(pautaId, cpfAssociado).isPresent();
+        }
+    }
+
+    private static void anotar(Map<MetricasVotacao.Desfecho, Integer> desfechos, MetricasVotacao.Desfecho desfecho)
+    {
+        anotar(desfechos, desfecho, 1);
+    }
+
+    private static void anotar(Map<MetricasVotacao.Desfecho, Integer> desfechos, MetricasVotacao.Desfecho desfecho, int quantidade)
+    {
+        desfechos.merge(desfecho, quantidade, Integer::sum);
+    }
+
+    private static String chaveVoto(Long pautaId, String cpfAssociado)
+    {
+        return pautaId + ":" + cpfAssociado;
+    }
+
+    private record LinhaVoto(long numero, VotoDTO voto) {}
+
+    private record VotoCandidato(VotacaoMessage message, Voto.OpcaoVoto opcaoVoto) {}
+
+    private static final class AcumuladorLote
+    {
+        private final int maxErros;
+        private final List<ResultadoLoteVotosDTO.ErroLinha> erros = new ArrayList<>();
+        private long aceitos;
+        private long rejeitados;
+        private long errosOmitidos;
+
+        private AcumuladorLote(int maxErros)
+        {
+            this.maxErros = maxErros;
+        }
+
+        synchronized void aceitar()
+        {
+            aceitos++;
+        }
+
+        synchronized void rejeitar(long linha, String mensagem)
+        {
+            rejeitados++;
+            
+            if (erros.size() < maxErros)
+            {
+                erros.add(new ResultadoLoteVotosDTO.ErroLinha(linha, mensagem));
+            }
+            else
+            {
+                errosOmitidos++;
+            }
+        }
+
+        synchronized ResultadoLoteVotosDTO resultado(long linhas)
+        {
+            erros.sort(Comparator.comparingLong(ResultadoLoteVotosDTO.ErroLinha::getLinha));
+            
+            return ResultadoLoteVotosDTO.builder()
+                                        .linhas(linhas)
+                                        .aceitos(aceitos)
+                                        .rejeitados(rejeitados)
+                                        .erros(new ArrayList<>(erros))
+                                        .errosOmitidos(errosOmitidos)
+                                        .build();
+        }
     }
 
     @Transactional(readOnly = true)
     public void verificarPautaExiste(Long pautaId) {
-        pautaRepository.findById(pautaId)
-            .orElseThrow(() -> new ResourceNotFoundException("Pauta", pautaId));
+        if (!metadadosVotacao.pautaExiste(pautaId)) {
+            throw new ResourceNotFoundException("Pauta", pautaId);
+        }
     }
 
     @Transactional
     public VotoDTO registrarVotoCompleto(VotoDTO votoDTO) {
-        log.info("Registrando voto completo do associado {} na pauta {}", 
+        log.debug("Registrando voto completo do associado {} na pauta {}", 
                 votoDTO.getCpfAssociado(), votoDTO.getPautaId());
         
-        cpfValidatorClient.validarCpf(votoDTO.getCpfAssociado());
+        boolean confirmado = validacaoCpfProtegida.validar(votoDTO.getCpfAssociado());
         
         verificarPautaExiste(votoDTO.getPautaId());
         
@@ -113,10 +574,11 @@ public class VotoService
                 votoDTO.getPautaId(),
                 votoDTO.getCpfAssociado(),
                 votoDTO.getOpcaoVoto().toString(),
-                System.currentTimeMillis());
+                System.currentTimeMillis(),
+                !confirmado);
         
-        kafkaService.sendMessage("votacao-topic", mensagem);
-        log.info("Mensagem enviada para o Kafka: solicitação de registro de voto");
+        kafkaService.sendMessage("votacao-topic", String.valueOf(mensagem.getPautaId()), mensagem);
+        log.debug("Mensagem enviada para o Kafka: solicitação de registro de voto");
         
         return votoDTO;
     }
@@ -0,0 +1,36 @@
+-- esquema inicial, equivalente ao que o Hibernate gerava com ddl-auto=update; escrito para rodar igual no
+-- PostgreSQL e no H2 (em qualquer modo)
+
+CREATE TABLE pauta (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    titulo          VARCHAR(255),
+    descricao       VARCHAR(1000),
+    data_criacao    TIMESTAMP
+);
+
+CREATE TABLE sessao_votacao (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    pauta_id        BIGINT,
+    data_abertura   TIMESTAMP,
+    data_fechamento TIMESTAMP,
+    ativa           BOOLEAN NOT NULL,
+    CONSTRAINT uk_sessao_votacao_pauta UNIQUE ( pauta_id ),
+    CONSTRAINT fk_sessao_votacao_pauta FOREIGN KEY ( pauta_id ) REFERENCES pauta ( id )
+);
+
+-- uk_associado_pauta também serve as buscas por pauta_id, então a chave estrangeira não precisa de índice próprio
+CREATE TABLE voto (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    pauta_id        BIGINT,
+    cpf_associado   VARCHAR(255) NOT NULL,
+    voto            VARCHAR(255) NOT NULL,
+    data_voto       TIMESTAMP,
+    CONSTRAINT uk_associado_pauta UNIQUE ( pauta_id, cpf_associado ),
+    CONSTRAINT fk_voto_pauta FOREIGN KEY ( pauta_id ) REFERENCES pauta ( id )
+);
+
+CREATE TABLE lideranca (
+    recurso         VARCHAR(100) PRIMARY KEY,
+    instancia       VARCHAR(200),
+    expira_em       TIMESTAMP
+);
@@ -0,0 +1,5 @@
+-- contagem de votos por pauta e opção (placar e resultado)
+CREATE INDEX idx_voto_pauta_opcao ON voto ( pauta_id, voto );
+
+-- varredura periódica das sessões ativas com fechamento vencido
+CREATE INDEX idx_sessao_votacao_ativa_fechamento ON sessao_votacao ( ativa, data_fechamento );
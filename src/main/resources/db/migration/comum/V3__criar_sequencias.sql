@@ -0,0 +1,6 @@
+-- sequências das entidades com alocação em blocos: o incremento precisa ser igual ao allocationSize do
+-- @SequenceGenerator, porque o Hibernate usa os 50 ids anteriores a cada valor lido. As colunas continuam
+-- com a identidade de V1, que deixa de ser usada
+CREATE SEQUENCE pauta_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE sessao_votacao_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE voto_seq START WITH 1 INCREMENT BY 50;
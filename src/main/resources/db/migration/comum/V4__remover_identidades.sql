@@ -0,0 +1,4 @@
+-- os ids vêm das sequências de V3 (Hibernate e inserirEmLote); a identidade de V1 fica sem uso e só confunde
+ALTER TABLE pauta ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE sessao_votacao ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE voto ALTER COLUMN id DROP IDENTITY;
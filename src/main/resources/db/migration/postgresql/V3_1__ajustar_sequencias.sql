@@ -0,0 +1,5 @@
+-- bancos que já tinham linhas gravadas pela identidade: o próximo valor lido fica 50 acima do maior id, e o bloco
+-- que o Hibernate usa a partir dele começa depois das linhas existentes
+SELECT setval( 'pauta_seq', COALESCE( MAX( id ), 0 ) + 50, false ) FROM pauta;
+SELECT setval( 'sessao_votacao_seq', COALESCE( MAX( id ), 0 ) + 50, false ) FROM sessao_votacao;
+SELECT setval( 'voto_seq', COALESCE( MAX( id ), 0 ) + 50, false ) FROM voto;
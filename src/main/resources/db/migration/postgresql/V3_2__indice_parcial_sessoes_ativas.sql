@@ -0,0 +1,5 @@
+-- a varredura de sessões expiradas só procura sessões ativas: o índice parcial guarda apenas essas, fica do tamanho
+-- das sessões abertas em vez de crescer com o histórico e substitui o índice composto de V2
+CREATE INDEX idx_sessao_votacao_ativas_fechamento ON sessao_votacao ( data_fechamento ) WHERE ativa;
+
+DROP INDEX idx_sessao_votacao_ativa_fechamento;
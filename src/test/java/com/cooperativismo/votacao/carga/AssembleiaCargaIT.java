@@ -0,0 +1,430 @@
+package com.cooperativismo.votacao.carga;
+
+import com.cooperativismo.votacao.VotacaoApplication;
+import com.cooperativismo.votacao.model.Pauta;
+import com.cooperativismo.votacao.repository.PautaRepository;
+import com.cooperativismo.votacao.repository.SessaoVotacaoRepository;
+import com.cooperativismo.votacao.service.SessaoVotacaoService;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Simula um dia de assembleia contra um nó: pautas com popularidade desigual,
+ * CPFs válidos sorteados de uma base de associados e uma fração de votos repetidos.
+ * Mede a latência de POST /v1/votos, o lag do grupo votacao-group e o tempo até
+ * um voto aparecer no resultado (via uma pauta-sonda votada uma vez a cada intervalo).
+ */
+public class AssembleiaCargaIT
+{
+    private static final int VOTOS = Integer.getInteger( "carga.votos", 1_000_000 );
+    private static final int PAUTAS = Integer.getInteger( "carga.pautas", 20 );
+    private static final int ASSOCIADOS = Integer.getInteger( "carga.associados", 500_000 );
+    private static final int CONCORRENCIA = Integer.getInteger( "carga.concorrencia", 256 );
+    private static final double TAXA_DUPLICADOS = Double.parseDouble( System.getProperty( "carga.taxa-duplicados", "0.03" ) );
+    private static final long INTERVALO_SONDA_MS = Long.getLong( "carga.intervalo-sonda-ms", 500 );
+    private static final int PARTICOES = 6;
+
+    private static EmbeddedKafkaBroker broker;
+
+    @BeforeAll
+    static void iniciarBroker()
+    {
+        broker = new EmbeddedKafkaBroker( 1, true, PARTICOES, "votacao-topic", "pauta-topic", "sessao-topic", "resultado-topic", "notificacao-topic" );
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void encerrarBroker()
+    {
+        broker.destroy();
+    }
+
+    @Test
+    @DisplayName( "Simula uma tempestade de votos e mede vazão, latência, lag do consumidor e atraso até o resultado" )
+    void simularDiaDeAssembleia() throws Exception
+    {
+        // como argumentos: as properties() do builder perderiam para o application.properties
+        try ( ConfigurableApplicationContext contexto = new SpringApplicationBuilder( VotacaoApplication.class, CargaConfig.class )
+                      .profiles( "carga" )
+                      .run( "--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:assembleia;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                            "--spring.h2.console.enabled=false",
+                            "--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                            "--votacao.kafka.particoes=" + PARTICOES,
+                            "--callback.enabled=false",
+                            "--logging.level.com.cooperativismo.votacao=WARN",
+                            "--votacao.executor.capacidade-fila=" + CONCORRENCIA * 4,
+                            "--votacao.cpf.protecao.max-concorrentes=" + CONCORRENCIA,
+                            "--carga.latencia-cpf-ms=0" );
+              AdminClient admin = AdminClient.create( Map.of( AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString() ) ) )
+        {
+            SessaoVotacaoService sessaoVotacaoService = contexto.getBean( SessaoVotacaoService.class );
+            List<Long> pautas = abrirPautas( contexto, PAUTAS + 1 );
+            Long sonda = pautas.remove( PAUTAS );
+
+            int porta = ( (WebServerApplicationContext) contexto ).getWebServer().getPort();
+            URI uri = URI.create( "http://localhost:" + porta + "/api/v1/votos" );
+            HttpClient cliente = HttpClient.newBuilder().connectTimeout( Duration.ofSeconds( 5 ) ).build();
+
+            Recorder latencias = new Recorder( TimeUnit.SECONDS.toNanos( 60 ), 3 );
+            Histogram atrasoResultado = new Histogram( TimeUnit.MINUTES.toNanos( 10 ), 3 );
+            AtomicLong aceitos = new AtomicLong();
+            AtomicLong unicosAceitos = new AtomicLong();
+            AtomicLong erros4xx = new AtomicLong();
+            AtomicLong erros5xx = new AtomicLong();
+            AtomicLong falhasConexao = new AtomicLong();
+            AtomicLong maiorLag = new AtomicLong();
+            AtomicBoolean emCarga = new AtomicBoolean( true );
+
+            ScheduledExecutorService monitor = Executors.newSingleThreadScheduledExecutor();
+            monitor.scheduleAtFixedRate( () -> maiorLag.accumulateAndGet( lagDoConsumidor( admin ), Math::max ), 1, 1, TimeUnit.SECONDS );
+
+            Thread threadSonda = new Thread( () -> sondar( cliente, uri, sessaoVotacaoService, sonda, emCarga, atrasoResultado ), "sonda-resultado" );
+            threadSonda.start();
+
+            GeradorVotos gerador = new GeradorVotos( pautas );
+            Semaphore emVoo = new Semaphore( CONCORRENCIA );
+            long inicio = System.nanoTime();
+
+            for ( int i = 0; i < VOTOS; i++ )
+            {
+                GeradorVotos.Voto voto = gerador.proximo();
+                HttpRequest requisicao = requisicao( uri, voto.pautaId, voto.cpf, voto.opcao );
+
+                emVoo.acquire();
+                long envio = System.nanoTime();
+
+                cliente.sendAsync( requisicao, HttpResponse.BodyHandlers.discarding() ).whenComplete( ( resposta, erro ) ->
+                {
+                    latencias.recordValue( Math.min( System.nanoTime() - envio, TimeUnit.SECONDS.toNanos( 60 ) ) );
+
+                    if ( erro != null )
+                    {
+                        falhasConexao.incrementAndGet();
+                    }
+                    else if ( resposta.statusCode() >= 500 )
+                    {
+                        erros5xx.incrementAndGet();
+                    }
+                    else if ( resposta.statusCode() >= 400 )
+                    {
+                        erros4xx.incrementAndGet();
+                    }
+                    else
+                    {
+                        aceitos.incrementAndGet();
+
+                        if ( ! voto.duplicado )
+                        {
+                            unicosAceitos.incrementAndGet();
+                        }
+                    }
+
+                    emVoo.release();
+                } );
+            }
+
+            emVoo.acquire( CONCORRENCIA );
+            long duracaoEnvio = System.nanoTime() - inicio;
+
+            long fimEnvio = System.nanoTime();
+            long visiveis = aguardarResultados( sessaoVotacaoService, pautas, unicosAceitos.get(), TimeUnit.MINUTES.toNanos( 10 ) );
+            long drenagem = System.nanoTime() - fimEnvio;
+
+            emCarga.set( false );
+            threadSonda.join();
+            monitor.shutdownNow();
+
+            Histogram latencia = latencias.getIntervalHistogram();
+            double segundos = duracaoEnvio / 1e9;
+
+            System.out.printf( "%n=== Dia de assembleia: %d votos, %d pautas, concorrência %d, %.1f%% duplicados ===%n",
+                               VOTOS, PAUTAS, CONCORRENCIA, TAXA_DUPLICADOS * 100 );
+            System.out.printf( "vazão HTTP              %10.0f req/s (%d aceitos)%n", VOTOS / segundos, aceitos.get() );
+            System.out.printf( "latência p50/p99/p999   %8.2f / %8.2f / %8.2f ms%n",
+                               latencia.getValueAtPercentile( 50 ) / 1e6,
+                               latencia.getValueAtPercentile( 99 ) / 1e6,
+                               latencia.getValueAtPercentile( 99.9 ) / 1e6 );
+            System.out.printf( "erros 4xx / 5xx / conexão %8d / %d / %d (5xx: %.3f%%)%n",
+                               erros4xx.get(), erros5xx.get(), falhasConexao.get(), 100.0 * erros5xx.get() / VOTOS );
+            System.out.printf( "maior lag votacao-topic %10d mensagens%n", maiorLag.get() );
+            System.out.printf( "voto → resultado p50/p99 %7.2f / %8.2f ms (%d sondas)%n",
+                               atrasoResultado.getValueAtPercentile( 50 ) / 1e6,
+                               atrasoResultado.getValueAtPercentile( 99 ) / 1e6,
+                               atrasoResultado.getTotalCount() );
+            System.out.printf( "drenagem após a carga   %10.2f s (%d de %d votos únicos visíveis)%n",
+                               drenagem / 1e9, visiveis, unicosAceitos.get() );
+
+            assertTrue( visiveis >= unicosAceitos.get(), "Votos aceitos não apareceram no resultado" );
+        }
+    }
+
+    private List<Long> abrirPautas( ConfigurableApplicationContext contexto, int quantidade ) throws InterruptedException
+    {
+        PautaRepository pautaRepository = contexto.getBean( PautaRepository.class );
+        SessaoVotacaoRepository sessaoVotacaoRepository = contexto.getBean( SessaoVotacaoRepository.class );
+        SessaoVotacaoService sessaoVotacaoService = contexto.getBean( SessaoVotacaoService.class );
+        List<Long> pautas = new ArrayList<>();
+
+        for ( int i = 0; i < quantidade; i++ )
+        {
+            Pauta pauta = pautaRepository.save( Pauta.builder().titulo( "Pauta da assembleia " + i ).build() );
+
+            sessaoVotacaoService.abrirSessao( pauta.getId(), 24 * 60 );
+            pautas.add( pauta.getId() );
+        }
+
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos( 60 );
+
+        for ( Long pautaId : pautas )
+        {
+            while ( sessaoVotacaoRepository.findByPautaId( pautaId ).isEmpty() )
+            {
+                if ( System.nanoTime() > limite )
+                {
+                    throw new IllegalStateException( "Sessão da pauta " + pautaId + " não foi aberta pelo consumidor de sessao-topic" );
+                }
+
+                Thread.sleep( 50 );
+            }
+        }
+
+        return pautas;
+    }
+
+    private void sondar( HttpClient cliente, URI uri, SessaoVotacaoService sessaoVotacaoService, Long sonda, AtomicBoolean emCarga, Histogram atraso )
+    {
+        long votos = 0;
+
+        while ( emCarga.get() )
+        {
+            try
+            {
+                long inicio = System.nanoTime();
+                HttpResponse<Void> resposta = cliente.send( requisicao( uri, sonda, GeradorVotos.cpf( ASSOCIADOS + votos ), "SIM" ),
+                                                            HttpResponse.BodyHandlers.discarding() );
+
+                if ( resposta.statusCode() < 300 )
+                {
+                    votos++;
+
+                    while ( emCarga.get() && sessaoVotacaoService.obterResultado( sonda ).getTotalVotos() < votos )
+                    {
+                        Thread.sleep( 2 );
+                    }
+
+                    atraso.recordValue( Math.min( System.nanoTime() - inicio, atraso.getHighestTrackableValue() ) );
+                }
+
+                Thread.sleep( INTERVALO_SONDA_MS );
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            catch ( Exception e )
+            {
+                // a sonda não deve derrubar a carga; a próxima rodada tenta de novo
+            }
+        }
+    }
+
+    private long aguardarResultados( SessaoVotacaoService sessaoVotacaoService, List<Long> pautas, long esperados, long limiteNanos ) throws InterruptedException
+    {
+        long limite = System.nanoTime() + limiteNanos;
+        long visiveis = 0;
+
+        while ( System.nanoTime() < limite )
+        {
+            visiveis = sessaoVotacaoService.obterResultados( pautas ).stream().mapToLong( resultado -> resultado.getTotalVotos() ).sum();
+
+            if ( visiveis >= esperados )
+            {
+                break;
+            }
+
+            Thread.sleep( 100 );
+        }
+
+        return visiveis;
+    }
+
+    private static long lagDoConsumidor( AdminClient admin )
+    {
+        try
+        {
+            Map<TopicPartition, OffsetAndMetadata> confirmados = admin.listConsumerGroupOffsets( "votacao-group" )
+                                                                      .partitionsToOffsetAndMetadata()
+                                                                      .get( 5, TimeUnit.SECONDS );
+            Map<TopicPartition, OffsetSpec> consulta = new HashMap<>();
+
+            for ( int particao = 0; particao < PARTICOES; particao++ )
+            {
+                consulta.put( new TopicPartition( "votacao-topic", particao ), OffsetSpec.latest() );
+            }
+
+            long lag = 0;
+
+            for ( Map.Entry<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> fim : admin.listOffsets( consulta ).all().get( 5, TimeUnit.SECONDS ).entrySet() )
+            {
+                OffsetAndMetadata confirmado = confirmados.get( fim.getKey() );
+
+                lag += fim.getValue().offset() - ( confirmado == null ? 0 : confirmado.offset() );
+            }
+
+            return lag;
+        }
+        catch ( Exception e )
+        {
+            return 0;
+        }
+    }
+
+    private static HttpRequest requisicao( URI uri, Long pautaId, String cpf, String opcao )
+    {
+        String corpo = "{\"pautaId\":" + pautaId + ",\"cpfAssociado\":\"" + cpf + "\",\"opcaoVoto\":\"" + opcao + "\"}";
+
+        return HttpRequest.newBuilder( uri )
+                          .header( "Content-Type", "application/json" )
+                          .POST( HttpRequest.BodyPublishers.ofString( corpo ) )
+                          .build();
+    }
+
+    /*
+     * Pautas são escolhidas com viés (as primeiras concentram a maior parte dos votos).
+     * Cada pauta percorre a base de associados numa permutação própria, então um CPF
+     * vota uma vez por pauta; com probabilidade TAXA_DUPLICADOS o gerador repete um voto
+     * recente, como um associado que clica duas vezes ou um app que reenvia.
+     */
+    static class GeradorVotos
+    {
+        private static final long PASSO = 7_919;
+
+        private final List<Long> pautas;
+        private final long[] votantesPorPauta;
+        private final Voto[] recentes = new Voto[ 4096 ];
+        private final SplittableRandom random = new SplittableRandom( 42 );
+        private long gerados;
+
+        GeradorVotos( List<Long> pautas )
+        {
+            this.pautas = pautas;
+            this.votantesPorPauta = new long[ pautas.size() ];
+        }
+
+        Voto proximo()
+        {
+            gerados++;
+
+            if ( gerados > recentes.length && random.nextDouble() < TAXA_DUPLICADOS )
+            {
+                Voto original = recentes[ random.nextInt( recentes.length ) ];
+
+                return new Voto( original.pautaId, original.cpf, original.opcao, true );
+            }
+
+            double sorteio = random.nextDouble();
+            int indice = (int) ( pautas.size() * sorteio * sorteio );
+
+            while ( votantesPorPauta[ indice ] >= ASSOCIADOS )
+            {
+                indice = ( indice + 1 ) % pautas.size();
+            }
+
+            long associado = ( votantesPorPauta[ indice ]++ * PASSO + indice ) % ASSOCIADOS;
+            Voto voto = new Voto( pautas.get( indice ), cpf( associado ), random.nextInt( 100 ) < 58 ? "SIM" : "NAO", false );
+
+            recentes[ (int) ( gerados % recentes.length ) ] = voto;
+
+            return voto;
+        }
+
+        static String cpf( long associado )
+        {
+            int[] digitos = new int[ 11 ];
+            long base = 100_000_000L + associado;
+
+            for ( int i = 8; i >= 0; i-- )
+            {
+                digitos[ i ] = (int) ( base % 10 );
+                base /= 10;
+            }
+
+            digitos[ 9 ] = digitoVerificador( digitos, 9 );
+            digitos[ 10 ] = digitoVerificador( digitos, 10 );
+
+            StringBuilder cpf = new StringBuilder( 11 );
+
+            for ( int digito : digitos )
+            {
+                cpf.append( digito );
+            }
+
+            return cpf.toString();
+        }
+
+        private static int digitoVerificador( int[] digitos, int posicao )
+        {
+            int soma = 0;
+
+            for ( int i = 0; i < posicao; i++ )
+            {
+                soma += digitos[ i ] * ( posicao + 1 - i );
+            }
+
+            int resto = soma % 11;
+
+            return resto < 2 ? 0 : 11 - resto;
+        }
+
+        static class Voto
+        {
+            private final Long pautaId;
+            private final String cpf;
+            private final String opcao;
+            private final boolean duplicado;
+
+            Voto( Long pautaId, String cpf, String opcao, boolean duplicado )
+            {
+                this.pautaId = pautaId;
+                this.cpf = cpf;
+                this.opcao = opcao;
+                this.duplicado = duplicado;
+            }
+        }
+    }
+}
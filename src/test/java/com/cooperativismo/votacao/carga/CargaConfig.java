@@ -0,0 +1,42 @@
+package com.cooperativismo.votacao.carga;
+
+import com.cooperativismo.votacao.client.CpfValidatorClient;
+import com.cooperativismo.votacao.dto.ValidacaoCpfDTO;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@Profile( "carga" )
+public class CargaConfig
+{
+    @Bean
+    @Primary
+    public CpfValidatorClient cpfValidatorClientComLatencia( Environment environment )
+    {
+        long latencia = environment.getProperty( "carga.latencia-cpf-ms", Long.class, 20L );
+
+        return new CpfValidatorClient()
+        {
+            @Override
+            public ValidacaoCpfDTO validarCpf( String cpf )
+            {
+                if ( latencia > 0 )
+                {
+                    try
+                    {
+                        Thread.sleep( latencia );
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                return new ValidacaoCpfDTO( "ABLE_TO_VOTE" );
+            }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.cooperativismo.votacao.carga;
+
+import com.cooperativismo.votacao.config.ProdutorKafkaConfig;
+import com.cooperativismo.votacao.dto.VotacaoMessage;
+import com.cooperativismo.votacao.service.KafkaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProdutorKafkaCargaIT
+{
+    private static final int MENSAGENS = Integer.getInteger( "carga.mensagens", 200000 );
+    private static final int PAUTAS = Integer.getInteger( "carga.pautas", 100 );
+
+    private static EmbeddedKafkaBroker broker;
+
+    @BeforeAll
+    static void iniciarBroker()
+    {
+        broker = new EmbeddedKafkaBroker( 1, true, 6, "votacao-topic" );
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void encerrarBroker()
+    {
+        broker.destroy();
+    }
+
+    @Test
+    @DisplayName( "Compara a vazão de publicação de votos entre perfis de produtor" )
+    void compararPerfis() throws Exception
+    {
+        Map<String, ProdutorKafkaConfig> perfis = new LinkedHashMap<>();
+
+        perfis.put( "sem-lote", new ProdutorKafkaConfig( "all", true, 0, 16384, "none", 5, 120000 ) );
+        perfis.put( "lz4-linger-5", new ProdutorKafkaConfig( "all", true, 5, 65536, "lz4", 5, 120000 ) );
+        perfis.put( "zstd-linger-20", new ProdutorKafkaConfig( "all", true, 20, 131072, "zstd", 5, 120000 ) );
+
+        System.out.printf( "%n%-16s %12s %10s%n", "perfil", "msg/s", "tempo(ms)" );
+
+        for ( Map.Entry<String, ProdutorKafkaConfig> perfil : perfis.entrySet() )
+        {
+            publicar( perfil.getValue(), MENSAGENS / 10 );
+
+            long inicio = System.nanoTime();
+            publicar( perfil.getValue(), MENSAGENS );
+            long duracao = System.nanoTime() - inicio;
+
+            double vazao = MENSAGENS / ( duracao / 1e9 );
+
+            System.out.printf( "%-16s %12.0f %10d%n", perfil.getKey(), vazao, TimeUnit.NANOSECONDS.toMillis( duracao ) );
+
+            assertTrue( vazao > 0 );
+        }
+    }
+
+    private void publicar( ProdutorKafkaConfig perfil, int quantidade ) throws Exception
+    {
+        Map<String, Object> propriedades = new HashMap<>();
+
+        propriedades.put( ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString() );
+        propriedades.put( ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class );
+        propriedades.put( ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class );
+        propriedades.putAll( perfil.propriedades() );
+
+        DefaultKafkaProducerFactory<String, Object> producerFactory = new DefaultKafkaProducerFactory<>( propriedades );
+
+        try
+        {
+            KafkaService kafkaService = new KafkaService( new KafkaTemplate<>( producerFactory ), new SimpleMeterRegistry() );
+            CompletableFuture<?>[] envios = new CompletableFuture[ quantidade ];
+
+            for ( int i = 0; i < quantidade; i++ )
+            {
+                long pautaId = i % PAUTAS;
+                VotacaoMessage mensagem = new VotacaoMessage( null, pautaId, String.format( "%011d", i ), i % 2 == 0 ? "SIM" : "NAO", System.currentTimeMillis() );
+
+                envios[ i ] = kafkaService.sendMessage( "votacao-topic", String.valueOf( pautaId ), mensagem );
+            }
+
+            CompletableFuture.allOf( envios ).get( 5, TimeUnit.MINUTES );
+        }
+        finally
+        {
+            producerFactory.destroy();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.cooperativismo.votacao.carga;
+
+import com.cooperativismo.votacao.VotacaoApplication;
+import com.cooperativismo.votacao.model.Pauta;
+import com.cooperativismo.votacao.model.SessaoVotacao;
+import com.cooperativismo.votacao.repository.PautaRepository;
+import com.cooperativismo.votacao.repository.SessaoVotacaoRepository;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ThreadsVirtuaisCargaIT
+{
+    private static final int REQUISICOES = Integer.getInteger( "carga.requisicoes", 20000 );
+    private static final int CONCORRENCIA = Integer.getInteger( "carga.concorrencia", 400 );
+    private static final long LATENCIA_CPF_MS = Long.getLong( "carga.latencia-cpf-ms", 20 );
+    // o mesmo limite de tarefas simultâneas nos dois modos, para a comparação medir só o tipo de thread
+    private static final int LIMITE_CONCORRENCIA = Integer.getInteger( "carga.limite-concorrencia", 200 );
+
+    private static EmbeddedKafkaBroker broker;
+
+    @BeforeAll
+    static void iniciarBroker()
+    {
+        broker = new EmbeddedKafkaBroker( 1, true, 3, "votacao-topic", "pauta-topic", "sessao-topic", "resultado-topic", "notificacao-topic" );
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void encerrarBroker()
+    {
+        broker.destroy();
+    }
+
+    @Test
+    @DisplayName( "Compara vazão e p99 de /v1/votos entre threads de plataforma e threads virtuais" )
+    void compararModosDeExecucao() throws Exception
+    {
+        Resultado plataforma = executarCarga( false );
+        Resultado virtuais = executarCarga( true );
+
+        System.out.printf( "%n%-20s %12s %10s %10s %10s%n", "modo", "req/s", "p50(ms)", "p99(ms)", "erros" );
+        System.out.println( plataforma );
+        System.out.println( virtuais );
+
+        assertEquals( 0, plataforma.erros );
+        assertEquals( 0, virtuais.erros );
+    }
+
+    private Resultado executarCarga( boolean threadsVirtuais ) throws Exception
+    {
+        String modo = threadsVirtuais ? "threads-virtuais" : "threads-plataforma";
+
+        try ( ConfigurableApplicationContext contexto = new SpringApplicationBuilder( VotacaoApplication.class, CargaConfig.class )
+                      .profiles( "carga" )
+                      .run( "--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:" + modo + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                            "--spring.h2.console.enabled=false",
+                            "--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                            "--spring.kafka.consumer.group-id=" + modo,
+                            "--callback.enabled=false",
+                            "--logging.level.com.cooperativismo.votacao=WARN",
+                            "--votacao.threads-virtuais.enabled=" + threadsVirtuais,
+                            "--votacao.executor.tamanho-pool=" + LIMITE_CONCORRENCIA,
+                            "--votacao.executor.capacidade-fila=" + REQUISICOES,
+                            "--votacao.cpf.protecao.max-concorrentes=" + LIMITE_CONCORRENCIA,
+                            "--carga.latencia-cpf-ms=" + LATENCIA_CPF_MS ) )
+        {
+            Pauta pauta = contexto.getBean( PautaRepository.class ).save( Pauta.builder().titulo( "Carga " + modo ).build() );
+
+            contexto.getBean( SessaoVotacaoRepository.class ).save( SessaoVotacao.builder()
+                                                                               .pauta( pauta )
+                                                                               .dataFechamento( LocalDateTime.now().plusHours( 1 ) )
+                                                                               .ativa( true )
+                                                                               .build() );
+
+            int porta = ( (WebServerApplicationContext) contexto ).getWebServer().getPort();
+            URI uri = URI.create( "http://localhost:" + porta + "/api/v1/votos" );
+
+            HttpClient cliente = HttpClient.newBuilder().connectTimeout( Duration.ofSeconds( 5 ) ).build();
+            Histogram latencias = new Histogram( TimeUnit.SECONDS.toNanos( 60 ), 3 );
+            AtomicLong erros = new AtomicLong();
+
+            disparar( cliente, uri, pauta.getId(), REQUISICOES / 10, new Histogram( TimeUnit.SECONDS.toNanos( 60 ), 3 ), new AtomicLong() );
+
+            long inicio = System.nanoTime();
+            disparar( cliente, uri, pauta.getId(), REQUISICOES, latencias, erros );
+            long duracao = System.nanoTime() - inicio;
+
+            return new Resultado( modo, REQUISICOES / ( duracao / 1e9 ), latencias, erros.get() );
+        }
+    }
+
+    private void disparar( HttpClient cliente, URI uri, Long pautaId, int quantidade, Histogram latencias, AtomicLong erros ) throws InterruptedException
+    {
+        ExecutorService clientes = Executors.newFixedThreadPool( CONCORRENCIA );
+
+        for ( int i = 0; i < quantidade; i++ )
+        {
+            String corpo = String.format( "{\"pautaId\":%d,\"cpfAssociado\":\"%011d\",\"opcaoVoto\":\"%s\"}", pautaId, i, i % 2 == 0 ? "SIM" : "NAO" );
+
+            clientes.execute( () ->
+            {
+                HttpRequest requisicao = HttpRequest.newBuilder( uri )
+                                                    .header( "Content-Type", "application/json" )
+                                                    .POST( HttpRequest.BodyPublishers.ofString( corpo ) )
+                                                    .build();
+                long inicio = System.nanoTime();
+
+                try
+                {
+                    HttpResponse<Void> resposta = cliente.send( requisicao, HttpResponse.BodyHandlers.discarding() );
+
+                    if ( resposta.statusCode() >= 500 )
+                    {
+                        erros.incrementAndGet();
+                    }
+                }
+                catch ( Exception e )
+                {
+                    erros.incrementAndGet();
+                }
+
+                synchronized ( latencias )
+                {
+                    latencias.recordValue( Math.min( System.nanoTime() - inicio, latencias.getHighestTrackableValue() ) );
+                }
+            } );
+        }
+
+        clientes.shutdown();
+        clientes.awaitTermination( 10, TimeUnit.MINUTES );
+    }
+
+    private static class Resultado
+    {
+        private final String modo;
+        private final double vazao;
+        private final Histogram latencias;
+        private final long erros;
+
+        Resultado( String modo, double vazao, Histogram latencias, long erros )
+        {
+            this.modo = modo;
+            this.vazao = vazao;
+            this.latencias = latencias;
+            this.erros = erros;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format( "%-20s %12.1f %10.2f %10.2f %10d",
+                                  modo,
+                                  vazao,
+                                  latencias.getValueAtPercentile( 50 ) / 1e6,
+                                  latencias.getValueAtPercentile( 99 ) / 1e6,
+                                  erros );
+        }
+    }
+}
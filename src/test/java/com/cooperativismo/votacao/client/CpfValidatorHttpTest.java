@@ -0,0 +1,233 @@
+package com.cooperativismo.votacao.client;
+
+import com.cooperativismo.votacao.config.CpfValidatorConfig;
+import com.cooperativismo.votacao.dto.ValidacaoCpfDTO;
+import com.cooperativismo.votacao.exception.InvalidCpfException;
+import com.cooperativismo.votacao.exception.UnableToVoteException;
+import com.cooperativismo.votacao.exception.ValidacaoCpfIndisponivelException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfValidatorHttpTest
+{
+    private static final String APTO = "52998224725";
+    private static final String INAPTO = "01234567890";
+    private static final String INEXISTENTE = "12345678909";
+
+    private final Map<String, AtomicInteger> chamadas = new ConcurrentHashMap<>();
+    private final CountDownLatch liberarRespostas = new CountDownLatch( 1 );
+
+    private volatile boolean segurarRespostas;
+    private volatile long atrasoMs;
+
+    private ExecutorService respostas;
+    private HttpServer servidor;
+    private CpfValidatorHttp cpfValidatorHttp;
+
+    @BeforeEach
+    void setUp() throws IOException
+    {
+        respostas = Executors.newCachedThreadPool();
+        servidor = HttpServer.create( new InetSocketAddress( "localhost", 0 ), 0 );
+        servidor.createContext( "/users/", this::responder );
+        servidor.setExecutor( respostas );
+        servidor.start();
+
+        cpfValidatorHttp = new CpfValidatorHttp( new CpfValidatorConfig( "http://localhost:" + servidor.getAddress().getPort() + "/users/{cpf}",
+                                                                         4, 100, 300, 500, 200, 60000, 1000 ),
+                                                 new SimpleMeterRegistry() );
+    }
+
+    @AfterEach
+    void tearDown() throws IOException
+    {
+        liberarRespostas.countDown();
+        cpfValidatorHttp.encerrar();
+        servidor.stop( 0 );
+        respostas.shutdownNow();
+    }
+
+    @Test
+    @DisplayName( "Deve consultar o serviço uma única vez por CPF dentro do TTL" )
+    void validarCpfEmCache()
+    {
+        ValidacaoCpfDTO resultado = cpfValidatorHttp.validarCpf( APTO );
+
+        assertEquals( "ABLE_TO_VOTE", resultado.getStatus() );
+        assertEquals( "ABLE_TO_VOTE", cpfValidatorHttp.validarCpf( APTO ).getStatus() );
+        assertEquals( 1, chamadas( APTO ) );
+    }
+
+    @Test
+    @DisplayName( "Deve juntar consultas simultâneas do mesmo CPF numa única chamada" )
+    void validarCpfConsultasSimultaneas() throws Exception
+    {
+        segurarRespostas = true;
+
+        ExecutorService requisicoes = Executors.newFixedThreadPool( 8 );
+
+        try
+        {
+            List<Future<ValidacaoCpfDTO>> resultados = new ArrayList<>();
+
+            for ( int i = 0; i < 8; i++ )
+            {
+                resultados.add( requisicoes.submit( () -> cpfValidatorHttp.validarCpf( APTO ) ) );
+            }
+
+            Thread.sleep( 200 );
+            liberarRespostas.countDown();
+
+            for ( Future<ValidacaoCpfDTO> resultado : resultados )
+            {
+                assertEquals( "ABLE_TO_VOTE", resultado.get( 5, TimeUnit.SECONDS ).getStatus() );
+            }
+        }
+        finally
+        {
+            requisicoes.shutdownNow();
+        }
+
+        assertEquals( 1, chamadas( APTO ) );
+    }
+
+    @Test
+    @DisplayName( "Deve tratar 404 como CPF inválido e guardar o resultado" )
+    void validarCpfInexistente()
+    {
+        assertThrows( InvalidCpfException.class, () -> cpfValidatorHttp.validarCpf( INEXISTENTE ) );
+        assertThrows( InvalidCpfException.class, () -> cpfValidatorHttp.validarCpf( INEXISTENTE ) );
+
+        assertEquals( 1, chamadas( INEXISTENTE ) );
+    }
+
+    @Test
+    @DisplayName( "Deve lançar exceção quando o associado não pode votar" )
+    void validarCpfInapto()
+    {
+        assertThrows( UnableToVoteException.class, () -> cpfValidatorHttp.validarCpf( INAPTO ) );
+    }
+
+    @Test
+    @DisplayName( "Deve recusar CPF malformado ou com dígito verificador errado sem consultar o serviço" )
+    void validarCpfFormatoInvalido()
+    {
+        assertThrows( InvalidCpfException.class, () -> cpfValidatorHttp.validarCpf( null ) );
+        assertThrows( InvalidCpfException.class, () -> cpfValidatorHttp.validarCpf( "529.982.247-25" ) );
+        assertThrows( InvalidCpfException.class, () -> cpfValidatorHttp.validarCpf( "5299822472" ) );
+        assertThrows( InvalidCpfException.class, () -> cpfValidatorHttp.validarCpf( "52998224726" ) );
+        assertThrows( InvalidCpfException.class, () -> cpfValidatorHttp.validarCpf( "11111111111" ) );
+
+        assertTrue( chamadas.isEmpty() );
+    }
+
+    @Test
+    @DisplayName( "Deve falhar por timeout sem guardar a falha em cache" )
+    void validarCpfTimeout()
+    {
+        atrasoMs = 1500;
+
+        assertThrows( ValidacaoCpfIndisponivelException.class, () -> cpfValidatorHttp.validarCpf( APTO ) );
+
+        atrasoMs = 0;
+
+        assertEquals( "ABLE_TO_VOTE", cpfValidatorHttp.validarCpf( APTO ).getStatus() );
+        assertEquals( 2, chamadas( APTO ) );
+    }
+
+    @Test
+    @DisplayName( "Deve validar um lote de CPFs devolvendo só os recusados" )
+    void validarCpfs()
+    {
+        Map<String, String> recusados = cpfValidatorHttp.validarCpfs( Arrays.asList( APTO, INAPTO, INEXISTENTE, "123", APTO ) );
+
+        assertEquals( 3, recusados.size() );
+        assertFalse( recusados.containsKey( APTO ) );
+        assertEquals( "Associado não está habilitado para votar", recusados.get( INAPTO ) );
+        assertEquals( "CPF inválido", recusados.get( INEXISTENTE ) );
+        assertEquals( "CPF deve conter 11 dígitos numéricos", recusados.get( "123" ) );
+        assertEquals( 1, chamadas( APTO ) );
+    }
+
+    @Test
+    @DisplayName( "Deve falhar o lote inteiro, em vez de recusar os CPFs, quando o serviço está indisponível" )
+    void validarCpfsIndisponivel()
+    {
+        atrasoMs = 1500;
+
+        assertThrows( ValidacaoCpfIndisponivelException.class, () -> cpfValidatorHttp.validarCpfs( Arrays.asList( APTO, INAPTO ) ) );
+    }
+
+    private int chamadas( String cpf )
+    {
+        AtomicInteger contador = chamadas.get( cpf );
+
+        return contador == null ? 0 : contador.get();
+    }
+
+    private void responder( HttpExchange troca ) throws IOException
+    {
+        String path = troca.getRequestURI().getPath();
+        String cpf = path.substring( path.lastIndexOf( '/' ) + 1 );
+
+        chamadas.computeIfAbsent( cpf, chave -> new AtomicInteger() ).incrementAndGet();
+
+        try
+        {
+            if ( segurarRespostas )
+            {
+                liberarRespostas.await( 5, TimeUnit.SECONDS );
+            }
+
+            if ( atrasoMs > 0 )
+            {
+                Thread.sleep( atrasoMs );
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        if ( INEXISTENTE.equals( cpf ) )
+        {
+            troca.sendResponseHeaders( 404, -1 );
+            troca.close();
+
+            return;
+        }
+
+        byte[] corpo = ( "{\"status\":\"" + ( INAPTO.equals( cpf ) ? "UNABLE_TO_VOTE" : "ABLE_TO_VOTE" ) + "\"}" ).getBytes( StandardCharsets.UTF_8 );
+
+        troca.getResponseHeaders().add( "Content-Type", "application/json" );
+        troca.sendResponseHeaders( 200, corpo.length );
+
+        try ( OutputStream saida = troca.getResponseBody() )
+        {
+            saida.write( corpo );
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.cooperativismo.votacao.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorVirtualLimitadoTest
+{
+    private final List<Runnable> rejeitadas = new CopyOnWriteArrayList<>();
+
+    private final ExecutorVirtualLimitado executor = new ExecutorVirtualLimitado(2, 1, Thread.ofVirtual().factory(),
+                                                                                 (tarefa, virtual) -> rejeitadas.add(tarefa));
+
+    @AfterEach
+    void encerrar()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve rodar no máximo o limite de tarefas ao mesmo tempo, enfileirar até a capacidade e rejeitar o resto")
+    void limitaConcorrenciaEFila() throws Exception
+    {
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch iniciadas = new CountDownLatch(2);
+        CountDownLatch concluidas = new CountDownLatch(3);
+        AtomicInteger simultaneas = new AtomicInteger();
+        AtomicInteger maximoSimultaneas = new AtomicInteger();
+
+        Runnable bloqueante = () ->
+        {
+            maximoSimultaneas.accumulateAndGet(simultaneas.incrementAndGet(), Math::max);
+            iniciadas.countDown();
+
+            try
+            {
+                liberar.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            simultaneas.decrementAndGet();
+            concluidas.countDown();
+        };
+
+        executor.execute(bloqueante);
+        executor.execute(bloqueante);
+        assertTrue(iniciadas.await(5, TimeUnit.SECONDS));
+
+        executor.execute(bloqueante);
+        Runnable excedente = () -> {};
+        executor.execute(excedente);
+
+        assertEquals(2, executor.emExecucao());
+        assertEquals(1, executor.aguardando());
+        assertEquals(List.of(excedente), rejeitadas);
+
+        liberar.countDown();
+
+        assertTrue(concluidas.await(5, TimeUnit.SECONDS));
+        assertEquals(2, maximoSimultaneas.get());
+    }
+
+    @Test
+    @DisplayName("Deve mandar para a política de rejeição as tarefas recebidas depois do encerramento")
+    void rejeitaDepoisDoEncerramento()
+    {
+        executor.shutdown();
+
+        Runnable tarefa = () -> {};
+        executor.execute(tarefa);
+
+        assertEquals(List.of(tarefa), rejeitadas);
+    }
+}
@@ -0,0 +1,37 @@
+package com.cooperativismo.votacao.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// exatamente um dos listeners de votacao-topic (individual ou em lote) deve estar consumindo
+@SpringBootTest(properties = "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}")
+@EmbeddedKafka(partitions = 1, topics = { "votacao-topic", "pauta-topic", "sessao-topic", "resultado-topic", "notificacao-topic" })
+@ActiveProfiles("test")
+class ListenersVotacaoTest
+{
+    @Autowired
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Test
+    @DisplayName("Deve iniciar exatamente um consumidor de votacao-topic")
+    void umConsumidorDeVotos()
+    {
+        MessageListenerContainer individual = listenerRegistry.getListenerContainer("votacao");
+        MessageListenerContainer lote = listenerRegistry.getListenerContainer("votacao-lote");
+
+        assertNotNull(individual);
+        assertNotNull(lote);
+        assertEquals(1, Stream.of(individual, lote).filter(MessageListenerContainer::isRunning).count());
+        assertTrue(lote.isRunning());
+    }
+}
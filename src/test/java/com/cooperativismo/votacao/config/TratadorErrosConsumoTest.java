@@ -0,0 +1,164 @@
+package com.cooperativismo.votacao.config;
+
+import com.cooperativismo.votacao.client.CpfValidatorClient;
+import com.cooperativismo.votacao.dto.VotacaoMessage;
+import com.cooperativismo.votacao.exception.ValidacaoCpfIndisponivelException;
+import com.cooperativismo.votacao.model.Pauta;
+import com.cooperativismo.votacao.model.SessaoVotacao;
+import com.cooperativismo.votacao.model.Voto;
+import com.cooperativismo.votacao.repository.PautaRepository;
+import com.cooperativismo.votacao.repository.SessaoVotacaoRepository;
+import com.cooperativismo.votacao.repository.VotoRepository;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "votacao.kafka.erros.intervalo-ms=10",
+        "votacao.kafka.erros.espera-inicial-ms=10",
+        "votacao.kafka.erros.espera-maxima-ms=50",
+        "votacao.cpf.protecao.abertura-ms=50" })
+@EmbeddedKafka(partitions = 1, topics = { "votacao-topic", "pauta-topic", "sessao-topic", "resultado-topic", "notificacao-topic" })
+@ActiveProfiles("test")
+class TratadorErrosConsumoTest
+{
+    private static final long ESPERA_MS = 30000;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Autowired
+    private CpfValidatorClient cpfValidatorClient;
+
+    @Autowired
+    private PautaRepository pautaRepository;
+
+    @Autowired
+    private SessaoVotacaoRepository sessaoVotacaoRepository;
+
+    @Autowired
+    private VotoRepository votoRepository;
+
+    @Test
+    @DisplayName("Não deve perder votos provisórios enquanto a validação de CPF fica fora por mais de 10 entregas")
+    void validacaoCpfIndisponivel() throws Exception
+    {
+        AtomicBoolean disponivel = new AtomicBoolean(false);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        when(cpfValidatorClient.validarCpfs(anyCollection())).thenAnswer(invocacao ->
+        {
+            chamadas.incrementAndGet();
+
+            if (!disponivel.get())
+            {
+                throw new ValidacaoCpfIndisponivelException("Serviço de validação de CPF indisponível");
+            }
+
+            return Map.of();
+        });
+
+        Long pautaId = criarPautaComSessaoAberta("Validação de CPF fora");
+
+        enviar(new VotacaoMessage(null, pautaId, "00000000000", "SIM", System.currentTimeMillis()));
+
+        for (int i = 1; i <= 5; i++)
+        {
+            enviar(new VotacaoMessage(null, pautaId, String.format("%011d", i), "SIM", System.currentTimeMillis(), true));
+        }
+
+        aguardar(() -> chamadas.get() > 10, "a validação de CPF ser chamada mais de 10 vezes");
+        assertEquals(1, votoRepository.countByPautaIdAndOpcaoVoto(pautaId, Voto.OpcaoVoto.SIM));
+
+        disponivel.set(true);
+
+        aguardar(() -> votoRepository.countByPautaIdAndOpcaoVoto(pautaId, Voto.OpcaoVoto.SIM) == 6, "os 6 votos serem gravados");
+    }
+
+    @Test
+    @DisplayName("Deve mandar para o DLT o voto de pauta inexistente e gravar os vizinhos dele")
+    void pautaInexistenteVaiParaDlt() throws Exception
+    {
+        Long pautaId = criarPautaComSessaoAberta("Pauta inexistente no lote");
+        String chave = String.valueOf(pautaId);
+
+        enviar(chave, new VotacaoMessage(null, pautaId, "11111111111", "NAO", System.currentTimeMillis()));
+        enviar(chave, new VotacaoMessage(null, -1L, "22222222222", "NAO", System.currentTimeMillis()));
+        enviar(chave, new VotacaoMessage(null, pautaId, "33333333333", "NAO", System.currentTimeMillis()));
+
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(KafkaTestUtils.consumerProps("dlt", "false", embeddedKafka),
+                                                                                   new StringDeserializer(), new StringDeserializer()).createConsumer())
+        {
+            consumer.subscribe(List.of("votacao-topic.DLT"));
+
+            ConsumerRecord<String, String> morta = KafkaTestUtils.getSingleRecord(consumer, "votacao-topic.DLT", ESPERA_MS);
+
+            assertEquals(chave, morta.key());
+            assertTrue(morta.value().contains("22222222222"), morta.value());
+        }
+
+        aguardar(() -> votoRepository.countByPautaIdAndOpcaoVoto(pautaId, Voto.OpcaoVoto.NAO) == 2, "os 2 votos válidos serem gravados");
+    }
+
+    private Long criarPautaComSessaoAberta(String titulo)
+    {
+        Pauta pauta = pautaRepository.save(Pauta.builder().titulo(titulo).build());
+
+        sessaoVotacaoRepository.save(SessaoVotacao.builder()
+                .pauta(pauta)
+                .dataFechamento(LocalDateTime.now().plusHours(1))
+                .build());
+
+        return pauta.getId();
+    }
+
+    private void enviar(VotacaoMessage message) throws Exception
+    {
+        enviar(String.valueOf(message.getPautaId()), message);
+    }
+
+    private void enviar(String chave, VotacaoMessage message) throws Exception
+    {
+        kafkaTemplate.send("votacao-topic", chave, message).get();
+    }
+
+    private static void aguardar(BooleanSupplier condicao, String descricao) throws InterruptedException
+    {
+        long limite = System.currentTimeMillis() + ESPERA_MS;
+
+        while (!condicao.getAsBoolean())
+        {
+            if (System.currentTimeMillis() > limite)
+            {
+                fail("Tempo esgotado esperando " + descricao);
+            }
+
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.cooperativismo.votacao.desempenho;
+
+import com.cooperativismo.votacao.dto.PautaDTO;
+import com.cooperativismo.votacao.repository.PautaRepository;
+import com.cooperativismo.votacao.repository.SessaoVotacaoRepository;
+import com.cooperativismo.votacao.service.PautaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+// leitura por entidade contra as projeções; o perfil benchmark já liga o -prof gc
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class ConsultaPautaBenchmark
+{
+    private ContextoBenchmark contexto;
+    private PautaRepository pautaRepository;
+    private PautaService pautaService;
+    private SessaoVotacaoRepository sessaoVotacaoRepository;
+    private TransactionTemplate leitura;
+    private Long pautaId;
+
+    @Setup( Level.Trial )
+    public void iniciar()
+    {
+        contexto = ContextoBenchmark.iniciar();
+        pautaRepository = contexto.bean( PautaRepository.class );
+        pautaService = contexto.bean( PautaService.class );
+        sessaoVotacaoRepository = contexto.bean( SessaoVotacaoRepository.class );
+
+        leitura = new TransactionTemplate( contexto.bean( PlatformTransactionManager.class ) );
+        leitura.setReadOnly( true );
+
+        pautaId = contexto.criarPautaComSessaoAberta( "Benchmark consulta de pauta" ).getId();
+    }
+
+    @TearDown( Level.Trial )
+    public void encerrar()
+    {
+        contexto.close();
+    }
+
+    @Benchmark
+    public PautaDTO buscarPautaEntidade()
+    {
+        return leitura.execute( status -> PautaDTO.convertToDto( pautaRepository.findById( pautaId ).orElseThrow() ) );
+    }
+
+    @Benchmark
+    public PautaDTO buscarPautaProjecao()
+    {
+        return pautaService.buscarPauta( pautaId );
+    }
+
+    @Benchmark
+    public boolean buscarSessaoEntidade()
+    {
+        return leitura.execute( status -> sessaoVotacaoRepository.findByPautaId( pautaId ).orElseThrow().estaAberta() );
+    }
+
+    @Benchmark
+    public boolean buscarSessaoProjecao()
+    {
+        return leitura.execute( status -> sessaoVotacaoRepository.findResumoByPautaId( pautaId ).orElseThrow().estaAberta() );
+    }
+}
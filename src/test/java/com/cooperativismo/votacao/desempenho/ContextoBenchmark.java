@@ -0,0 +1,99 @@
+package com.cooperativismo.votacao.desempenho;
+
+import com.cooperativismo.votacao.VotacaoApplication;
+import com.cooperativismo.votacao.client.CpfValidatorClient;
+import com.cooperativismo.votacao.dto.ValidacaoCpfDTO;
+import com.cooperativismo.votacao.model.Pauta;
+import com.cooperativismo.votacao.model.SessaoVotacao;
+import com.cooperativismo.votacao.repository.PautaRepository;
+import com.cooperativismo.votacao.repository.SessaoVotacaoRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+final class ContextoBenchmark implements AutoCloseable
+{
+    private final EmbeddedKafkaBroker broker;
+    private final ConfigurableApplicationContext contexto;
+
+    private ContextoBenchmark( EmbeddedKafkaBroker broker, ConfigurableApplicationContext contexto )
+    {
+        this.broker = broker;
+        this.contexto = contexto;
+    }
+
+    static ContextoBenchmark iniciar( String... propriedades )
+    {
+        EmbeddedKafkaBroker broker = new EmbeddedKafkaBroker( 1, true, 3, "votacao-topic", "pauta-topic", "sessao-topic", "resultado-topic", "notificacao-topic" );
+        broker.afterPropertiesSet();
+
+        List<String> configuracao = new ArrayList<>( List.of( "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                                                                "spring.h2.console.enabled=false",
+                                                                "spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                                                                "callback.enabled=false",
+                                                                "logging.level.root=WARN",
+                                                                "logging.level.com.cooperativismo.votacao=WARN" ) );
+        configuracao.addAll( List.of( propriedades ) );
+
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder( VotacaoApplication.class, BenchmarkConfig.class )
+                .web( WebApplicationType.NONE )
+                .profiles( "benchmark" )
+                .run( configuracao.stream().map( propriedade -> "--" + propriedade ).toArray( String[]::new ) );
+
+        return new ContextoBenchmark( broker, contexto );
+    }
+
+    <T> T bean( Class<T> tipo )
+    {
+        return contexto.getBean( tipo );
+    }
+
+    Pauta criarPautaComSessaoAberta( String titulo )
+    {
+        Pauta pauta = bean( PautaRepository.class ).save( Pauta.builder().titulo( titulo ).build() );
+
+        bean( SessaoVotacaoRepository.class ).save( SessaoVotacao.builder()
+                                                                 .pauta( pauta )
+                                                                 .dataFechamento( LocalDateTime.now().plusDays( 1 ) )
+                                                                 .ativa( true )
+                                                                 .build() );
+
+        return pauta;
+    }
+
+    @Override
+    public void close()
+    {
+        contexto.close();
+        broker.destroy();
+    }
+
+    @Configuration
+    @Profile( "benchmark" )
+    static class BenchmarkConfig
+    {
+        @Bean
+        @Primary
+        public CpfValidatorClient cpfValidatorClientSempreApto()
+        {
+            return new CpfValidatorClient()
+            {
+                @Override
+                public ValidacaoCpfDTO validarCpf( String cpf )
+                {
+                    return new ValidacaoCpfDTO( "ABLE_TO_VOTE" );
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.cooperativismo.votacao.desempenho;
+
+import com.cooperativismo.votacao.client.CpfValidatorClient;
+import com.cooperativismo.votacao.client.CpfValidatorHttp;
+import com.cooperativismo.votacao.client.CpfValidatorSimulado;
+import com.cooperativismo.votacao.config.CpfValidatorConfig;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class CpfValidatorClientBenchmark
+{
+    private static final String CPF = "52998224725";
+
+    private final CpfValidatorClient cpfValidatorSimulado = new CpfValidatorSimulado();
+
+    private HttpServer servidor;
+    private CpfValidatorHttp cpfValidatorHttp;
+
+    @Setup( Level.Trial )
+    public void iniciar() throws IOException
+    {
+        byte[] corpo = "{\"status\":\"ABLE_TO_VOTE\"}".getBytes( StandardCharsets.UTF_8 );
+
+        servidor = HttpServer.create( new InetSocketAddress( "localhost", 0 ), 0 );
+        servidor.createContext( "/users/", troca ->
+        {
+            troca.getResponseHeaders().add( "Content-Type", "application/json" );
+            troca.sendResponseHeaders( 200, corpo.length );
+
+            try ( OutputStream saida = troca.getResponseBody() )
+            {
+                saida.write( corpo );
+            }
+        } );
+        servidor.start();
+
+        cpfValidatorHttp = new CpfValidatorHttp( new CpfValidatorConfig( "http://localhost:" + servidor.getAddress().getPort() + "/users/{cpf}",
+                                                                         8, 100, 300, 800, 200, 3600000, 1000 ),
+                                                 new SimpleMeterRegistry() );
+        cpfValidatorHttp.validarCpf( CPF );
+    }
+
+    @TearDown( Level.Trial )
+    public void encerrar() throws IOException
+    {
+        cpfValidatorHttp.encerrar();
+        servidor.stop( 0 );
+    }
+
+    @Benchmark
+    public Object validarCpf()
+    {
+        try
+        {
+            return cpfValidatorSimulado.validarCpf( "01234567890" );
+        }
+        catch ( RuntimeException e )
+        {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object validarCpfComFormatoInvalido()
+    {
+        try
+        {
+            return cpfValidatorSimulado.validarCpf( "123.456.789-0" );
+        }
+        catch ( RuntimeException e )
+        {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object validarCpfHttpEmCache()
+    {
+        return cpfValidatorHttp.validarCpf( CPF );
+    }
+}
@@ -0,0 +1,141 @@
+package com.cooperativismo.votacao.desempenho;
+
+import com.cooperativismo.votacao.model.Pauta;
+import com.cooperativismo.votacao.model.Voto;
+import com.cooperativismo.votacao.repository.VotoRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 100 mil votos por invocação: INSERT por voto devolvendo a chave, persist em lotes e inserirEmLote
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.SingleShotTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 2 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class InsercaoVotosBenchmark
+{
+    private static final int VOTOS = 100_000;
+    private static final int LOTE = 500;
+    private static final String INSERT_CHAVE_GERADA = "INSERT INTO voto ( id, pauta_id, cpf_associado, voto, data_voto ) " +
+                                                      "VALUES ( nextval( 'voto_seq' ), ?, ?, ?, ? )";
+
+    private ContextoBenchmark contexto;
+    private TransactionTemplate transacao;
+    private EntityManager entityManager;
+    private JdbcTemplate jdbcTemplate;
+    private VotoRepository votoRepository;
+    private Pauta pauta;
+    private List<Voto> votos;
+
+    @Setup( Level.Trial )
+    public void iniciar()
+    {
+        contexto = ContextoBenchmark.iniciar();
+        transacao = new TransactionTemplate( contexto.bean( PlatformTransactionManager.class ) );
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager( contexto.bean( EntityManagerFactory.class ) );
+        jdbcTemplate = contexto.bean( JdbcTemplate.class );
+        votoRepository = contexto.bean( VotoRepository.class );
+        pauta = contexto.criarPautaComSessaoAberta( "Benchmark inserção de votos" );
+    }
+
+    @Setup( Level.Invocation )
+    public void preparar()
+    {
+        jdbcTemplate.update( "DELETE FROM voto" );
+
+        LocalDateTime agora = LocalDateTime.now();
+        votos = new ArrayList<>( VOTOS );
+
+        for ( int i = 0; i < VOTOS; i++ )
+        {
+            votos.add( Voto.builder()
+                           .pauta( pauta )
+                           .cpfAssociado( String.format( "%011d", i ) )
+                           .opcaoVoto( i % 2 == 0 ? Voto.OpcaoVoto.SIM : Voto.OpcaoVoto.NAO )
+                           .dataVoto( agora )
+                           .build() );
+        }
+    }
+
+    @TearDown( Level.Trial )
+    public void encerrar()
+    {
+        contexto.close();
+    }
+
+    @Benchmark
+    public void identidadeUmPorVez()
+    {
+        transacao.executeWithoutResult( status ->
+        {
+            for ( Voto voto : votos )
+            {
+                jdbcTemplate.update( conexao ->
+                {
+                    PreparedStatement ps = conexao.prepareStatement( INSERT_CHAVE_GERADA, new String[] { "id" } );
+                    ps.setLong( 1, voto.getPauta().getId() );
+                    ps.setString( 2, voto.getCpfAssociado() );
+                    ps.setString( 3, voto.getOpcaoVoto().name() );
+                    ps.setTimestamp( 4, Timestamp.valueOf( voto.getDataVoto() ) );
+
+                    return ps;
+                }, new GeneratedKeyHolder() );
+            }
+        } );
+    }
+
+    @Benchmark
+    public void sequenciaEmLotes()
+    {
+        transacao.executeWithoutResult( status ->
+        {
+            for ( int i = 0; i < VOTOS; i++ )
+            {
+                entityManager.persist( votos.get( i ) );
+
+                if ( ( i + 1 ) % LOTE == 0 )
+                {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        } );
+    }
+
+    @Benchmark
+    public void inserirEmLote()
+    {
+        transacao.executeWithoutResult( status ->
+        {
+            for ( int i = 0; i < VOTOS; i += LOTE )
+            {
+                votoRepository.inserirEmLote( votos.subList( i, Math.min( i + LOTE, VOTOS ) ) );
+            }
+        } );
+    }
+}
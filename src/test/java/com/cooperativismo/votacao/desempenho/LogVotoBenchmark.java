@@ -0,0 +1,134 @@
+package com.cooperativismo.votacao.desempenho;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.cooperativismo.votacao.config.AmostragemLogConfig;
+import com.cooperativismo.votacao.dto.VotacaoMessage;
+import com.cooperativismo.votacao.service.AmostragemLog;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+// custo dos logs de cada voto no appender assíncrono, com a fila bloqueando em vez de descartar
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Threads( 4 )
+@Fork( 1 )
+public class LogVotoBenchmark
+{
+    private static final String PADRAO = "%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n";
+
+    @Param( { "texto", "json" } )
+    public String formato;
+
+    private final VotacaoMessage mensagem = new VotacaoMessage( null, 123L, "01234567890", "SIM", 1700000000000L );
+
+    private LoggerContext contexto;
+    private Logger log;
+    private AmostragemLog porEvento;
+    private AmostragemLog amostrado;
+
+    @Setup( Level.Trial )
+    public void iniciar()
+    {
+        contexto = new LoggerContext();
+
+        OutputStreamAppender<ILoggingEvent> saida = new OutputStreamAppender<>();
+        saida.setContext( contexto );
+        saida.setName( "saida" );
+        saida.setEncoder( encoder() );
+        saida.setOutputStream( OutputStream.nullOutputStream() );
+        saida.start();
+
+        AsyncAppender assincrono = new AsyncAppender();
+        assincrono.setContext( contexto );
+        assincrono.setName( "async" );
+        assincrono.setQueueSize( 8192 );
+        assincrono.setDiscardingThreshold( 0 );
+        assincrono.addAppender( saida );
+        assincrono.start();
+
+        contexto.getLogger( Logger.ROOT_LOGGER_NAME ).setLevel( ch.qos.logback.classic.Level.INFO );
+
+        log = contexto.getLogger( "com.cooperativismo.votacao.service.VotoService" );
+        log.addAppender( assincrono );
+
+        porEvento = new AmostragemLog( new AmostragemLogConfig( 1, 0 ) );
+        amostrado = new AmostragemLog( new AmostragemLogConfig( 100, 50 ) );
+    }
+
+    @TearDown( Level.Trial )
+    public void encerrar()
+    {
+        contexto.stop();
+    }
+
+    @Benchmark
+    public void porEvento()
+    {
+        registrar( porEvento );
+    }
+
+    @Benchmark
+    public void amostrado()
+    {
+        registrar( amostrado );
+    }
+
+    private void registrar( AmostragemLog amostragem )
+    {
+        log.debug( "Processando mensagem de voto: {}", mensagem );
+
+        if ( amostragem.amostrar() )
+        {
+            log.info( "Voto do associado {} na pauta {} enfileirado para envio ao Kafka", mensagem.getCpfAssociado(), mensagem.getPautaId() );
+        }
+
+        if ( amostragem.amostrar() )
+        {
+            log.info( "Voto registrado com ID: {} para associado: {} na pauta: {}", 1L, mensagem.getCpfAssociado(), mensagem.getPautaId() );
+        }
+    }
+
+    private Encoder<ILoggingEvent> encoder()
+    {
+        if ( "json".equals( formato ) )
+        {
+            LogstashEncoder json = new LogstashEncoder();
+            json.setContext( contexto );
+            json.start();
+
+            return json;
+        }
+
+        PatternLayoutEncoder texto = new PatternLayoutEncoder();
+        texto.setContext( contexto );
+        texto.setPattern( PADRAO );
+        texto.start();
+
+        return texto;
+    }
+}
@@ -0,0 +1,79 @@
+package com.cooperativismo.votacao.desempenho;
+
+import com.cooperativismo.votacao.dto.ResultadoVotacaoDTO;
+import com.cooperativismo.votacao.model.Pauta;
+import com.cooperativismo.votacao.model.Voto;
+import com.cooperativismo.votacao.repository.VotoRepository;
+import com.cooperativismo.votacao.service.SessaoVotacaoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class ResultadoVotacaoBenchmark
+{
+    @Param( { "10000" } )
+    public int votos;
+
+    @Param( { "true", "false" } )
+    public boolean placarHabilitado;
+
+    private ContextoBenchmark contexto;
+    private SessaoVotacaoService sessaoVotacaoService;
+    private Long pautaId;
+
+    @Setup( Level.Trial )
+    public void iniciar()
+    {
+        contexto = ContextoBenchmark.iniciar( "votacao.placar.enabled=" + placarHabilitado );
+        sessaoVotacaoService = contexto.bean( SessaoVotacaoService.class );
+
+        Pauta pauta = contexto.criarPautaComSessaoAberta( "Benchmark obterResultado" );
+        List<Voto> lote = new ArrayList<>( votos );
+
+        for ( int i = 0; i < votos; i++ )
+        {
+            lote.add( Voto.builder()
+                          .pauta( pauta )
+                          .cpfAssociado( String.format( "%011d", i ) )
+                          .opcaoVoto( i % 3 == 0 ? Voto.OpcaoVoto.NAO : Voto.OpcaoVoto.SIM )
+                          .dataVoto( LocalDateTime.now() )
+                          .build() );
+        }
+
+        contexto.bean( VotoRepository.class ).inserirEmLote( lote );
+        pautaId = pauta.getId();
+    }
+
+    @TearDown( Level.Trial )
+    public void encerrar()
+    {
+        contexto.close();
+    }
+
+    @Benchmark
+    public ResultadoVotacaoDTO obterResultado()
+    {
+        return sessaoVotacaoService.obterResultado( pautaId );
+    }
+}
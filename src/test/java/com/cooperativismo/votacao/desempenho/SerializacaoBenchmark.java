@@ -0,0 +1,147 @@
+package com.cooperativismo.votacao.desempenho;
+
+import com.cooperativismo.votacao.dto.SessaoMessage;
+import com.cooperativismo.votacao.dto.VotacaoMessage;
+import com.cooperativismo.votacao.serializacao.DesserializadorBinario;
+import com.cooperativismo.votacao.serializacao.SerializadorBinario;
+import com.cooperativismo.votacao.serializacao.SessaoMessageCodec;
+import com.cooperativismo.votacao.serializacao.VotacaoMessageCodec;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class SerializacaoBenchmark
+{
+    private final VotacaoMessage voto = new VotacaoMessage( null, 123L, "01234567890", "SIM", 1700000000000L );
+    private final SessaoMessage sessao = new SessaoMessage( 45L, 123L, LocalDateTime.of( 2024, 3, 10, 14, 30 ), LocalDateTime.of( 2024, 3, 10, 14, 35 ), "ABRIR", 1700000000000L );
+
+    private JsonSerializer<Object> jsonSerializer;
+    private JsonDeserializer<Object> jsonDeserializer;
+    private SerializadorBinario<VotacaoMessage> votoSerializador;
+    private DesserializadorBinario<VotacaoMessage> votoDesserializador;
+    private SerializadorBinario<SessaoMessage> sessaoSerializador;
+    private DesserializadorBinario<SessaoMessage> sessaoDesserializador;
+
+    private RecordHeaders votoHeaders;
+    private byte[] votoJson;
+    private byte[] votoBinario;
+    private RecordHeaders sessaoHeaders;
+    private byte[] sessaoJson;
+    private byte[] sessaoBinario;
+
+    @Setup
+    public void preparar()
+    {
+        jsonSerializer = new JsonSerializer<>();
+        jsonSerializer.configure( Map.of(), false );
+        jsonDeserializer = new JsonDeserializer<>();
+        jsonDeserializer.configure( Map.of( JsonDeserializer.TRUSTED_PACKAGES, "com.cooperativismo.votacao.dto" ), false );
+
+        votoSerializador = new SerializadorBinario<>( new VotacaoMessageCodec() );
+        votoDesserializador = new DesserializadorBinario<>( new VotacaoMessageCodec(), null );
+        sessaoSerializador = new SerializadorBinario<>( new SessaoMessageCodec() );
+        sessaoDesserializador = new DesserializadorBinario<>( new SessaoMessageCodec(), null );
+
+        votoHeaders = new RecordHeaders();
+        votoJson = jsonSerializer.serialize( "votacao-topic", votoHeaders, voto );
+        votoBinario = votoSerializador.serialize( "votacao-topic", voto );
+        sessaoHeaders = new RecordHeaders();
+        sessaoJson = jsonSerializer.serialize( "sessao-topic", sessaoHeaders, sessao );
+        sessaoBinario = sessaoSerializador.serialize( "sessao-topic", sessao );
+    }
+
+    @Benchmark
+    public byte[] votoSerializarJson()
+    {
+        return jsonSerializer.serialize( "votacao-topic", new RecordHeaders(), voto );
+    }
+
+    @Benchmark
+    public byte[] votoSerializarBinario()
+    {
+        return votoSerializador.serialize( "votacao-topic", voto );
+    }
+
+    @Benchmark
+    public Object votoDesserializarJson()
+    {
+        return jsonDeserializer.deserialize( "votacao-topic", votoHeaders, votoJson );
+    }
+
+    @Benchmark
+    public Object votoDesserializarBinario()
+    {
+        return votoDesserializador.deserialize( "votacao-topic", votoBinario );
+    }
+
+    @Benchmark
+    public byte[] sessaoSerializarJson()
+    {
+        return jsonSerializer.serialize( "sessao-topic", new RecordHeaders(), sessao );
+    }
+
+    @Benchmark
+    public byte[] sessaoSerializarBinario()
+    {
+        return sessaoSerializador.serialize( "sessao-topic", sessao );
+    }
+
+    @Benchmark
+    public Object sessaoDesserializarJson()
+    {
+        return jsonDeserializer.deserialize( "sessao-topic", sessaoHeaders, sessaoJson );
+    }
+
+    @Benchmark
+    public Object sessaoDesserializarBinario()
+    {
+        return sessaoDesserializador.deserialize( "sessao-topic", sessaoBinario );
+    }
+
+    private static int bytesComHeaders( byte[] valor, RecordHeaders headers )
+    {
+        int total = valor.length;
+
+        for ( Header header : headers )
+        {
+            total += header.key().length() + header.value().length;
+        }
+
+        return total;
+    }
+
+    public static void main( String[] args ) throws Exception
+    {
+        SerializacaoBenchmark tamanhos = new SerializacaoBenchmark();
+        tamanhos.preparar();
+
+        System.out.printf( "%-10s %16s %10s%n", "mensagem", "json(+headers)", "binario" );
+        System.out.printf( "%-10s %16d %10d%n", "voto", bytesComHeaders( tamanhos.votoJson, tamanhos.votoHeaders ), tamanhos.votoBinario.length );
+        System.out.printf( "%-10s %16d %10d%n", "sessao", bytesComHeaders( tamanhos.sessaoJson, tamanhos.sessaoHeaders ), tamanhos.sessaoBinario.length );
+
+        new Runner( new OptionsBuilder().include( SerializacaoBenchmark.class.getSimpleName() ).build() ).run();
+    }
+}
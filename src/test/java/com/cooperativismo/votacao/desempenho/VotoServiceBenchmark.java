@@ -0,0 +1,63 @@
+package com.cooperativismo.votacao.desempenho;
+
+import com.cooperativismo.votacao.dto.VotacaoMessage;
+import com.cooperativismo.votacao.service.VotoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class VotoServiceBenchmark
+{
+    private final AtomicLong cpfs = new AtomicLong();
+
+    private ContextoBenchmark contexto;
+    private VotoService votoService;
+    private Long pautaId;
+
+    @Setup( Level.Trial )
+    public void iniciar()
+    {
+        contexto = ContextoBenchmark.iniciar();
+        votoService = contexto.bean( VotoService.class );
+        pautaId = contexto.criarPautaComSessaoAberta( "Benchmark processarVoto" ).getId();
+    }
+
+    @TearDown( Level.Trial )
+    public void encerrar()
+    {
+        contexto.close();
+    }
+
+    @Benchmark
+    public void processarVoto()
+    {
+        long sequencia = cpfs.incrementAndGet();
+
+        votoService.processarVoto( new VotacaoMessage( null, pautaId, String.format( "%011d", sequencia ), sequencia % 2 == 0 ? "SIM" : "NAO", System.currentTimeMillis() ), Set.of() );
+    }
+
+    @Benchmark
+    public void processarVotoDuplicado()
+    {
+        votoService.processarVoto( new VotacaoMessage( null, pautaId, "00000000001", "SIM", System.currentTimeMillis() ), Set.of() );
+    }
+}
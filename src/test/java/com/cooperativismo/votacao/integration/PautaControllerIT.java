@@ -14,12 +14,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
 import java.time.LocalDateTime;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -74,6 +76,53 @@ public class PautaControllerIT
                 .andExpect( jsonPath( "$[0].descricao", is( pautaExistente.getDescricao() ) ) );
     }
 
+    @Test
+    @DisplayName( "Deve paginar as pautas pelo cursor do cabeçalho" )
+    void listarPautasPaginadas() throws Exception
+    {
+        Pauta segunda = pautaRepository.save( Pauta.builder()
+                                                   .titulo( "Segunda Pauta" )
+                                                   .descricao( "Descrição da segunda pauta" )
+                                                   .build() );
+
+        MvcResult primeiraPagina = mockMvc.perform( get( "/v1/pautas" ).param( "limite", "1" ) )
+                                          .andExpect( request().asyncStarted() )
+                                          .andReturn();
+
+        mockMvc.perform( asyncDispatch( primeiraPagina ) )
+               .andExpect( status().isOk() )
+               .andExpect( header().string( "X-Proximo-Cursor", String.valueOf( pautaExistente.getId() ) ) )
+               .andExpect( jsonPath( "$", hasSize( 1 ) ) )
+               .andExpect( jsonPath( "$[0].id", is( pautaExistente.getId().intValue() ) ) );
+
+        MvcResult segundaPagina = mockMvc.perform( get( "/v1/pautas" ).param( "limite", "1" )
+                                                                     .param( "apos", String.valueOf( pautaExistente.getId() ) ) )
+                                         .andExpect( request().asyncStarted() )
+                                         .andReturn();
+
+        mockMvc.perform( asyncDispatch( segundaPagina ) )
+               .andExpect( status().isOk() )
+               .andExpect( jsonPath( "$", hasSize( 1 ) ) )
+               .andExpect( jsonPath( "$[0].id", is( segunda.getId().intValue() ) ) );
+    }
+
+    @Test
+    @DisplayName( "Deve exportar as pautas em NDJSON" )
+    void exportarPautas() throws Exception
+    {
+        String corpo = mockMvc.perform( get( "/v1/pautas/stream" ) )
+                              .andExpect( status().isOk() )
+                              .andExpect( content().contentTypeCompatibleWith( "application/x-ndjson" ) )
+                              .andReturn()
+                              .getResponse()
+                              .getContentAsString();
+
+        String[] linhas = corpo.split( "\n" );
+
+        assertEquals( 1, linhas.length );
+        assertEquals( pautaExistente.getTitulo(), objectMapper.readValue( linhas[ 0 ], PautaDTO.class ).getTitulo() );
+    }
+
     @Test
     @DisplayName( "Deve buscar pauta por ID com sucesso" )
     void buscarPautaComSucesso() throws Exception
@@ -73,7 +73,7 @@ public class VotacaoFluxoCompletoIT {
         mockMvc.perform( post( "/v1/votos" )
                         .contentType( MediaType.APPLICATION_JSON )
                         .content( objectMapper.writeValueAsString( voto1 ) ) )
-                        .andExpect( status().isCreated() )
+                        .andExpect( status().isAccepted() )
                         .andExpect( jsonPath( "$.pautaId", is( pautaId.intValue() ) ) )
                         .andExpect( jsonPath( "$.cpfAssociado", is( voto1.getCpfAssociado() ) ) )
                         .andExpect( jsonPath( "$.opcaoVoto", is( voto1.getOpcaoVoto().toString() ) ) );
@@ -87,7 +87,7 @@ public class VotacaoFluxoCompletoIT {
         mockMvc.perform( post( "/v1/votos" )
                         .contentType( MediaType.APPLICATION_JSON )
                         .content( objectMapper.writeValueAsString( voto2 ) ) )
-                        .andExpect( status().isCreated() );
+                        .andExpect( status().isAccepted() );
 
         VotoDTO voto3 = VotoDTO.builder()
                                .pautaId( pautaId )
@@ -98,7 +98,7 @@ public class VotacaoFluxoCompletoIT {
         mockMvc.perform( post( "/v1/votos" )
                         .contentType( MediaType.APPLICATION_JSON )
                         .content( objectMapper.writeValueAsString( voto3 ) ) )
-                        .andExpect( status().isCreated() );
+                        .andExpect( status().isAccepted() );
 
         ResultActions resultadoResponse = mockMvc.perform( get( "/v1/sessoes/{pautaId}/resultado", pautaId )
                                                  .contentType( MediaType.APPLICATION_JSON ) )
@@ -98,7 +98,7 @@ public class VotoControllerIT
                                         .content( objectMapper.writeValueAsString( votoDTO ) ) )
                                         .andDo( MockMvcResultHandlers.print() );
 
-        response.andExpect( status().isCreated() );
+        response.andExpect( status().isAccepted() );
     }
 
     @Test
@@ -0,0 +1,80 @@
+package com.cooperativismo.votacao.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// As comuns usam versões inteiras e as de cada banco, subversões de uma comum (V3_1, V3_2)
+class MigracoesTest
+{
+    private static final String COMUM = "classpath:db/migration/comum";
+
+    @Test
+    @DisplayName("Migrações comuns devem ter versão inteira e as de cada banco, subversão de uma comum")
+    void versoesNaoColidem() throws IOException
+    {
+        Set<String> comuns = new TreeSet<>();
+
+        for (MigrationInfo migracao : migracoes(COMUM))
+        {
+            String versao = migracao.getVersion().getVersion();
+
+            assertFalse(versao.contains("."), "Migração comum com subversão: " + migracao.getScript());
+            comuns.add(versao);
+        }
+
+        assertFalse(comuns.isEmpty());
+
+        for (String banco : bancos())
+        {
+            MigrationInfo[] doBanco = migracoes("classpath:db/migration/" + banco);
+
+            assertTrue(doBanco.length > 0, banco);
+
+            for (MigrationInfo migracao : doBanco)
+            {
+                String versao = migracao.getVersion().getVersion();
+
+                assertTrue(versao.contains("."), "Migração de " + banco + " sem subversão: " + migracao.getScript());
+                assertTrue(comuns.contains(versao.substring(0, versao.indexOf('.'))),
+                           "Migração de " + banco + " sem comum correspondente: " + migracao.getScript());
+            }
+
+            // o Flyway recusa versões repetidas ao juntar as duas pastas
+            assertEquals(comuns.size() + doBanco.length, migracoes(COMUM, "classpath:db/migration/" + banco).length, banco);
+        }
+    }
+
+    private static MigrationInfo[] migracoes(String... locais)
+    {
+        return Flyway.configure()
+                .dataSource("jdbc:h2:mem:migracoes", "sa", "")
+                .locations(locais)
+                .load()
+                .info()
+                .all();
+    }
+
+    private static Set<String> bancos() throws IOException
+    {
+        Set<String> bancos = new TreeSet<>();
+
+        for (Resource migracao : new PathMatchingResourcePatternResolver().getResources("classpath*:db/migration/*/*.sql"))
+        {
+            bancos.add(migracao.getURL().getPath().replaceAll(".*/db/migration/([^/]+)/[^/]+$", "$1"));
+        }
+
+        bancos.remove("comum");
+
+        return bancos;
+    }
+}
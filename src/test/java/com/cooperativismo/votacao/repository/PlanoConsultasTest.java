@@ -0,0 +1,147 @@
+package com.cooperativismo.votacao.repository;
+
+import com.cooperativismo.votacao.model.Pauta;
+import com.cooperativismo.votacao.model.SessaoVotacao;
+import com.cooperativismo.votacao.model.Voto;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Confere pelo EXPLAIN do H2 que as consultas usam os índices das migrações comuns
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                          "com.cooperativismo.votacao.repository.PlanoConsultasTest$ColetorSql")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class PlanoConsultasTest
+{
+    private static final int PAUTAS = 20;
+    private static final int VOTOS_POR_PAUTA = 50;
+
+    @Autowired
+    private PautaRepository pautaRepository;
+
+    @Autowired
+    private SessaoVotacaoRepository sessaoVotacaoRepository;
+
+    @Autowired
+    private VotoRepository votoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long pautaId;
+
+    @BeforeEach
+    void povoar()
+    {
+        LocalDateTime agora = LocalDateTime.now();
+
+        for (int i = 0; i < PAUTAS; i++)
+        {
+            Pauta pauta = pautaRepository.save(Pauta.builder().titulo("Pauta " + i).build());
+            SessaoVotacao sessao = sessaoVotacaoRepository.save(SessaoVotacao.builder()
+                    .pauta(pauta)
+                    .dataFechamento(agora.minusMinutes(i))
+                    .build());
+
+            // só uma em cada quatro sessões continua ativa
+            if (i % 4 != 0)
+            {
+                sessao.fechar();
+            }
+
+            List<Voto> votos = new ArrayList<>();
+
+            for (int j = 0; j < VOTOS_POR_PAUTA; j++)
+            {
+                votos.add(Voto.builder()
+                        .pauta(pauta)
+                        .cpfAssociado(String.format("%011d", j))
+                        .opcaoVoto(j % 2 == 0 ? Voto.OpcaoVoto.SIM : Voto.OpcaoVoto.NAO)
+                        .build());
+            }
+
+            votoRepository.saveAll(votos);
+            pautaId = pauta.getId();
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        ColetorSql.SQL.clear();
+    }
+
+    @Test
+    @DisplayName("Contagem de votos por pauta e opção deve usar o índice (pauta_id, voto)")
+    void contagemPorOpcaoUsaIndice()
+    {
+        assertEquals(VOTOS_POR_PAUTA / 2, votoRepository.countByPautaIdAndOpcaoVoto(pautaId, Voto.OpcaoVoto.SIM));
+
+        String plano = explicar(ultimaConsulta(), pautaId, Voto.OpcaoVoto.SIM.name());
+
+        assertTrue(plano.contains("idx_voto_pauta_opcao"), plano);
+    }
+
+    @Test
+    @DisplayName("Busca de sessões ativas expiradas deve usar o índice (ativa, data_fechamento)")
+    void sessoesAtivasExpiradasUsamIndice()
+    {
+        LocalDateTime agora = LocalDateTime.now();
+
+        assertEquals(PAUTAS / 4, sessaoVotacaoRepository.findSessoesAtivasExpiradas(agora).size());
+
+        String plano = explicar(ultimaConsulta(), Timestamp.valueOf(agora));
+
+        assertTrue(plano.contains("idx_sessao_votacao_ativa_fechamento"), plano);
+    }
+
+    private String ultimaConsulta()
+    {
+        for (int i = ColetorSql.SQL.size() - 1; i >= 0; i--)
+        {
+            String sql = ColetorSql.SQL.get(i);
+
+            if (sql.trim().toLowerCase().startsWith("select"))
+            {
+                return sql;
+            }
+        }
+
+        return fail("Nenhuma consulta executada");
+    }
+
+    private String explicar(String sql, Object... parametros)
+    {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parametros)).toLowerCase();
+    }
+
+    public static class ColetorSql implements StatementInspector
+    {
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql)
+        {
+            SQL.add(sql);
+
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.cooperativismo.votacao.repository;
+
+import com.cooperativismo.votacao.model.Pauta;
+import com.cooperativismo.votacao.model.Voto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class VotoRepositoryTest
+{
+    @Autowired
+    private PautaRepository pautaRepository;
+
+    @Autowired
+    private VotoRepository votoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Deve gravar o lote com ids reservados em blocos da sequência, sem colidir com os do Hibernate")
+    void inserirEmLoteReservaBlocos()
+    {
+        Pauta pauta = pautaRepository.saveAndFlush(Pauta.builder().titulo("Ids em blocos").build());
+
+        votoRepository.inserirEmLote(votos(pauta, 0, 60));
+        votoRepository.saveAllAndFlush(votos(pauta, 60, 10));
+        votoRepository.inserirEmLote(votos(pauta, 70, 60));
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM voto WHERE pauta_id = ?", Long.class, pauta.getId());
+
+        assertEquals(130, ids.size());
+        assertEquals(130, new HashSet<>(ids).size());
+        // um valor da sequência por voto espalharia os ids por mais de 6 mil posições
+        assertTrue(ids.stream().mapToLong(Long::longValue).max().getAsLong()
+                   - ids.stream().mapToLong(Long::longValue).min().getAsLong() < 300, ids.toString());
+    }
+
+    private static List<Voto> votos(Pauta pauta, int inicio, int quantidade)
+    {
+        List<Voto> votos = new ArrayList<>();
+
+        for (int i = inicio; i < inicio + quantidade; i++)
+        {
+            votos.add(Voto.builder()
+                    .pauta(pauta)
+                    .cpfAssociado(String.format("%011d", i))
+                    .opcaoVoto(Voto.OpcaoVoto.SIM)
+                    .dataVoto(LocalDateTime.now())
+                    .build());
+        }
+
+        return votos;
+    }
+}
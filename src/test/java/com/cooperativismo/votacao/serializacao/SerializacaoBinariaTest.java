@@ -0,0 +1,95 @@
+package com.cooperativismo.votacao.serializacao;
+
+import com.cooperativismo.votacao.dto.SessaoMessage;
+import com.cooperativismo.votacao.dto.VotacaoMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerializacaoBinariaTest
+{
+    private final VotacaoMessageCodec votacaoCodec = new VotacaoMessageCodec();
+    private final SessaoMessageCodec sessaoCodec = new SessaoMessageCodec();
+
+    @Test
+    @DisplayName("Deve codificar o voto com CPF como long e opção como byte")
+    void votoCompacto()
+    {
+        VotacaoMessage mensagem = new VotacaoMessage(null, 42L, "01234567890", "SIM", 1700000000000L);
+
+        byte[] dados = votacaoCodec.codificar(mensagem);
+        VotacaoMessage lida = votacaoCodec.decodificar(dados);
+
+        assertEquals(3 + 8 + 8 + 1 + 8, dados.length);
+        assertNull(lida.getSessaoId());
+        assertEquals(42L, lida.getPautaId());
+        assertEquals("01234567890", lida.getCpfAssociado());
+        assertEquals("SIM", lida.getVoto());
+        assertEquals(1700000000000L, lida.getTimestamp());
+    }
+
+    @Test
+    @DisplayName("Deve marcar o voto provisório nas flags sem aumentar a mensagem")
+    void votoProvisorio()
+    {
+        byte[] dados = votacaoCodec.codificar(new VotacaoMessage(null, 42L, "01234567890", "NAO", 1700000000000L, true));
+        VotacaoMessage lida = votacaoCodec.decodificar(dados);
+
+        assertEquals(3 + 8 + 8 + 1 + 8, dados.length);
+        assertTrue(lida.isProvisorio());
+        assertFalse(votacaoCodec.decodificar(votacaoCodec.codificar(new VotacaoMessage(null, 42L, "01234567890", "NAO", 1L))).isProvisorio());
+    }
+
+    @Test
+    @DisplayName("Deve preservar CPF e voto fora do formato esperado para o consumidor rejeitá-los")
+    void votoForaDoFormato()
+    {
+        VotacaoMessage lida = votacaoCodec.decodificar(votacaoCodec.codificar(new VotacaoMessage(7L, 1L, "123.456.789-0", "TALVEZ", null)));
+
+        assertEquals(7L, lida.getSessaoId());
+        assertEquals("123.456.789-0", lida.getCpfAssociado());
+        assertEquals("TALVEZ", lida.getVoto());
+        assertNull(lida.getTimestamp());
+    }
+
+    @Test
+    @DisplayName("Deve codificar a sessão preservando as datas")
+    void sessao()
+    {
+        LocalDateTime abertura = LocalDateTime.of(2024, 3, 10, 14, 30, 15, 123456789);
+        SessaoMessage mensagem = new SessaoMessage(3L, 9L, abertura, abertura.plusMinutes(5), "FECHAR", 1L);
+
+        SessaoMessage lida = sessaoCodec.decodificar(sessaoCodec.codificar(mensagem));
+
+        assertEquals(3L, lida.getSessaoId());
+        assertEquals(9L, lida.getPautaId());
+        assertEquals(abertura, lida.getDataAbertura());
+        assertEquals(abertura.plusMinutes(5), lida.getDataFechamento());
+        assertEquals("FECHAR", lida.getTipoOperacao());
+    }
+
+    @Test
+    @DisplayName("Deve ler mensagens JSON publicadas antes da troca de formato")
+    void compatibilidadeComJson()
+    {
+        JsonSerializer<Object> json = new JsonSerializer<>();
+        json.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+        byte[] dadosJson = json.serialize("votacao-topic", new VotacaoMessage(null, 1L, "12345678901", "NAO", 1L));
+
+        JsonDeserializer<VotacaoMessage> alternativo = new JsonDeserializer<>(VotacaoMessage.class, false);
+        DesserializadorBinario<VotacaoMessage> desserializador = new DesserializadorBinario<>(votacaoCodec, alternativo);
+
+        VotacaoMessage lidaJson = (VotacaoMessage) desserializador.deserialize("votacao-topic", dadosJson);
+        VotacaoMessage lidaBinaria = (VotacaoMessage) desserializador.deserialize("votacao-topic",
+                new SerializadorBinario<>(votacaoCodec).serialize("votacao-topic", new VotacaoMessage(null, 1L, "12345678901", "NAO", 1L)));
+
+        assertEquals("12345678901", lidaJson.getCpfAssociado());
+        assertEquals("NAO", lidaBinaria.getVoto());
+    }
+}
@@ -0,0 +1,258 @@
+package com.cooperativismo.votacao.service;
+
+import com.cooperativismo.votacao.dto.SessaoMessage;
+import com.cooperativismo.votacao.model.Lideranca;
+import com.cooperativismo.votacao.model.Pauta;
+import com.cooperativismo.votacao.model.SessaoVotacao;
+import com.cooperativismo.votacao.repository.LiderancaRepository;
+import com.cooperativismo.votacao.repository.SessaoVotacaoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AgendadorEncerramentoSessoesTest
+{
+    @Mock
+    private SessaoVotacaoRepository sessaoVotacaoRepository;
+
+    @Mock
+    private KafkaService kafkaService;
+
+    @Mock
+    private EleicaoLider eleicaoLider;
+
+    @Mock
+    private LiderancaRepository liderancaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AgendadorEncerramentoSessoes agendador;
+
+    @BeforeEach
+    void setUp()
+    {
+        agendador = new AgendadorEncerramentoSessoes(sessaoVotacaoRepository, kafkaService, eleicaoLider);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        agendador.encerrarAgenda();
+    }
+
+    @Test
+    @DisplayName("Deve enviar o FECHAR no instante do fechamento da sessão")
+    void disparaNoFechamento()
+    {
+        LocalDateTime agora = LocalDateTime.now();
+
+        when(eleicaoLider.isLider("encerramento-sessoes")).thenReturn(true);
+        agendador.agendar(1L, 10L, agora, agora.plusNanos(200_000_000));
+
+        verify(kafkaService, after(100).never()).sendMessage(any(), any(), any());
+        verify(kafkaService, timeout(1000)).sendMessage(eq("sessao-topic"), eq("10"), argThat(mensagem ->
+                "FECHAR".equals(((SessaoMessage) mensagem).getTipoOperacao()) && ((SessaoMessage) mensagem).getSessaoId() == 1L));
+        assertEquals(0, agendador.getSessoesAgendadas());
+    }
+
+    @Test
+    @DisplayName("Não deve disparar o FECHAR de sessão cancelada")
+    void cancelar()
+    {
+        LocalDateTime agora = LocalDateTime.now();
+
+        when(eleicaoLider.isLider("encerramento-sessoes")).thenReturn(true);
+        agendador.agendar(1L, 10L, agora, agora.plusNanos(100_000_000));
+        agendador.cancelar(1L);
+
+        verify(kafkaService, after(300).never()).sendMessage(any(), any(), any());
+        assertEquals(0, agendador.getSessoesAgendadas());
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir a agenda ao assumir a liderança, encerrando de imediato as sessões já vencidas")
+    void reconstruir()
+    {
+        LocalDateTime agora = LocalDateTime.now();
+        Pauta pauta1 = Pauta.builder().id(10L).build();
+        Pauta pauta2 = Pauta.builder().id(20L).build();
+
+        when(sessaoVotacaoRepository.findByAtivaTrue()).thenReturn(Arrays.asList(
+                SessaoVotacao.builder().id(1L).pauta(pauta1).dataAbertura(agora.minusMinutes(5)).dataFechamento(agora.minusMinutes(1)).ativa(true).build(),
+                SessaoVotacao.builder().id(2L).pauta(pauta2).dataAbertura(agora).dataFechamento(agora.plusHours(1)).ativa(true).build()));
+
+        agendador.reconstruir(new EleicaoLider.LiderancaAssumida("encerramento-sessoes"));
+
+        verify(kafkaService, timeout(1000)).sendMessage(eq("sessao-topic"), eq("10"), any(SessaoMessage.class));
+        verify(kafkaService, never()).sendMessage(eq("sessao-topic"), eq("20"), any());
+        assertEquals(1, agendador.getSessoesAgendadas());
+    }
+
+    @Test
+    @DisplayName("Não deve agendar o encerramento em instância que não é a líder")
+    void agendarSemLideranca()
+    {
+        LocalDateTime agora = LocalDateTime.now();
+
+        when(eleicaoLider.isLider("encerramento-sessoes")).thenReturn(false);
+        agendador.agendar(1L, 10L, agora, agora.plusHours(1));
+
+        assertEquals(0, agendador.getSessoesAgendadas());
+    }
+
+    @Test
+    @DisplayName("Deve completar a agenda a cada renovação com as sessões ainda não agendadas e não vencidas")
+    void completarNaRenovacao()
+    {
+        LocalDateTime agora = LocalDateTime.now();
+        Pauta pauta1 = Pauta.builder().id(10L).build();
+        Pauta pauta2 = Pauta.builder().id(20L).build();
+        Pauta pauta3 = Pauta.builder().id(30L).build();
+
+        when(eleicaoLider.isLider("encerramento-sessoes")).thenReturn(true);
+        agendador.agendar(3L, 30L, agora, agora.plusHours(1));
+
+        when(sessaoVotacaoRepository.findByAtivaTrue()).thenReturn(Arrays.asList(
+                SessaoVotacao.builder().id(1L).pauta(pauta1).dataAbertura(agora.minusMinutes(5)).dataFechamento(agora.minusMinutes(1)).ativa(true).build(),
+                SessaoVotacao.builder().id(2L).pauta(pauta2).dataAbertura(agora).dataFechamento(agora.plusHours(1)).ativa(true).build(),
+                SessaoVotacao.builder().id(3L).pauta(pauta3).dataAbertura(agora).dataFechamento(agora.plusHours(1)).ativa(true).build()));
+
+        agendador.completar(new EleicaoLider.LiderancaRenovada("encerramento-sessoes"));
+
+        verify(kafkaService, after(200).never()).sendMessage(any(), any(), any());
+        assertEquals(2, agendador.getSessoesAgendadas());
+    }
+
+    @Test
+    @DisplayName("Deve esvaziar a agenda ao perder a liderança")
+    void esvaziarAoPerderLideranca()
+    {
+        LocalDateTime agora = LocalDateTime.now();
+
+        when(eleicaoLider.isLider("encerramento-sessoes")).thenReturn(true);
+        agendador.agendar(1L, 10L, agora, agora.plusNanos(200_000_000));
+        agendador.agendar(2L, 20L, agora, agora.plusHours(1));
+
+        agendador.esvaziar(new EleicaoLider.LiderancaPerdida("encerramento-sessoes"));
+
+        verify(kafkaService, after(400).never()).sendMessage(any(), any(), any());
+        assertEquals(0, agendador.getSessoesAgendadas());
+    }
+
+    @Test
+    @DisplayName("Deve encerrar no horário a sessão agendada pela líder que caiu, pela instância que assume a liderança")
+    void assumirAgendaDaLiderQueCaiu() throws Exception
+    {
+        LocalDateTime agora = LocalDateTime.now();
+        SessaoVotacao sessao = SessaoVotacao.builder().id(1L).pauta(Pauta.builder().id(10L).build())
+                .dataAbertura(agora).dataFechamento(agora.plusSeconds(2)).ativa(true).build();
+        AtomicReference<Lideranca> concessao = new AtomicReference<>();
+        AtomicReference<List<SessaoVotacao>> ativas = new AtomicReference<>(Collections.emptyList());
+
+        when(liderancaRepository.bloquear("encerramento-sessoes")).thenAnswer(invocacao -> Optional.ofNullable(concessao.get()));
+        when(liderancaRepository.saveAndFlush(any(Lideranca.class))).thenAnswer(invocacao ->
+        {
+            concessao.set(invocacao.getArgument(0));
+
+            return invocacao.getArgument(0);
+        });
+        when(sessaoVotacaoRepository.findByAtivaTrue()).thenAnswer(invocacao -> ativas.get());
+
+        KafkaService kafkaServiceA = mock(KafkaService.class);
+        KafkaService kafkaServiceB = mock(KafkaService.class);
+        AtomicReference<AgendadorEncerramentoSessoes> agendadorA = new AtomicReference<>();
+        AtomicReference<AgendadorEncerramentoSessoes> agendadorB = new AtomicReference<>();
+        EleicaoLider liderA = new EleicaoLider(liderancaRepository, transactionManager, evento -> entregar(agendadorA.get(), evento), "instancia-a", 300, 100);
+        EleicaoLider liderB = new EleicaoLider(liderancaRepository, transactionManager, evento -> entregar(agendadorB.get(), evento), "instancia-b", 300, 100);
+
+        agendadorA.set(new AgendadorEncerramentoSessoes(sessaoVotacaoRepository, kafkaServiceA, liderA));
+        agendadorB.set(new AgendadorEncerramentoSessoes(sessaoVotacaoRepository, kafkaServiceB, liderB));
+
+        try
+        {
+            agendadorA.get().candidatar();
+            agendadorB.get().candidatar();
+
+            // o ABRIR é consumido pela instância que não lidera; a líder agenda a sessão na renovação seguinte
+            ativas.set(List.of(sessao));
+            agendadorB.get().agendar(1L, 10L, sessao.getDataAbertura(), sessao.getDataFechamento());
+            liderA.renovar();
+
+            assertEquals(1, agendadorA.get().getSessoesAgendadas());
+            assertEquals(0, agendadorB.get().getSessoesAgendadas());
+
+            // a líder cai sem liberar a concessão; a outra assume quando ela expira
+            agendadorA.get().encerrarAgenda();
+            Thread.sleep(400);
+            liderB.renovar();
+
+            assertEquals(1, agendadorB.get().getSessoesAgendadas());
+            verify(kafkaServiceB, timeout(3000)).sendMessage(eq("sessao-topic"), eq("10"), argThat(mensagem ->
+                    "FECHAR".equals(((SessaoMessage) mensagem).getTipoOperacao())));
+            verifyNoInteractions(kafkaServiceA);
+        }
+        finally
+        {
+            agendadorB.get().encerrarAgenda();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve disputar a liderança na partida sem reconstruir a agenda por conta própria")
+    void candidatarSemLideranca()
+    {
+        when(eleicaoLider.candidatar("encerramento-sessoes")).thenReturn(false);
+
+        agendador.candidatar();
+
+        verify(eleicaoLider, times(1)).candidatar("encerramento-sessoes");
+        verifyNoInteractions(sessaoVotacaoRepository, kafkaService);
+        assertEquals(0, agendador.getSessoesAgendadas());
+    }
+
+    @Test
+    @DisplayName("Não deve reconstruir a agenda quando a liderança assumida é de outro recurso")
+    void reconstruirOutroRecurso()
+    {
+        agendador.reconstruir(new EleicaoLider.LiderancaAssumida("outro-recurso"));
+
+        verifyNoInteractions(sessaoVotacaoRepository, kafkaService);
+        assertEquals(0, agendador.getSessoesAgendadas());
+    }
+
+    private static void entregar(AgendadorEncerramentoSessoes agendador, Object evento)
+    {
+        if (evento instanceof EleicaoLider.LiderancaAssumida assumida)
+        {
+            agendador.reconstruir(assumida);
+        }
+        else if (evento instanceof EleicaoLider.LiderancaRenovada renovada)
+        {
+            agendador.completar(renovada);
+        }
+        else if (evento instanceof EleicaoLider.LiderancaPerdida perdida)
+        {
+            agendador.esvaziar(perdida);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.cooperativismo.votacao.service;
+
+import com.cooperativismo.votacao.model.Lideranca;
+import com.cooperativismo.votacao.repository.LiderancaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EleicaoLiderTest
+{
+    private static final String RECURSO = "encerramento-sessoes";
+
+    @Mock
+    private LiderancaRepository liderancaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventos;
+
+    private EleicaoLider eleicaoLider;
+
+    @BeforeEach
+    void setUp()
+    {
+        eleicaoLider = new EleicaoLider(liderancaRepository, transactionManager, eventos, "instancia-a", 30000, 10000);
+    }
+
+    @Test
+    @DisplayName("Deve retomar depois de reiniciar a concessão que a própria instância ainda detinha")
+    void retomaPropriaConcessao()
+    {
+        Lideranca lideranca = new Lideranca(RECURSO, "instancia-a", LocalDateTime.now().plusSeconds(20));
+
+        when(liderancaRepository.bloquear(RECURSO)).thenReturn(Optional.of(lideranca));
+
+        assertTrue(eleicaoLider.candidatar(RECURSO));
+        eleicaoLider.renovar();
+
+        assertEquals("instancia-a", lideranca.getInstancia());
+        assertTrue(lideranca.getExpiraEm().isAfter(LocalDateTime.now().plusSeconds(25)));
+        verify(liderancaRepository, times(2)).bloquear(RECURSO);
+        verify(eventos, times(1)).publishEvent(new EleicaoLider.LiderancaAssumida(RECURSO));
+        verify(eventos, times(1)).publishEvent(new EleicaoLider.LiderancaRenovada(RECURSO));
+        assertTrue(eleicaoLider.isLider(RECURSO));
+    }
+
+    @Test
+    @DisplayName("Deve avisar quando outra instância toma a concessão que expirou sem renovação")
+    void perdeConcessao()
+    {
+        Lideranca lideranca = new Lideranca(RECURSO, "instancia-a", LocalDateTime.now().plusSeconds(20));
+
+        when(liderancaRepository.bloquear(RECURSO)).thenReturn(Optional.of(lideranca));
+
+        assertTrue(eleicaoLider.candidatar(RECURSO));
+
+        lideranca.conceder("instancia-b", LocalDateTime.now().plusSeconds(20));
+        eleicaoLider.renovar();
+
+        assertFalse(eleicaoLider.isLider(RECURSO));
+        verify(eventos, times(1)).publishEvent(new EleicaoLider.LiderancaPerdida(RECURSO));
+    }
+
+    @Test
+    @DisplayName("Deve assumir na renovação a concessão que outra instância deixou expirar")
+    void assumeConcessaoExpirada()
+    {
+        Lideranca lideranca = new Lideranca(RECURSO, "instancia-b", LocalDateTime.now().plusSeconds(20));
+
+        when(liderancaRepository.bloquear(RECURSO)).thenReturn(Optional.of(lideranca));
+
+        assertFalse(eleicaoLider.candidatar(RECURSO));
+        verifyNoInteractions(eventos);
+
+        lideranca.liberar(LocalDateTime.now());
+        eleicaoLider.renovar();
+
+        assertEquals("instancia-a", lideranca.getInstancia());
+        verify(eventos, times(1)).publishEvent(new EleicaoLider.LiderancaAssumida(RECURSO));
+    }
+
+    @Test
+    @DisplayName("Deve recusar renovação que não acontece antes de a concessão expirar")
+    void recusaRenovacaoMaiorQueDuracao()
+    {
+        assertThrows(IllegalStateException.class,
+                () -> new EleicaoLider(liderancaRepository, transactionManager, eventos, "instancia-a", 10000, 10000));
+    }
+}
@@ -0,0 +1,127 @@
+package com.cooperativismo.votacao.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.NotLeaderOrFollowerException;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaServiceTest
+{
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private MeterRegistry meterRegistry;
+
+    private KafkaService kafkaService;
+
+    @BeforeEach
+    void setUp()
+    {
+        meterRegistry = new SimpleMeterRegistry();
+        kafkaService = new KafkaService(kafkaTemplate, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Deve completar o futuro e registrar a latência quando o broker confirma o envio")
+    void sendMessageComSucesso() throws Exception
+    {
+        when(kafkaTemplate.send(eq("votacao-topic"), any(), any())).thenReturn(sucesso("votacao-topic"));
+
+        SendResult<String, Object> resultado = kafkaService.sendMessage("votacao-topic", "voto").get(5, TimeUnit.SECONDS);
+
+        assertEquals(42L, resultado.getRecordMetadata().offset());
+        assertEquals(1L, meterRegistry.get("votacao.kafka.envio").tag("topico", "votacao-topic").tag("resultado", "sucesso").timer().count());
+    }
+
+    @Test
+    @DisplayName("Não deve reenviar por conta própria um erro temporário que o produtor já desistiu de reenviar")
+    void sendMessageNaoReenviaErroTemporario()
+    {
+        when(kafkaTemplate.send(eq("votacao-topic"), any(), any())).thenReturn(falha(new NotLeaderOrFollowerException("líder trocado")));
+
+        CompletableFuture<SendResult<String, Object>> envio = kafkaService.sendMessage("votacao-topic", "voto");
+
+        ExecutionException erro = assertThrows(ExecutionException.class, () -> envio.get(5, TimeUnit.SECONDS));
+        assertTrue(erro.getCause() instanceof NotLeaderOrFollowerException);
+        verify(kafkaTemplate, times(1)).send("votacao-topic", null, "voto");
+        assertEquals(1.0, meterRegistry.get("votacao.kafka.envio.falhas").tag("topico", "votacao-topic").tag("excecao", "NotLeaderOrFollowerException").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve falhar o futuro e contar a falha quando o erro não é temporário")
+    void sendMessageContaFalhaDefinitiva()
+    {
+        when(kafkaTemplate.send(eq("votacao-topic"), any(), any())).thenReturn(falha(new RecordTooLargeException("mensagem grande demais")));
+
+        CompletableFuture<SendResult<String, Object>> envio = kafkaService.sendMessage("votacao-topic", "voto");
+
+        ExecutionException erro = assertThrows(ExecutionException.class, () -> envio.get(5, TimeUnit.SECONDS));
+        assertTrue(erro.getCause() instanceof RecordTooLargeException);
+        verify(kafkaTemplate, times(1)).send("votacao-topic", null, "voto");
+        assertEquals(1.0, meterRegistry.get("votacao.kafka.envio.falhas").tag("topico", "votacao-topic").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve enviar todas as mensagens sem esperar uma pela outra")
+    void sendAll() throws Exception
+    {
+        when(kafkaTemplate.send(eq("votacao-topic"), any(), any())).thenAnswer(invocacao -> sucesso("votacao-topic"));
+
+        kafkaService.sendAll("votacao-topic", Arrays.asList("a", "b", "c")).get(5, TimeUnit.SECONDS);
+
+        verify(kafkaTemplate, times(3)).send(eq("votacao-topic"), any(), any());
+        assertEquals(3L, meterRegistry.get("votacao.kafka.envio").tag("resultado", "sucesso").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve usar a chave informada para que mensagens da mesma pauta caiam na mesma partição")
+    void sendAllComChave() throws Exception
+    {
+        when(kafkaTemplate.send(eq("votacao-topic"), any(), any())).thenAnswer(invocacao -> sucesso("votacao-topic"));
+
+        kafkaService.sendAll("votacao-topic", Arrays.asList(1L, 2L, 1L), pautaId -> String.valueOf(pautaId)).get(5, TimeUnit.SECONDS);
+
+        verify(kafkaTemplate, times(2)).send("votacao-topic", "1", 1L);
+        verify(kafkaTemplate, times(1)).send("votacao-topic", "2", 2L);
+    }
+
+    private SettableListenableFuture<SendResult<String, Object>> sucesso(String topico)
+    {
+        SettableListenableFuture<SendResult<String, Object>> futuro = new SettableListenableFuture<>();
+        futuro.set(new SendResult<>(new ProducerRecord<>(topico, "voto"),
+                new RecordMetadata(new TopicPartition(topico, 0), 42L, 0, System.currentTimeMillis(), 0, 0)));
+
+        return futuro;
+    }
+
+    private SettableListenableFuture<SendResult<String, Object>> falha(Exception erro)
+    {
+        SettableListenableFuture<SendResult<String, Object>> futuro = new SettableListenableFuture<>();
+        futuro.setException(erro);
+
+        return futuro;
+    }
+}
@@ -0,0 +1,98 @@
+package com.cooperativismo.votacao.service;
+
+import com.cooperativismo.votacao.repository.PautaRepository;
+import com.cooperativismo.votacao.repository.ResumoSessao;
+import com.cooperativismo.votacao.repository.SessaoVotacaoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetadadosVotacaoTest
+{
+    @Mock
+    private PautaRepository pautaRepository;
+
+    @Mock
+    private SessaoVotacaoRepository sessaoVotacaoRepository;
+
+    private MetadadosVotacao metadadosVotacao;
+    private ResumoSessao sessao;
+
+    @BeforeEach
+    void setUp()
+    {
+        metadadosVotacao = new MetadadosVotacao(pautaRepository, sessaoVotacaoRepository, new SimpleMeterRegistry(), 100, 60000);
+
+        LocalDateTime agora = LocalDateTime.now();
+
+        sessao = new ResumoSessao(5L, 1L, agora, agora.plusMinutes(5), true);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco uma única vez para pautas existentes")
+    void pautaExisteEmCache()
+    {
+        when(pautaRepository.existsById(1L)).thenReturn(true);
+
+        assertTrue(metadadosVotacao.pautaExiste(1L));
+        assertTrue(metadadosVotacao.pautaExiste(1L));
+
+        verify(pautaRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar em cache a ausência de uma pauta")
+    void pautaInexistenteNaoFicaEmCache()
+    {
+        when(pautaRepository.existsById(2L)).thenReturn(false, true);
+
+        assertFalse(metadadosVotacao.pautaExiste(2L));
+        assertTrue(metadadosVotacao.pautaExiste(2L));
+
+        verify(pautaRepository, times(2)).existsById(2L);
+    }
+
+    @Test
+    @DisplayName("Deve recarregar a janela da sessão depois de invalidada")
+    void invalidarSessao()
+    {
+        ResumoSessao fechada = new ResumoSessao(5L, 1L, sessao.dataAbertura(), sessao.dataFechamento(), false);
+
+        when(sessaoVotacaoRepository.findResumoByPautaId(1L)).thenReturn(Optional.of(sessao), Optional.of(fechada));
+
+        assertTrue(metadadosVotacao.obterSessao(1L).map(ResumoSessao::estaAberta).orElse(false));
+        metadadosVotacao.obterSessao(1L);
+
+        metadadosVotacao.invalidarSessao(1L);
+
+        assertFalse(metadadosVotacao.obterSessao(1L).map(ResumoSessao::estaAberta).orElse(true));
+        verify(sessaoVotacaoRepository, times(2)).findResumoByPautaId(1L);
+    }
+
+    @Test
+    @DisplayName("Deve buscar em lote só as sessões que faltam no cache")
+    void obterSessoesEmLote()
+    {
+        when(sessaoVotacaoRepository.findResumoByPautaId(1L)).thenReturn(Optional.of(sessao));
+        when(sessaoVotacaoRepository.findResumosByPautaIdIn(anyCollection())).thenReturn(Collections.emptyList());
+
+        metadadosVotacao.obterSessao(1L);
+
+        assertEquals(Collections.singleton(1L), metadadosVotacao.obterSessoes(Arrays.asList(1L, 3L)).keySet());
+        verify(sessaoVotacaoRepository).findResumosByPautaIdIn(Collections.singletonList(3L));
+    }
+}
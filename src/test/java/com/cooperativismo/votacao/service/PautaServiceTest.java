@@ -2,6 +2,7 @@ package com.cooperativismo.votacao.service;
 
 import com.cooperativismo.votacao.dto.PautaDTO;
 import com.cooperativismo.votacao.dto.PautaMessage;
+import com.cooperativismo.votacao.exception.BusinessException;
 import com.cooperativismo.votacao.exception.ResourceNotFoundException;
 import com.cooperativismo.votacao.model.Pauta;
 import com.cooperativismo.votacao.repository.PautaRepository;
@@ -12,11 +13,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,6 +38,9 @@ class PautaServiceTest
     @Mock
     private KafkaService kafkaService;
 
+    @Mock
+    private MetadadosVotacao metadadosVotacao;
+
     @InjectMocks
     private PautaService pautaService;
 
@@ -65,28 +74,51 @@ class PautaServiceTest
     }
 
     @Test
-    @DisplayName("Deve listar todas as pautas com sucesso")
+    @DisplayName("Deve listar uma página de pautas a partir do cursor")
     void listarPautas()
     {
-        when(pautaRepository.findAll()).thenReturn(Arrays.asList(pauta));
+        when(pautaRepository.findPagina(eq(0L), any(LocalDateTime.class), eq(PageRequest.of(0, 50)))).thenReturn(Arrays.asList(pautaDTO));
 
-        List<PautaDTO> result = pautaService.listarPautas();
+        List<PautaDTO> result = pautaService.listarPautas(null, 50, null);
 
         assertNotNull(result);
-        assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals(pauta.getId(), result.get(0).getId());
         assertEquals(pauta.getTitulo(), result.get(0).getTitulo());
         assertEquals(pauta.getDescricao(), result.get(0).getDescricao());
 
-        verify(pautaRepository, times(1)).findAll();
+        verify(pautaRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve recusar limite de página fora da faixa permitida")
+    void listarPautasComLimiteInvalido()
+    {
+        assertThrows(BusinessException.class, () -> pautaService.listarPautas(null, 0, null));
+        assertThrows(BusinessException.class, () -> pautaService.listarPautas(null, PautaService.LIMITE_MAXIMO_PAGINA + 1, null));
+
+        verifyNoInteractions(pautaRepository);
+    }
+
+    @Test
+    @DisplayName("Deve exportar as pautas a partir da data informada")
+    void exportarPautas()
+    {
+        LocalDateTime desde = LocalDateTime.now().minusDays(1);
+        List<PautaDTO> exportadas = new ArrayList<>();
+
+        when(pautaRepository.streamDesde(desde)).thenReturn(Stream.of(pautaDTO));
+
+        pautaService.exportarPautas(desde, exportadas::add);
+
+        assertEquals(Collections.singletonList(pautaDTO), exportadas);
     }
 
     @Test
     @DisplayName("Deve buscar pauta por ID com sucesso")
     void buscarPautaComSucesso()
     {
-        when(pautaRepository.findById(1L)).thenReturn(Optional.of(pauta));
+        when(pautaRepository.findDtoById(1L)).thenReturn(Optional.of(pautaDTO));
 
         PautaDTO result = pautaService.buscarPauta(1L);
 
@@ -95,21 +127,21 @@ class PautaServiceTest
         assertEquals(pauta.getTitulo(), result.getTitulo());
         assertEquals(pauta.getDescricao(), result.getDescricao());
 
-        verify(pautaRepository, times(1)).findById(1L);
+        verify(pautaRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao buscar pauta inexistente")
     void buscarPautaInexistente()
     {
-        when(pautaRepository.findById(99L)).thenReturn(Optional.empty());
+        when(pautaRepository.findDtoById(99L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> 
         {
             pautaService.buscarPauta(99L);
         } );
 
-        verify( pautaRepository, times(1) ).findById( 99L );
+        verify( pautaRepository, times(1) ).findDtoById( 99L );
     }
 
     @Test
@@ -121,7 +153,7 @@ class PautaServiceTest
                                      .descricao("Descrição da nova pauta")
                                      .build();
 
-        doNothing().when(kafkaService).sendMessage(eq("pauta-topic"), any(PautaMessage.class));
+        when(kafkaService.sendMessage(eq("pauta-topic"), any(PautaMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
         
         pautaService.criarPauta(novaPauta);
         
@@ -145,6 +177,7 @@ class PautaServiceTest
         pautaService.processarPauta(message);
         
         verify(pautaRepository, times(1)).save(any(Pauta.class));
+        verify(metadadosVotacao, times(1)).registrarPauta(pauta.getId());
     }
     
     @Test
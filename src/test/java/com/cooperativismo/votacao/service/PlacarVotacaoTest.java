@@ -0,0 +1,214 @@
+package com.cooperativismo.votacao.service;
+
+import com.cooperativismo.votacao.model.Voto.OpcaoVoto;
+import com.cooperativismo.votacao.repository.VotoRepository;
+import com.cooperativismo.votacao.repository.VotosPorOpcao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlacarVotacaoTest
+{
+    @Mock
+    private VotoRepository votoRepository;
+
+    private PlacarVotacao placarVotacao;
+
+    @BeforeEach
+    void setUp()
+    {
+        placarVotacao = new PlacarVotacao(votoRepository, true, 60000, 60000);
+    }
+
+    @Test
+    @DisplayName("Deve carregar a contagem do banco apenas na primeira leitura")
+    void obterContagemCarregaUmaVez()
+    {
+        List<VotosPorOpcao> totais = Arrays.asList(
+                votosPorOpcao(1L, OpcaoVoto.SIM, 7L),
+                votosPorOpcao(1L, OpcaoVoto.NAO, 3L));
+
+        when(votoRepository.contarVotosPorOpcao(1L)).thenReturn(totais);
+
+        placarVotacao.obterContagem(1L);
+        PlacarVotacao.Contagem contagem = placarVotacao.obterContagem(1L);
+
+        assertEquals(7L, contagem.getVotosSim());
+        assertEquals(3L, contagem.getVotosNao());
+        assertEquals(10L, contagem.getTotalVotos());
+        verify(votoRepository, times(1)).contarVotosPorOpcao(1L);
+    }
+
+    @Test
+    @DisplayName("Deve somar votos registrados a uma pauta já carregada")
+    void registrarVotoIncrementaContagem()
+    {
+        when(votoRepository.contarVotosPorOpcao(1L)).thenReturn(Collections.emptyList());
+
+        placarVotacao.obterContagem(1L);
+        placarVotacao.registrarVoto(1L, OpcaoVoto.SIM);
+        placarVotacao.registrarVoto(1L, OpcaoVoto.NAO);
+        placarVotacao.registrarVoto(1L, OpcaoVoto.SIM);
+
+        PlacarVotacao.Contagem contagem = placarVotacao.obterContagem(1L);
+
+        assertEquals(2L, contagem.getVotosSim());
+        assertEquals(1L, contagem.getVotosNao());
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir o placar das sessões ativas com uma única consulta")
+    void reconstruirPlacar()
+    {
+        List<VotosPorOpcao> totais = Arrays.asList(
+                votosPorOpcao(1L, OpcaoVoto.SIM, 5L),
+                votosPorOpcao(2L, OpcaoVoto.NAO, 4L));
+
+        when(votoRepository.contarVotosPorOpcaoDeSessoesAtivas()).thenReturn(totais);
+
+        placarVotacao.reconstruir();
+
+        assertEquals(5L, placarVotacao.obterContagem(1L).getVotosSim());
+        assertEquals(4L, placarVotacao.obterContagem(2L).getVotosNao());
+        verify(votoRepository, never()).contarVotosPorOpcao(anyLong());
+    }
+
+    @Test
+    @DisplayName("Não deve sobrescrever na reconstrução uma pauta que os consumidores já carregaram e incrementaram")
+    void reconstruirMantemContadorExistente()
+    {
+        List<VotosPorOpcao> totais = Collections.singletonList(votosPorOpcao(1L, OpcaoVoto.SIM, 5L));
+
+        when(votoRepository.contarVotosPorOpcao(1L)).thenReturn(Collections.emptyList());
+        when(votoRepository.contarVotosPorOpcaoDeSessoesAtivas()).thenReturn(totais);
+
+        placarVotacao.obterContagem(1L);
+        placarVotacao.registrarVoto(1L, OpcaoVoto.NAO);
+        placarVotacao.reconstruir();
+
+        PlacarVotacao.Contagem contagem = placarVotacao.obterContagem(1L);
+
+        assertEquals(0L, contagem.getVotosSim());
+        assertEquals(1L, contagem.getVotosNao());
+    }
+
+    @Test
+    @DisplayName("Deve recontar no banco a pauta vencida sem perder o voto somado durante a consulta")
+    void recontarPautaVencida()
+    {
+        PlacarVotacao placar = new PlacarVotacao(votoRepository, true, 0, 60000);
+        List<VotosPorOpcao> carga = Collections.singletonList(votosPorOpcao(1L, OpcaoVoto.SIM, 5L));
+        List<VotosPorOpcao> recontagem = Collections.singletonList(votosPorOpcao(1L, OpcaoVoto.SIM, 6L));
+
+        when(votoRepository.contarVotosPorOpcao(1L))
+                .thenReturn(carga)
+                .thenAnswer(invocacao ->
+                {
+                    placar.registrarVoto(1L, OpcaoVoto.SIM);
+
+                    return recontagem;
+                });
+
+        placar.obterContagem(1L);
+        placar.registrarVoto(1L, OpcaoVoto.SIM);
+
+        assertEquals(7L, placar.obterContagem(1L).getVotosSim());
+        verify(votoRepository, times(2)).contarVotosPorOpcao(1L);
+        verify(votoRepository, never()).contarVotosPorOpcaoDeSessoesAtivas();
+    }
+
+    @Test
+    @DisplayName("Deve manter no placar a pauta sem votos que continua sendo lida e tirar a ociosa")
+    void atualizarPlacar() throws Exception
+    {
+        PlacarVotacao placar = new PlacarVotacao(votoRepository, true, 60000, 50);
+
+        when(votoRepository.contarVotosPorOpcao(anyLong())).thenReturn(Collections.emptyList());
+
+        placar.obterContagem(1L);
+        placar.obterContagem(2L);
+        Thread.sleep(100);
+        placar.obterContagem(1L);
+        placar.atualizar();
+
+        assertEquals(0L, placar.obterContagem(1L).getTotalVotos());
+        assertEquals(0L, placar.obterContagem(2L).getTotalVotos());
+        verify(votoRepository, times(1)).contarVotosPorOpcao(1L);
+        verify(votoRepository, times(2)).contarVotosPorOpcao(2L);
+        verify(votoRepository, never()).contarVotosPorOpcaoDeSessoesAtivas();
+    }
+
+    @Test
+    @DisplayName("Deve recontar as pautas vencidas de uma leitura de várias pautas com uma única consulta")
+    void obterContagensRecontaVencidas()
+    {
+        PlacarVotacao placar = new PlacarVotacao(votoRepository, true, 0, 60000);
+        List<VotosPorOpcao> carga = Collections.singletonList(votosPorOpcao(1L, OpcaoVoto.NAO, 2L));
+        List<VotosPorOpcao> recontagem = Collections.singletonList(votosPorOpcao(1L, OpcaoVoto.NAO, 4L));
+
+        when(votoRepository.contarVotosPorOpcaoDasPautas(Arrays.asList(1L))).thenReturn(carga, recontagem);
+
+        placar.obterContagens(Arrays.asList(1L));
+        placar.registrarVoto(1L, OpcaoVoto.NAO);
+
+        assertEquals(4L, placar.obterContagens(Arrays.asList(1L)).get(1L).getVotosNao());
+        verify(votoRepository, times(2)).contarVotosPorOpcaoDasPautas(Arrays.asList(1L));
+    }
+
+    @Test
+    @DisplayName("Deve contar várias pautas ausentes do placar com uma única consulta agrupada")
+    void obterContagensDeVariasPautas()
+    {
+        List<VotosPorOpcao> totais = Arrays.asList(
+                votosPorOpcao(1L, OpcaoVoto.SIM, 2L),
+                votosPorOpcao(1L, OpcaoVoto.NAO, 1L));
+
+        when(votoRepository.contarVotosPorOpcaoDasPautas(Arrays.asList(1L, 2L))).thenReturn(totais);
+
+        Map<Long, PlacarVotacao.Contagem> contagens = placarVotacao.obterContagens(Arrays.asList(1L, 2L));
+
+        assertEquals(3L, contagens.get(1L).getTotalVotos());
+        assertEquals(0L, contagens.get(2L).getTotalVotos());
+        verify(votoRepository, never()).contarVotosPorOpcao(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve contar os votos no banco a cada leitura quando o placar está desabilitado")
+    void obterContagemComPlacarDesabilitado()
+    {
+        PlacarVotacao placarDesabilitado = new PlacarVotacao(votoRepository, false, 60000, 60000);
+
+        List<VotosPorOpcao> totais = Collections.singletonList(votosPorOpcao(1L, OpcaoVoto.SIM, 4L));
+
+        when(votoRepository.contarVotosPorOpcao(1L)).thenReturn(totais);
+
+        placarDesabilitado.obterContagem(1L);
+        PlacarVotacao.Contagem contagem = placarDesabilitado.obterContagem(1L);
+
+        assertEquals(4L, contagem.getVotosSim());
+        verify(votoRepository, times(2)).contarVotosPorOpcao(1L);
+    }
+
+    private VotosPorOpcao votosPorOpcao(Long pautaId, OpcaoVoto opcaoVoto, Long total)
+    {
+        VotosPorOpcao votos = mock(VotosPorOpcao.class);
+
+        lenient().when(votos.getPautaId()).thenReturn(pautaId);
+        when(votos.getOpcaoVoto()).thenReturn(opcaoVoto);
+        when(votos.getTotal()).thenReturn(total);
+
+        return votos;
+    }
+}
@@ -0,0 +1,117 @@
+package com.cooperativismo.votacao.service;
+
+import com.cooperativismo.votacao.repository.ChaveVoto;
+import com.cooperativismo.votacao.repository.VotoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RegistroVotantesTest
+{
+    @Mock
+    private VotoRepository votoRepository;
+
+    private RegistroVotantes registroVotantes;
+
+    @BeforeEach
+    void setUp()
+    {
+        registroVotantes = new RegistroVotantes(votoRepository, 1000, 0.01);
+    }
+
+    @Test
+    @DisplayName("Deve responder sem consultar o banco para uma sessão recém-aberta")
+    void consultarSessaoIniciada()
+    {
+        registroVotantes.iniciar(1L);
+
+        assertEquals(RegistroVotantes.Situacao.NAO_VOTOU, registroVotantes.consultar(1L, "12345678901"));
+
+        registroVotantes.registrar(1L, "12345678901");
+
+        assertEquals(RegistroVotantes.Situacao.JA_VOTOU, registroVotantes.consultar(1L, "12345678901"));
+        assertEquals(RegistroVotantes.Situacao.NAO_VOTOU, registroVotantes.consultar(1L, "00000000000"));
+        verifyNoInteractions(votoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve carregar os votantes da pauta uma única vez quando ainda não conhecida")
+    void consultarCarregaVotantesDoBanco()
+    {
+        when(votoRepository.findCpfsByPautaId(2L)).thenReturn(Arrays.asList("12345678901", "00000000191"));
+
+        assertEquals(RegistroVotantes.Situacao.JA_VOTOU, registroVotantes.consultar(2L, "00000000191"));
+        assertEquals(RegistroVotantes.Situacao.NAO_VOTOU, registroVotantes.consultar(2L, "98765432100"));
+        verify(votoRepository, times(1)).findCpfsByPautaId(2L);
+    }
+
+    @Test
+    @DisplayName("Deve descartar os votantes quando a sessão é encerrada")
+    void descartarVotantes()
+    {
+        registroVotantes.iniciar(1L);
+        registroVotantes.registrar(1L, "12345678901");
+        registroVotantes.descartar(1L);
+
+        when(votoRepository.findCpfsByPautaId(1L)).thenReturn(Arrays.asList("12345678901"));
+
+        assertEquals(RegistroVotantes.Situacao.JA_VOTOU, registroVotantes.consultar(1L, "12345678901"));
+        verify(votoRepository, times(1)).findCpfsByPautaId(1L);
+    }
+
+    @Test
+    @DisplayName("Deve somar os votantes do aquecimento aos que os consumidores já registraram")
+    void aquecerMantemVotantesRegistrados()
+    {
+        ChaveVoto voto = mock(ChaveVoto.class);
+        when(voto.getPautaId()).thenReturn(1L);
+        when(voto.getCpfAssociado()).thenReturn("00000000191");
+
+        when(votoRepository.findVotosDeSessoesAtivas()).thenReturn(Collections.singletonList(voto));
+
+        registroVotantes.iniciar(1L);
+        registroVotantes.registrar(1L, "12345678901");
+        registroVotantes.aquecerSessoesAtivas();
+
+        assertEquals(RegistroVotantes.Situacao.JA_VOTOU, registroVotantes.consultar(1L, "12345678901"));
+        assertEquals(RegistroVotantes.Situacao.JA_VOTOU, registroVotantes.consultar(1L, "00000000191"));
+        verify(votoRepository, never()).findCpfsByPautaId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve indicar situação indeterminada para CPF fora do formato numérico")
+    void consultarCpfMalFormado()
+    {
+        assertEquals(RegistroVotantes.Situacao.INDETERMINADA, registroVotantes.consultar(1L, "1234567890A"));
+        verifyNoInteractions(votoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve manter todos os CPFs após vários redimensionamentos do conjunto")
+    void conjuntoComMuitosCpfs()
+    {
+        registroVotantes.iniciar(1L);
+
+        for (long cpf = 0; cpf < 20000; cpf++)
+        {
+            registroVotantes.registrar(1L, String.format("%011d", cpf * 7919));
+        }
+
+        for (long cpf = 0; cpf < 20000; cpf++)
+        {
+            assertEquals(RegistroVotantes.Situacao.JA_VOTOU, registroVotantes.consultar(1L, String.format("%011d", cpf * 7919)));
+        }
+
+        assertEquals(RegistroVotantes.Situacao.NAO_VOTOU, registroVotantes.consultar(1L, "00000000001"));
+    }
+}
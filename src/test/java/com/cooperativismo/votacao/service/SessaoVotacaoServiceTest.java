@@ -6,21 +6,28 @@ import com.cooperativismo.votacao.exception.BusinessException;
 import com.cooperativismo.votacao.exception.ResourceNotFoundException;
 import com.cooperativismo.votacao.model.Pauta;
 import com.cooperativismo.votacao.model.SessaoVotacao;
-import com.cooperativismo.votacao.model.Voto;
 import com.cooperativismo.votacao.repository.PautaRepository;
+import com.cooperativismo.votacao.repository.ResumoPauta;
+import com.cooperativismo.votacao.repository.ResumoSessao;
 import com.cooperativismo.votacao.repository.SessaoVotacaoRepository;
-import com.cooperativismo.votacao.repository.VotoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -37,7 +44,7 @@ class SessaoVotacaoServiceTest
     private PautaRepository pautaRepository;
 
     @Mock
-    private VotoRepository votoRepository;
+    private PlacarVotacao placarVotacao;
     
     @Mock
     private CallbackService callbackService;
@@ -45,6 +52,21 @@ class SessaoVotacaoServiceTest
     @Mock
     private KafkaService kafkaService;
 
+    @Mock
+    private RegistroVotantes registroVotantes;
+
+    @Mock
+    private AgendadorEncerramentoSessoes agendadorEncerramentoSessoes;
+
+    @Mock
+    private EleicaoLider eleicaoLider;
+
+    @Mock
+    private MetadadosVotacao metadadosVotacao;
+
+    @Spy
+    private MetricasVotacao metricasVotacao = new MetricasVotacao(new SimpleMeterRegistry());
+
     @InjectMocks
     private SessaoVotacaoService sessaoVotacaoService;
 
@@ -76,11 +98,11 @@ class SessaoVotacaoServiceTest
     @DisplayName("Deve enviar mensagem para abrir sessão de votação")
     void abrirSessaoComSucesso()
     {
-        doNothing().when(kafkaService).sendMessage(eq("sessao-topic"), any(SessaoMessage.class));
+        when(kafkaService.sendMessage(eq("sessao-topic"), anyString(), any(SessaoMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
 
         sessaoVotacaoService.abrirSessao(1L, 5);
 
-        verify(kafkaService, times(1)).sendMessage(eq("sessao-topic"), any(SessaoMessage.class));
+        verify(kafkaService, times(1)).sendMessage(eq("sessao-topic"), anyString(), any(SessaoMessage.class));
     }
 
     @Test
@@ -105,6 +127,8 @@ class SessaoVotacaoServiceTest
         verify(pautaRepository, times(1)).findById(1L);
         verify(sessaoVotacaoRepository, times(1)).findByPautaId(1L);
         verify(sessaoVotacaoRepository, times(1)).save(any(SessaoVotacao.class));
+        verify(agendadorEncerramentoSessoes, times(1)).agendar(1L, 1L, sessaoVotacao.getDataAbertura(), sessaoVotacao.getDataFechamento());
+        verify(registroVotantes, times(1)).iniciar(1L);
     }
     
     @Test
@@ -128,6 +152,7 @@ class SessaoVotacaoServiceTest
         verify(pautaRepository, times(1)).findById(1L);
         verify(sessaoVotacaoRepository, times(1)).findByPautaId(1L);
         verify(sessaoVotacaoRepository, never()).save(any(SessaoVotacao.class));
+        verifyNoInteractions(registroVotantes);
     }
     
     @Test
@@ -143,47 +168,80 @@ class SessaoVotacaoServiceTest
                                 System.currentTimeMillis()
                             );
                             
+        when(sessaoVotacaoRepository.fecharSeAtiva(1L)).thenReturn(1);
         when(sessaoVotacaoRepository.findById(1L)).thenReturn(Optional.of(sessaoVotacao));
-        when(sessaoVotacaoRepository.save(any(SessaoVotacao.class))).thenReturn(sessaoVotacao);
-        when(pautaRepository.findById(1L)).thenReturn(Optional.of(pauta));
-        when(sessaoVotacaoRepository.findByPautaId(1L)).thenReturn(Optional.of(sessaoVotacao));
-        when(votoRepository.countByPautaId(1L)).thenReturn(10L);
-        when(votoRepository.countByPautaIdAndOpcaoVoto(1L, Voto.OpcaoVoto.SIM)).thenReturn(7L);
-        when(votoRepository.countByPautaIdAndOpcaoVoto(1L, Voto.OpcaoVoto.NAO)).thenReturn(3L);
+        when(pautaRepository.findResumoById(1L)).thenReturn(Optional.of(resumo(pauta)));
+        when(sessaoVotacaoRepository.findResumoByPautaId(1L))
+            .thenReturn(Optional.of(new ResumoSessao(1L, 1L, agora, agora.plusMinutes(5), false)));
+        when(placarVotacao.obterContagem(1L)).thenReturn(new PlacarVotacao.Contagem(7L, 3L));
         doNothing().when(callbackService).notificarSessaoEncerrada(any(Long.class), any(Long.class));
         doNothing().when(callbackService).notificarResultadoVotacao(any(ResultadoVotacaoDTO.class));
-        doNothing().when(kafkaService).sendMessage(anyString(), any());
+        when(kafkaService.sendMessage(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
         
         sessaoVotacaoService.processarSessao(message);
         
+        verify(sessaoVotacaoRepository, times(1)).fecharSeAtiva(1L);
         verify(sessaoVotacaoRepository, times(1)).findById(1L);
-        verify(sessaoVotacaoRepository, times(1)).save(any(SessaoVotacao.class));
-        verify(kafkaService, times(1)).sendMessage(eq("notificacao-topic"), any());
+        verify(placarVotacao, times(1)).recarregar(1L);
+        verify(registroVotantes, times(1)).descartar(1L);
+        verify(kafkaService, times(1)).sendMessage(eq("notificacao-topic"), anyString(), any());
+    }
+    
+    @Test
+    @DisplayName("Não deve notificar novamente o fechamento de uma sessão já fechada")
+    void processarSessaoFecharJaFechada()
+    {
+        SessaoMessage message = new SessaoMessage(
+                                1L,
+                                1L,
+                                agora,
+                                agora.plusMinutes(5),
+                                "FECHAR",
+                                System.currentTimeMillis()
+                            );
+        
+        when(sessaoVotacaoRepository.fecharSeAtiva(1L)).thenReturn(0);
+        
+        sessaoVotacaoService.processarSessao(message);
+        
+        verify(agendadorEncerramentoSessoes, times(1)).cancelar(1L);
+        verify(sessaoVotacaoRepository, never()).findById(any());
+        verifyNoInteractions(kafkaService, callbackService, placarVotacao, registroVotantes);
     }
     
     @Test
-    @DisplayName("Deve verificar sessões expiradas e enviar mensagens para fechá-las")
+    @DisplayName("Deve encerrar sessões expiradas que escaparam da agenda")
     void verificarSessoesExpiradas()
     {
+        when(eleicaoLider.adquirir("encerramento-sessoes")).thenReturn(true);
         when(sessaoVotacaoRepository.findSessoesAtivasExpiradas(any(LocalDateTime.class)))
             .thenReturn(Collections.singletonList(sessaoVotacao));
-        doNothing().when(kafkaService).sendMessage(eq("sessao-topic"), any(SessaoMessage.class));
         
         sessaoVotacaoService.verificarSessoesExpiradas();
         
         verify(sessaoVotacaoRepository, times(1)).findSessoesAtivasExpiradas(any(LocalDateTime.class));
-        verify(kafkaService, times(1)).sendMessage(eq("sessao-topic"), any(SessaoMessage.class));
+        verify(agendadorEncerramentoSessoes, times(1)).encerrar(sessaoVotacao);
+    }
+    
+    @Test
+    @DisplayName("Não deve verificar sessões expiradas sem deter a liderança")
+    void verificarSessoesExpiradasSemLideranca()
+    {
+        when(eleicaoLider.adquirir("encerramento-sessoes")).thenReturn(false);
+        
+        sessaoVotacaoService.verificarSessoesExpiradas();
+        
+        verify(sessaoVotacaoRepository, never()).findSessoesAtivasExpiradas(any(LocalDateTime.class));
+        verifyNoInteractions(agendadorEncerramentoSessoes);
     }
 
     @Test
     @DisplayName("Deve obter resultado da votação com sucesso")
     void obterResultadoComSucesso()
     {
-        when(pautaRepository.findById(1L)).thenReturn(Optional.of(pauta));
-        when(sessaoVotacaoRepository.findByPautaId(1L)).thenReturn(Optional.of(sessaoVotacao));
-        when(votoRepository.countByPautaId(1L)).thenReturn(10L);
-        when(votoRepository.countByPautaIdAndOpcaoVoto(1L, Voto.OpcaoVoto.SIM)).thenReturn(7L);
-        when(votoRepository.countByPautaIdAndOpcaoVoto(1L, Voto.OpcaoVoto.NAO)).thenReturn(3L);
+        when(pautaRepository.findResumoById(1L)).thenReturn(Optional.of(resumo(pauta)));
+        when(sessaoVotacaoRepository.findResumoByPautaId(1L)).thenReturn(Optional.of(resumo(sessaoVotacao)));
+        when(placarVotacao.obterContagem(1L)).thenReturn(new PlacarVotacao.Contagem(7L, 3L));
 
         ResultadoVotacaoDTO result = sessaoVotacaoService.obterResultado(1L);
 
@@ -201,7 +259,7 @@ class SessaoVotacaoServiceTest
     @DisplayName("Deve lançar exceção ao tentar obter resultado de pauta inexistente")
     void obterResultadoPautaInexistente()
     {
-        when(pautaRepository.findById(99L)).thenReturn(Optional.empty());
+        when(pautaRepository.findResumoById(99L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> 
         {
@@ -213,12 +271,59 @@ class SessaoVotacaoServiceTest
     @DisplayName("Deve lançar exceção ao tentar obter resultado de pauta sem sessão")
     void obterResultadoPautaSemSessao()
     {
-        when(pautaRepository.findById(1L)).thenReturn(Optional.of(pauta));
-        when(sessaoVotacaoRepository.findByPautaId(1L)).thenReturn(Optional.empty());
+        when(pautaRepository.findResumoById(1L)).thenReturn(Optional.of(resumo(pauta)));
+        when(sessaoVotacaoRepository.findResumoByPautaId(1L)).thenReturn(Optional.empty());
 
         assertThrows(BusinessException.class, () ->
         {
             sessaoVotacaoService.obterResultado(1L);
         });
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve obter resultado de várias pautas com uma única contagem")
+    void obterResultadosDeVariasPautas()
+    {
+        Pauta outraPauta = Pauta.builder()
+                                .id(2L)
+                                .titulo("Outra Pauta")
+                                .build();
+
+        SessaoVotacao outraSessao = SessaoVotacao.builder()
+                                                 .id(2L)
+                                                 .pauta(outraPauta)
+                                                 .dataAbertura(agora.minusMinutes(10))
+                                                 .dataFechamento(agora.minusMinutes(5))
+                                                 .ativa(false)
+                                                 .build();
+
+        Map<Long, PlacarVotacao.Contagem> contagens = new HashMap<>();
+        contagens.put(1L, new PlacarVotacao.Contagem(7L, 3L));
+        contagens.put(2L, new PlacarVotacao.Contagem(1L, 4L));
+
+        List<Long> pautaIds = Arrays.asList(1L, 2L);
+
+        when(pautaRepository.findResumosByIdIn(pautaIds)).thenReturn(Arrays.asList(resumo(pauta), resumo(outraPauta)));
+        when(sessaoVotacaoRepository.findResumosByPautaIdIn(pautaIds)).thenReturn(Arrays.asList(resumo(sessaoVotacao), resumo(outraSessao)));
+        when(placarVotacao.obterContagens(pautaIds)).thenReturn(contagens);
+
+        List<ResultadoVotacaoDTO> resultados = sessaoVotacaoService.obterResultados(pautaIds);
+
+        assertEquals(2, resultados.size());
+        assertEquals("APROVADA", resultados.get(0).getResultado());
+        assertFalse(resultados.get(0).isSessaoEncerrada());
+        assertEquals("REJEITADA", resultados.get(1).getResultado());
+        assertTrue(resultados.get(1).isSessaoEncerrada());
+        verify(kafkaService, never()).sendMessage(anyString(), anyString(), any());
+    }
+
+    private static ResumoPauta resumo(Pauta pauta)
+    {
+        return new ResumoPauta(pauta.getId(), pauta.getTitulo());
+    }
+
+    private static ResumoSessao resumo(SessaoVotacao sessao)
+    {
+        return new ResumoSessao(sessao.getId(), sessao.getPauta().getId(), sessao.getDataAbertura(), sessao.getDataFechamento(), sessao.isAtiva());
+    }
+}
@@ -0,0 +1,221 @@
+package com.cooperativismo.votacao.service;
+
+import com.cooperativismo.votacao.client.CpfValidatorClient;
+import com.cooperativismo.votacao.config.ProtecaoCpfConfig;
+import com.cooperativismo.votacao.dto.ValidacaoCpfDTO;
+import com.cooperativismo.votacao.exception.UnableToVoteException;
+import com.cooperativismo.votacao.exception.ValidacaoCpfIndisponivelException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ValidacaoCpfProtegidaTest
+{
+    private static final String CPF = "52998224725";
+
+    @Mock
+    private CpfValidatorClient cpfValidatorClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Deve abrir o disjuntor após falhas seguidas e parar de chamar o serviço")
+    void abrirDisjuntor()
+    {
+        ValidacaoCpfProtegida validacao = criar(ProtecaoCpfConfig.Fallback.REJEITAR, 10, 60000);
+
+        when(cpfValidatorClient.validarCpf(anyString())).thenThrow(new ValidacaoCpfIndisponivelException("Serviço de validação de CPF indisponível"));
+
+        for (int i = 0; i < 4; i++)
+        {
+            assertThrows(ValidacaoCpfIndisponivelException.class, () -> validacao.validar(CPF));
+        }
+
+        assertEquals(Disjuntor.Estado.ABERTO, validacao.getEstado());
+        verify(cpfValidatorClient, times(4)).validarCpf(CPF);
+
+        assertThrows(ValidacaoCpfIndisponivelException.class, () -> validacao.validar(CPF));
+
+        verify(cpfValidatorClient, times(4)).validarCpf(CPF);
+        assertEquals(1.0, meterRegistry.get("votacao.cpf.recusas").tag("motivo", ValidacaoCpfProtegida.MOTIVO_DISJUNTOR).counter().count());
+        assertEquals(1.0, meterRegistry.get("votacao.cpf.disjuntor.estado").tag("estado", "aberto").gauge().value());
+        assertEquals(1.0, meterRegistry.get("votacao.cpf.disjuntor.transicoes").tag("para", "aberto").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve fechar o disjuntor quando as chamadas de teste dão certo")
+    void fecharDisjuntor() throws Exception
+    {
+        ValidacaoCpfProtegida validacao = criar(ProtecaoCpfConfig.Fallback.REJEITAR, 10, 50);
+
+        when(cpfValidatorClient.validarCpf(anyString()))
+                .thenThrow(new ValidacaoCpfIndisponivelException("Serviço de validação de CPF indisponível"))
+                .thenThrow(new ValidacaoCpfIndisponivelException("Serviço de validação de CPF indisponível"))
+                .thenThrow(new ValidacaoCpfIndisponivelException("Serviço de validação de CPF indisponível"))
+                .thenThrow(new ValidacaoCpfIndisponivelException("Serviço de validação de CPF indisponível"))
+                .thenReturn(new ValidacaoCpfDTO("ABLE_TO_VOTE"));
+
+        for (int i = 0; i < 4; i++)
+        {
+            assertThrows(ValidacaoCpfIndisponivelException.class, () -> validacao.validar(CPF));
+        }
+
+        Thread.sleep(100);
+
+        assertTrue(validacao.validar(CPF));
+        assertEquals(Disjuntor.Estado.MEIO_ABERTO, validacao.getEstado());
+        assertTrue(validacao.validar(CPF));
+        assertEquals(Disjuntor.Estado.FECHADO, validacao.getEstado());
+    }
+
+    @Test
+    @DisplayName("Não deve contar CPF recusado pelo serviço como falha")
+    void cpfRecusadoNaoAbreDisjuntor()
+    {
+        ValidacaoCpfProtegida validacao = criar(ProtecaoCpfConfig.Fallback.REJEITAR, 10, 60000);
+
+        when(cpfValidatorClient.validarCpf(anyString())).thenThrow(new UnableToVoteException("Associado não está habilitado para votar"));
+
+        for (int i = 0; i < 10; i++)
+        {
+            assertThrows(UnableToVoteException.class, () -> validacao.validar(CPF));
+        }
+
+        assertEquals(Disjuntor.Estado.FECHADO, validacao.getEstado());
+    }
+
+    @Test
+    @DisplayName("Deve aceitar o voto como provisório quando o fallback permite")
+    void aceitarProvisorio()
+    {
+        ValidacaoCpfProtegida validacao = criar(ProtecaoCpfConfig.Fallback.ACEITAR_PROVISORIO, 10, 60000);
+
+        when(cpfValidatorClient.validarCpf(anyString())).thenThrow(new ValidacaoCpfIndisponivelException("Serviço de validação de CPF indisponível"));
+        when(cpfValidatorClient.validarCpfs(anyCollection())).thenThrow(new ValidacaoCpfIndisponivelException("Serviço de validação de CPF indisponível"));
+
+        assertFalse(validacao.validar(CPF));
+
+        ValidacaoCpfProtegida.ResultadoLote lote = validacao.validarCpfs(Arrays.asList(CPF, "01234567890"));
+
+        assertTrue(lote.provisorio());
+        assertTrue(lote.recusados().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve contar a indisponibilidade de um lote no disjuntor e recusar os CPFs dele")
+    void loteIndisponivelAbreDisjuntor()
+    {
+        ValidacaoCpfProtegida validacao = criar(ProtecaoCpfConfig.Fallback.REJEITAR, 10, 60000);
+
+        when(cpfValidatorClient.validarCpfs(anyCollection())).thenThrow(new ValidacaoCpfIndisponivelException("Serviço de validação de CPF indisponível"));
+
+        for (int i = 0; i < 4; i++)
+        {
+            ValidacaoCpfProtegida.ResultadoLote lote = validacao.validarCpfs(Arrays.asList(CPF, "01234567890"));
+
+            assertFalse(lote.provisorio());
+            assertEquals(2, lote.recusados().size());
+        }
+
+        assertEquals(Disjuntor.Estado.ABERTO, validacao.getEstado());
+    }
+
+    @Test
+    @DisplayName("Deve recusar chamadas além do limite do bulkhead sem esperar pelo serviço")
+    void bulkheadCheio() throws Exception
+    {
+        ValidacaoCpfProtegida validacao = criar(ProtecaoCpfConfig.Fallback.REJEITAR, 1, 60000);
+        CountDownLatch chamadaIniciada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        when(cpfValidatorClient.validarCpf(anyString())).thenAnswer(invocacao ->
+        {
+            chamadaIniciada.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+
+            return new ValidacaoCpfDTO("ABLE_TO_VOTE");
+        });
+
+        CompletableFuture<Boolean> emAndamento = CompletableFuture.supplyAsync(() -> validacao.validar(CPF));
+
+        assertTrue(chamadaIniciada.await(5, TimeUnit.SECONDS));
+        assertThrows(ValidacaoCpfIndisponivelException.class, () -> validacao.validar(CPF));
+
+        liberar.countDown();
+
+        assertTrue(emAndamento.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("votacao.cpf.recusas").tag("motivo", ValidacaoCpfProtegida.MOTIVO_BULKHEAD).counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve recusar todos os CPFs do lote quando o fallback é rejeitar")
+    void loteRejeitado()
+    {
+        ValidacaoCpfProtegida validacao = criar(ProtecaoCpfConfig.Fallback.REJEITAR, 10, 60000);
+
+        when(cpfValidatorClient.validarCpfs(any())).thenThrow(new ValidacaoCpfIndisponivelException("Serviço de validação de CPF indisponível"));
+
+        ValidacaoCpfProtegida.ResultadoLote lote = validacao.validarCpfs(Arrays.asList(CPF, "01234567890", CPF));
+        Map<String, String> recusados = lote.recusados();
+
+        assertFalse(lote.provisorio());
+        assertEquals(2, recusados.size());
+        assertTrue(recusados.containsKey(CPF));
+    }
+
+    @Test
+    @DisplayName("Deve confirmar os CPFs provisórios em uma só chamada e contar o resultado por CPF")
+    void confirmarCpfs()
+    {
+        ValidacaoCpfProtegida validacao = criar(ProtecaoCpfConfig.Fallback.ACEITAR_PROVISORIO, 10, 60000);
+
+        when(cpfValidatorClient.validarCpfs(anyCollection())).thenReturn(Map.of(CPF, "UNABLE_TO_VOTE"));
+
+        assertEquals(Set.of(CPF), validacao.confirmarCpfs(Arrays.asList(CPF, "01234567890", CPF)));
+
+        verify(cpfValidatorClient, times(1)).validarCpfs(anyCollection());
+        assertEquals(1.0, meterRegistry.get("votacao.cpf.provisorios").tag("resultado", "confirmado").counter().count());
+        assertEquals(1.0, meterRegistry.get("votacao.cpf.provisorios").tag("resultado", "descartado").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a confirmação de provisórios com o disjuntor aberto, mesmo aceitando provisórios na requisição")
+    void confirmarCpfsComDisjuntorAberto()
+    {
+        ValidacaoCpfProtegida validacao = criar(ProtecaoCpfConfig.Fallback.ACEITAR_PROVISORIO, 10, 60000);
+
+        when(cpfValidatorClient.validarCpfs(anyCollection())).thenThrow(new ValidacaoCpfIndisponivelException("Serviço de validação de CPF indisponível"));
+
+        for (int i = 0; i < 4; i++)
+        {
+            assertThrows(ValidacaoCpfIndisponivelException.class, () -> validacao.confirmarCpfs(Arrays.asList(CPF)));
+        }
+
+        assertEquals(Disjuntor.Estado.ABERTO, validacao.getEstado());
+        assertThrows(ValidacaoCpfIndisponivelException.class, () -> validacao.confirmarCpfs(Arrays.asList(CPF)));
+        verify(cpfValidatorClient, times(4)).validarCpfs(anyCollection());
+    }
+
+    private ValidacaoCpfProtegida criar(ProtecaoCpfConfig.Fallback fallback, int maxConcorrentes, long aberturaMs)
+    {
+        return new ValidacaoCpfProtegida(cpfValidatorClient,
+                                         new ProtecaoCpfConfig(maxConcorrentes, 0, 10, 4, 50, 1000, aberturaMs, 2, fallback),
+                                         meterRegistry);
+    }
+}
@@ -1,30 +1,54 @@
 package com.cooperativismo.votacao.service;
 
-import com.cooperativismo.votacao.client.CpfValidatorClient;
-import com.cooperativismo.votacao.dto.ValidacaoCpfDTO;
+import com.cooperativismo.votacao.config.AmostragemLogConfig;
+import com.cooperativismo.votacao.config.LoteVotosConfig;
+import com.cooperativismo.votacao.dto.ResultadoLoteVotosDTO;
 import com.cooperativismo.votacao.dto.VotacaoMessage;
 import com.cooperativismo.votacao.dto.VotoDTO;
 import com.cooperativismo.votacao.exception.ResourceNotFoundException;
 import com.cooperativismo.votacao.model.Pauta;
-import com.cooperativismo.votacao.model.SessaoVotacao;
 import com.cooperativismo.votacao.model.Voto;
 import com.cooperativismo.votacao.model.Voto.OpcaoVoto;
+import com.cooperativismo.votacao.repository.ChaveVoto;
 import com.cooperativismo.votacao.repository.PautaRepository;
-import com.cooperativismo.votacao.repository.SessaoVotacaoRepository;
+import com.cooperativismo.votacao.repository.ResumoSessao;
 import com.cooperativismo.votacao.repository.VotoRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -39,19 +63,37 @@ class VotoServiceTest
     private PautaRepository pautaRepository;
 
     @Mock
-    private SessaoVotacaoRepository sessaoVotacaoRepository;
+    private MetadadosVotacao metadadosVotacao;
 
     @Mock
-    private CpfValidatorClient cpfValidatorClient;
+    private ValidacaoCpfProtegida validacaoCpfProtegida;
+
+    @Spy
+    private MetricasVotacao metricasVotacao = new MetricasVotacao(new SimpleMeterRegistry());
+    
+    @Spy
+    private AmostragemLog amostragemLog = new AmostragemLog(new AmostragemLogConfig(1, 0));
     
     @Mock
     private KafkaService kafkaService;
 
+    @Mock
+    private PlacarVotacao placarVotacao;
+
+    @Mock
+    private RegistroVotantes registroVotantes;
+
+    @Spy
+    private LoteVotosConfig loteVotosConfig = new LoteVotosConfig(2, 1, 10);
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private VotoService votoService;
 
     private Pauta pauta;
-    private SessaoVotacao sessaoVotacao;
+    private ResumoSessao sessaoVotacao;
     private Voto voto;
     private VotoDTO votoDTO;
     private final String cpfValido = "12345678901";
@@ -67,13 +109,7 @@ class VotoServiceTest
 
         LocalDateTime agora = LocalDateTime.now();
 
-        sessaoVotacao = SessaoVotacao.builder()
-                                     .id(1L)
-                                     .pauta(pauta)
-                                     .dataAbertura(agora)
-                                     .dataFechamento(agora.plusMinutes(5))
-                                     .ativa(true)
-                                     .build();
+        sessaoVotacao = new ResumoSessao(1L, 1L, agora, agora.plusMinutes(5), true);
 
         voto = Voto.builder()
                    .id(1L)
@@ -94,13 +130,25 @@ class VotoServiceTest
     @DisplayName("Deve enviar mensagem para registrar voto de forma assíncrona")
     void registrarVoto()
     {
-        when(cpfValidatorClient.validarCpf(anyString())).thenReturn(new ValidacaoCpfDTO("ABLE_TO_VOTE"));
-        doNothing().when(kafkaService).sendMessage(eq("votacao-topic"), any(VotacaoMessage.class));
+        when(validacaoCpfProtegida.validar(anyString())).thenReturn(true);
+        when(kafkaService.sendMessage(eq("votacao-topic"), anyString(), any(VotacaoMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
+        
+        votoService.registrarVoto(votoDTO);
+        
+        verify(validacaoCpfProtegida, times(1)).validar(anyString());
+        verify(kafkaService, times(1)).sendMessage(eq("votacao-topic"), anyString(), argThat((VotacaoMessage mensagem) -> !mensagem.isProvisorio()));
+    }
+    
+    @Test
+    @DisplayName("Deve marcar o voto como provisório quando a validação de CPF não pôde ser feita")
+    void registrarVotoProvisorio()
+    {
+        when(validacaoCpfProtegida.validar(anyString())).thenReturn(false);
+        when(kafkaService.sendMessage(eq("votacao-topic"), anyString(), any(VotacaoMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
         
         votoService.registrarVoto(votoDTO);
         
-        verify(cpfValidatorClient, times(1)).validarCpf(anyString());
-        verify(kafkaService, times(1)).sendMessage(eq("votacao-topic"), any(VotacaoMessage.class));
+        verify(kafkaService, times(1)).sendMessage(eq("votacao-topic"), anyString(), argThat((VotacaoMessage mensagem) -> mensagem.isProvisorio()));
     }
     
     @Test
@@ -115,17 +163,81 @@ class VotoServiceTest
                                 System.currentTimeMillis()
                              );
                             
-        when(pautaRepository.findById(1L)).thenReturn(Optional.of(pauta));
-        when(sessaoVotacaoRepository.findByPautaId(1L)).thenReturn(Optional.of(sessaoVotacao));
-        when(votoRepository.findByPautaIdAndCpfAssociado(1L, cpfValido)).thenReturn(Optional.empty());
+        when(metadadosVotacao.pautaExiste(1L)).thenReturn(true);
+        when(metadadosVotacao.obterSessao(1L)).thenReturn(Optional.of(sessaoVotacao));
+        when(pautaRepository.getReferenceById(1L)).thenReturn(pauta);
+        when(registroVotantes.consultar(1L, cpfValido)).thenReturn(RegistroVotantes.Situacao.NAO_VOTOU);
         when(votoRepository.save(any(Voto.class))).thenReturn(voto);
         
-        votoService.processarVoto(message);
+        votoService.processarVoto(message, Set.of());
         
-        verify(pautaRepository, times(1)).findById(1L);
-        verify(sessaoVotacaoRepository, times(1)).findByPautaId(1L);
-        verify(votoRepository, times(1)).findByPautaIdAndCpfAssociado(1L, cpfValido);
+        verify(metadadosVotacao, times(1)).pautaExiste(1L);
+        verify(metadadosVotacao, times(1)).obterSessao(1L);
+        verify(pautaRepository, never()).findById(any());
+        verify(votoRepository, never()).findByPautaIdAndCpfAssociado(1L, cpfValido);
         verify(votoRepository, times(1)).save(any(Voto.class));
+        verify(placarVotacao, times(1)).registrarVoto(1L, OpcaoVoto.SIM);
+        verify(registroVotantes, times(1)).registrar(1L, cpfValido);
+        verify(metricasVotacao, times(1)).contar(MetricasVotacao.Desfecho.ACEITO);
+    }
+    
+    @Test
+    @DisplayName("Deve descartar voto provisório de associado que não está apto")
+    void processarVotoProvisorioInapto()
+    {
+        VotacaoMessage message = new VotacaoMessage(null, 1L, cpfValido, "SIM", System.currentTimeMillis(), true);
+        
+        when(metadadosVotacao.pautaExiste(1L)).thenReturn(true);
+        when(metadadosVotacao.obterSessao(1L)).thenReturn(Optional.of(sessaoVotacao));
+        when(registroVotantes.consultar(1L, cpfValido)).thenReturn(RegistroVotantes.Situacao.NAO_VOTOU);
+        
+        votoService.processarVoto(message, Set.of(cpfValido));
+        
+        verify(votoRepository, never()).save(any(Voto.class));
+        verify(placarVotacao, never()).registrarVoto(any(), any());
+        verify(metricasVotacao, times(1)).contar(MetricasVotacao.Desfecho.PROVISORIO_DESCARTADO);
+    }
+    
+    @Test
+    @DisplayName("Deve conferir de uma vez só os CPFs dos votos provisórios")
+    void conferirProvisorios()
+    {
+        String outroCpf = "98765432100";
+        
+        List<VotacaoMessage> messages = Arrays.asList(
+                new VotacaoMessage(null, 1L, cpfValido, "SIM", System.currentTimeMillis(), true),
+                new VotacaoMessage(null, 2L, cpfValido, "NAO", System.currentTimeMillis(), true),
+                new VotacaoMessage(null, 1L, outroCpf, "SIM", System.currentTimeMillis()));
+        
+        when(validacaoCpfProtegida.confirmarCpfs(Set.of(cpfValido))).thenReturn(Set.of(cpfValido));
+        
+        assertEquals(Set.of(cpfValido), votoService.conferirProvisorios(messages));
+        assertEquals(Set.of(), votoService.conferirProvisorios(messages.subList(2, 3)));
+        
+        verify(validacaoCpfProtegida, times(1)).confirmarCpfs(anyCollection());
+    }
+    
+    @Test
+    @DisplayName("Deve consultar o banco quando o registro de votantes não consegue decidir")
+    void processarVotoComSituacaoIndeterminada()
+    {
+        VotacaoMessage message = new VotacaoMessage(
+                                null,
+                                1L,
+                                cpfValido,
+                                "SIM",
+                                System.currentTimeMillis()
+                             );
+                            
+        when(metadadosVotacao.pautaExiste(1L)).thenReturn(true);
+        when(metadadosVotacao.obterSessao(1L)).thenReturn(Optional.of(sessaoVotacao));
+        when(registroVotantes.consultar(1L, cpfValido)).thenReturn(RegistroVotantes.Situacao.INDETERMINADA);
+        when(votoRepository.findByPautaIdAndCpfAssociado(1L, cpfValido)).thenReturn(Optional.of(voto));
+        
+        votoService.processarVoto(message, Set.of());
+        
+        verify(votoRepository, times(1)).findByPautaIdAndCpfAssociado(1L, cpfValido);
+        verify(votoRepository, never()).save(any(Voto.class));
     }
     
     @Test
@@ -140,11 +252,11 @@ class VotoServiceTest
                                 System.currentTimeMillis()
                              );
                             
-        when(pautaRepository.findById(99L)).thenThrow(new ResourceNotFoundException("Pauta", 99L));
+        when(metadadosVotacao.pautaExiste(99L)).thenReturn(false);
         
         assertThrows(ResourceNotFoundException.class, () -> 
         {
-            votoService.processarVoto( message );
+            votoService.processarVoto( message, Set.of() );
         } );
         
         verify( votoRepository, never() ).save( any( Voto.class ) );
@@ -162,10 +274,10 @@ class VotoServiceTest
                                 System.currentTimeMillis()
                              );
                             
-        when(pautaRepository.findById(1L)).thenReturn(Optional.of(pauta));
-        when(sessaoVotacaoRepository.findByPautaId(1L)).thenReturn(Optional.empty());
+        when(metadadosVotacao.pautaExiste(1L)).thenReturn(true);
+        when(metadadosVotacao.obterSessao(1L)).thenReturn(Optional.empty());
         
-        votoService.processarVoto(message);
+        votoService.processarVoto(message, Set.of());
         
         verify(votoRepository, never()).save(any(Voto.class));
     }
@@ -184,20 +296,16 @@ class VotoServiceTest
         
         LocalDateTime passado = LocalDateTime.now().minusHours(1);
         
-        SessaoVotacao sessaoEncerrada = SessaoVotacao.builder()
-                                     .id(sessaoVotacao.getId())
-                                     .pauta(sessaoVotacao.getPauta())
-                                     .dataAbertura(sessaoVotacao.getDataAbertura())
-                                     .dataFechamento(passado)
-                                     .ativa(sessaoVotacao.isAtiva())
-                                     .build();
+        ResumoSessao sessaoEncerrada = new ResumoSessao(sessaoVotacao.sessaoId(), sessaoVotacao.pautaId(),
+                                                        sessaoVotacao.dataAbertura(), passado, sessaoVotacao.ativa());
                             
-        when(pautaRepository.findById(1L)).thenReturn(Optional.of(pauta));
-        when(sessaoVotacaoRepository.findByPautaId(1L)).thenReturn(Optional.of(sessaoEncerrada));
+        when(metadadosVotacao.pautaExiste(1L)).thenReturn(true);
+        when(metadadosVotacao.obterSessao(1L)).thenReturn(Optional.of(sessaoEncerrada));
         
-        votoService.processarVoto(message);
+        votoService.processarVoto(message, Set.of());
         
         verify(votoRepository, never()).save(any(Voto.class));
+        verify(metricasVotacao, times(1)).contar(MetricasVotacao.Desfecho.SESSAO_ENCERRADA);
     }
     
     @Test
@@ -212,12 +320,199 @@ class VotoServiceTest
                                 System.currentTimeMillis()
                              );
                             
-        when(pautaRepository.findById(1L)).thenReturn(Optional.of(pauta));
-        when(sessaoVotacaoRepository.findByPautaId(1L)).thenReturn(Optional.of(sessaoVotacao));
-        when(votoRepository.findByPautaIdAndCpfAssociado(1L, cpfValido)).thenReturn(Optional.of(voto));
+        when(metadadosVotacao.pautaExiste(1L)).thenReturn(true);
+        when(metadadosVotacao.obterSessao(1L)).thenReturn(Optional.of(sessaoVotacao));
+        when(registroVotantes.consultar(1L, cpfValido)).thenReturn(RegistroVotantes.Situacao.JA_VOTOU);
         
-        votoService.processarVoto(message);
+        votoService.processarVoto(message, Set.of());
         
+        verify(votoRepository, never()).findByPautaIdAndCpfAssociado(1L, cpfValido);
         verify(votoRepository, never()).save(any(Voto.class));
+        verify(metricasVotacao, times(1)).contar(MetricasVotacao.Desfecho.DUPLICADO);
+    }
+    
+    @Test
+    @DisplayName("Deve processar lote de votos gravando apenas os votos inéditos")
+    void processarVotosEmLote()
+    {
+        String outroCpf = "98765432100";
+        
+        List<VotacaoMessage> messages = Arrays.asList(
+                new VotacaoMessage(null, 1L, cpfValido, "SIM", System.currentTimeMillis()),
+                new VotacaoMessage(null, 1L, outroCpf, "NAO", System.currentTimeMillis()),
+                new VotacaoMessage(null, 1L, outroCpf, "SIM", System.currentTimeMillis()));
+        
+        ChaveVoto votoExistente = mock(ChaveVoto.class);
+        when(votoExistente.getPautaId()).thenReturn(1L);
+        when(votoExistente.getCpfAssociado()).thenReturn(cpfValido);
+        
+        when(metadadosVotacao.pautasExistentes(anyCollection())).thenReturn(Collections.singleton(1L));
+        when(metadadosVotacao.obterSessoes(anyCollection())).thenReturn(Collections.singletonMap(1L, sessaoVotacao));
+        when(pautaRepository.getReferenceById(1L)).thenReturn(pauta);
+        when(votoRepository.findVotosExistentes(anyCollection(), anyCollection())).thenReturn(Collections.singletonList(votoExistente));
+        
+        int registrados = votoService.processarVotosEmLote(messages, Set.of());
+        
+        assertEquals(1, registrados);
+        verify(votoRepository, times(1)).inserirEmLote(argThat(votos -> 
+                votos.size() == 1
+                && outroCpf.equals(votos.get(0).getCpfAssociado())
+                && votos.get(0).getOpcaoVoto() == OpcaoVoto.NAO));
+        verify(votoRepository, never()).findByPautaIdAndCpfAssociado(any(), anyString());
+        verify(placarVotacao, times(1)).registrarVotos(argThat(votos -> votos.size() == 1));
+        verify(registroVotantes, times(1)).registrar(argThat((List<Voto> votos) -> votos.size() == 1));
+        verify(metricasVotacao, times(1)).contar(MetricasVotacao.Desfecho.ACEITO, 1);
+        verify(metricasVotacao, times(1)).contar(MetricasVotacao.Desfecho.DUPLICADO, 2);
+    }
+    
+    @Test
+    @DisplayName("Não deve contar os desfechos de um lote cuja gravação falhou")
+    void processarVotosEmLoteComConflito()
+    {
+        List<VotacaoMessage> messages = Arrays.asList(
+                new VotacaoMessage(null, 1L, cpfValido, "SIM", System.currentTimeMillis()),
+                new VotacaoMessage(null, 1L, cpfValido, "NAO", System.currentTimeMillis()));
+        
+        when(metadadosVotacao.pautasExistentes(anyCollection())).thenReturn(Collections.singleton(1L));
+        when(metadadosVotacao.obterSessoes(anyCollection())).thenReturn(Collections.singletonMap(1L, sessaoVotacao));
+        when(pautaRepository.getReferenceById(1L)).thenReturn(pauta);
+        doThrow(new DataIntegrityViolationException("uk_voto_pauta_cpf")).when(votoRepository).inserirEmLote(anyList());
+        
+        assertThrows(DataIntegrityViolationException.class, () -> votoService.processarVotosEmLote(messages, Set.of()));
+        
+        verify(metricasVotacao, never()).contar(any());
+        verify(metricasVotacao, never()).contar(any(), anyInt());
+    }
+    
+    @Test
+    @DisplayName("Deve gravar os votos anteriores e devolver ao container o índice da mensagem com pauta inexistente")
+    void processarVotosEmLotePautaInexistente()
+    {
+        String outroCpf = "98765432100";
+        
+        List<VotacaoMessage> messages = Arrays.asList(
+                new VotacaoMessage(null, 1L, cpfValido, "SIM", System.currentTimeMillis()),
+                new VotacaoMessage(null, 99L, cpfValido, "SIM", System.currentTimeMillis()),
+                new VotacaoMessage(null, 1L, outroCpf, "NAO", System.currentTimeMillis()));
+        
+        when(metadadosVotacao.pautasExistentes(anyCollection())).thenReturn(Collections.singleton(1L));
+        when(metadadosVotacao.obterSessoes(anyCollection())).thenReturn(Collections.singletonMap(1L, sessaoVotacao));
+        when(pautaRepository.getReferenceById(1L)).thenReturn(pauta);
+        
+        BatchListenerFailedException falha = assertThrows(BatchListenerFailedException.class, 
+                () -> votoService.processarVotosEmLote(messages, Set.of()));
+        
+        assertEquals(1, falha.getIndex());
+        assertInstanceOf(ResourceNotFoundException.class, falha.getCause());
+        verify(votoRepository, times(1)).inserirEmLote(argThat(votos -> 
+                votos.size() == 1 && cpfValido.equals(votos.get(0).getCpfAssociado())));
+        verify(registroVotantes, never()).consultar(1L, outroCpf);
+        verify(metricasVotacao, times(1)).contar(MetricasVotacao.Desfecho.ACEITO, 1);
+        verify(metricasVotacao, never()).contar(MetricasVotacao.Desfecho.PAUTA_INEXISTENTE);
+    }
+
+    @Test
+    @DisplayName("Deve publicar os votos válidos de um lote NDJSON e relatar os erros por linha")
+    void registrarVotosEmLote() throws Exception
+    {
+        String outroCpf = "98765432100";
+        String corpo = String.join("\n",
+                "{\"pautaId\":1,\"cpfAssociado\":\"" + cpfValido + "\",\"opcaoVoto\":\"SIM\"}",
+                "{\"pautaId\":1,\"cpfAssociado\":\"123\",\"opcaoVoto\":\"SIM\"}",
+                "{\"pautaId\":1,\"cpfAssociado\":\"" + cpfValido + "\",\"opcaoVoto\":\"TALVEZ\"}",
+                "{\"pautaId\":99,\"cpfAssociado\":\"" + cpfValido + "\",\"opcaoVoto\":\"NAO\"}",
+                "{\"pautaId\":1,\"cpfAssociado\":\"" + outroCpf + "\",\"opcaoVoto\":\"NAO\"}");
+        
+        when(validacaoCpfProtegida.validarCpfs(anyCollection())).thenAnswer(invocacao -> new ValidacaoCpfProtegida.ResultadoLote(
+                ((Collection<String>) invocacao.getArgument(0)).contains(outroCpf)
+                        ? Collections.singletonMap(outroCpf, "Associado não está habilitado para votar")
+                        : Collections.emptyMap(), false));
+        when(metadadosVotacao.pautasExistentes(anyCollection())).thenReturn(Collections.singleton(1L));
+        when(kafkaService.sendMessage(eq("votacao-topic"), anyString(), any(VotacaoMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
+        
+        ResultadoLoteVotosDTO resultado;
+        
+        try (MappingIterator<VotoDTO> votos = new ObjectMapper().readerFor(VotoDTO.class).readValues(corpo))
+        {
+            resultado = votoService.registrarVotosEmLote(votos);
+        }
+        
+        assertEquals(5, resultado.getLinhas());
+        assertEquals(1, resultado.getAceitos());
+        assertEquals(4, resultado.getRejeitados());
+        assertEquals(Arrays.asList(2L, 3L, 4L, 5L), resultado.getErros().stream().map(ResultadoLoteVotosDTO.ErroLinha::getLinha).collect(Collectors.toList()));
+        verify(kafkaService, times(1)).sendMessage(eq("votacao-topic"), eq("1"), any(VotacaoMessage.class));
+    }
+
+    @Test
+    @DisplayName("Deve interromper a leitura do lote NDJSON quando o corpo da requisição falha")
+    void registrarVotosEmLoteComFalhaDeLeitura() throws Exception
+    {
+        Reader corpo = new SequenceReader(
+                new StringReader("{\"pautaId\":1,\"cpfAssociado\":\"" + cpfValido + "\",\"opcaoVoto\":\"SIM\"}\n"),
+                new Reader()
+                {
+                    @Override
+                    public int read(char[] destino, int inicio, int tamanho) throws IOException
+                    {
+                        throw new IOException("conexão encerrada pelo cliente");
+                    }
+
+                    @Override
+                    public void close()
+                    {
+                    }
+                });
+        
+        when(validacaoCpfProtegida.validarCpfs(anyCollection())).thenReturn(new ValidacaoCpfProtegida.ResultadoLote(Collections.emptyMap(), false));
+        when(metadadosVotacao.pautasExistentes(anyCollection())).thenReturn(Collections.singleton(1L));
+        when(kafkaService.sendMessage(eq("votacao-topic"), anyString(), any(VotacaoMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
+        
+        ResultadoLoteVotosDTO resultado = assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+        {
+            try (MappingIterator<VotoDTO> votos = new ObjectMapper().readerFor(VotoDTO.class).readValues(corpo))
+            {
+                return votoService.registrarVotosEmLote(votos);
+            }
+        });
+        
+        assertEquals(2, resultado.getLinhas());
+        assertEquals(1, resultado.getAceitos());
+        assertEquals(1, resultado.getRejeitados());
+        assertTrue(resultado.getErros().get(0).getMensagem().contains("leitura interrompida"));
+    }
+
+    private static class SequenceReader extends Reader
+    {
+        private final Reader[] leitores;
+        private int atual;
+
+        SequenceReader(Reader... leitores)
+        {
+            this.leitores = leitores;
+        }
+
+        @Override
+        public int read(char[] destino, int inicio, int tamanho) throws IOException
+        {
+            while (atual < leitores.length)
+            {
+                int lidos = leitores[atual].read(destino, inicio, tamanho);
+
+                if (lidos != -1)
+                {
+                    return lidos;
+                }
+
+                atual++;
+            }
+
+            return -1;
+        }
+
+        @Override
+        public void close()
+        {
+        }
     }
-} 
\ No newline at end of file
+}